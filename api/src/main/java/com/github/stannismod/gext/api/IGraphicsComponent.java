@@ -16,10 +16,12 @@
 
 package com.github.stannismod.gext.api;
 
+import com.github.stannismod.gext.api.event.UIEvent;
 import com.github.stannismod.gext.api.menu.IContextMenuElement;
 import com.github.stannismod.gext.api.menu.IContextMenuList;
 import com.github.stannismod.gext.utils.Align;
 import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.utils.Handles;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.opengl.GL11;
@@ -58,6 +60,19 @@ public interface IGraphicsComponent {
      */
     void setID(String id);
 
+    /**
+     * Gets the handle of the component. Unlike the ID, it's unique in the process,
+     * assigned on construction and never changed.
+     * <p>By default, the handle is assigned on the first call. Implementations
+     * should store the handle taken from {@link Handles#next()} instead.</p>
+     * @return the positive handle
+     * @see Handles
+     * @since 1.5.2
+     */
+    default int getHandle() {
+        return Handles.of(this);
+    }
+
     /**
      * @return the visibility of the component
      * @since 1.0
@@ -406,7 +421,63 @@ public interface IGraphicsComponent {
     void onKeyPressed(char typedChar, int keyCode);
 
     /**
-     * Set component to 'need update' state
+     * @return whether the component can hold the keyboard focus, see {@code FocusManager}
+     * @since 1.5.2
+     */
+    default boolean isFocusable() {
+        return false;
+    }
+
+    /**
+     * Called by the focus manager when the component gains or loses the keyboard focus
+     * @since 1.5.2
+     */
+    default void onFocusChanged(boolean focused) {
+        // empty stub here, override if need
+    }
+
+    /**
+     * <p>Handles the event routed to this component, see {@code EventRouter}. The component is
+     * called for each phase it's on the path in, with the coordinates relative to its frame.</p>
+     *
+     * <p>Unlike the {@code on*} methods, this one must never forward the event to the children,
+     * the router delivers it to them itself. By default the target phase is mapped
+     * to the corresponding {@code on*} method.</p>
+     *
+     * @param event the routed event
+     * @since 1.5.2
+     */
+    default void handleEvent(@NotNull UIEvent event) {
+        if (event.getPhase() != UIEvent.Phase.TARGET) {
+            return;
+        }
+        switch (event.getType()) {
+            case MOUSE_PRESSED:
+                onMousePressed(event.getX(), event.getY(), event.getButton());
+                break;
+            case MOUSE_RELEASED:
+                onMouseReleased(event.getX(), event.getY(), event.getButton());
+                break;
+            case MOUSE_MOVED:
+                onMouseMoved(event.getX(), event.getY());
+                break;
+            case MOUSE_DRAGGED:
+                onMouseDragged(event.getX(), event.getY(), event.getButton(), event.getXAmount(), event.getYAmount());
+                break;
+            case MOUSE_SCROLLED:
+                onMouseScrolled(event.getX(), event.getY(), event.getAmount());
+                break;
+            case KEY_PRESSED:
+                onKeyPressed(event.getTypedChar(), event.getKeyCode());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Set component to 'need update' state. The state is propagated to the parent,
+     * so the component is updated in the next frame. Should be called on the render thread
      * @since 1.0
      */
     void markDirty();
@@ -414,11 +485,20 @@ public interface IGraphicsComponent {
     boolean needUpdate();
 
     /**
-     * Checks the element need update
+     * Checks the element need update. Called every frame only if {@link #pollsUpdates()} is enabled
      * @since 1.0
      */
     boolean checkUpdates();
 
+    /**
+     * Legacy contract for the components which don't report their changes with {@link #markDirty()}.
+     * When enabled, the component is polled with {@link #checkUpdates()} every frame
+     * @since 1.5.2
+     */
+    default boolean pollsUpdates() {
+        return false;
+    }
+
     /**
      * Updating state
      * @since 1.0
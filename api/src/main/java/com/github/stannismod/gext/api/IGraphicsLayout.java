@@ -18,12 +18,12 @@ package com.github.stannismod.gext.api;
 
 import com.github.stannismod.gext.api.menu.IContextMenuComponent;
 import com.github.stannismod.gext.api.menu.IContextMenuElement;
+import com.github.stannismod.gext.utils.Handles;
 import com.github.stannismod.gext.utils.LayoutContent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
-import java.util.UUID;
 
 /**
  * API for containers. Implementations should store and manage components of type {@code T}.
@@ -34,14 +34,14 @@ import java.util.UUID;
 public interface IGraphicsLayout<T extends IGraphicsComponent> extends IGraphicsComponent {
 
     /**
-     * Adds the component to the container with random ID.
+     * Adds the component to the container with the ID generated from its handle.
      * @param depth the graphics depth where the component should be displayed
      * @param component the component that should be added
      * @return the ID of the given component in the container
      * @since 1.0
      */
     default String addComponent(int depth, @NotNull T component) {
-        return addComponent(depth, UUID.randomUUID().toString(), component);
+        return addComponent(depth, Handles.toID(component.getHandle()), component);
     }
 
     default String addComponent(@NotNull T component) {
@@ -62,6 +62,53 @@ public interface IGraphicsLayout<T extends IGraphicsComponent> extends IGraphics
         return addComponent(0, id, component);
     }
 
+    /**
+     * Adds the components with the IDs generated from their handles at their own depths in one transaction
+     * @param components the components that should be added
+     * @see #batch(Runnable)
+     * @since 1.5.2
+     */
+    default void addComponents(@NotNull Collection<? extends T> components) {
+        batch(() -> {
+            for (T component : components) {
+                addComponent(component.getDepth(), component);
+            }
+        });
+    }
+
+    /**
+     * Starts the transaction. Until the matching {@link #endUpdate()}, the container may defer
+     * the maintenance of its indices, so the bulk changes don't pay for it on every call.
+     * Transactions can be nested, the changes are committed by the outermost one.
+     * @since 1.5.2
+     */
+    default void beginUpdate() {
+        // empty stub here, override if need
+    }
+
+    /**
+     * Commits the transaction started by {@link #beginUpdate()}
+     * @throws IllegalStateException if there's no transaction started
+     * @since 1.5.2
+     */
+    default void endUpdate() {
+        // empty stub here, override if need
+    }
+
+    /**
+     * Runs the given changes in one transaction
+     * @param changes the changes of the content
+     * @since 1.5.2
+     */
+    default void batch(@NotNull Runnable changes) {
+        beginUpdate();
+        try {
+            changes.run();
+        } finally {
+            endUpdate();
+        }
+    }
+
     /**
      * Adds the component with given ID assigned
      * @param id the id that should be assigned
@@ -98,9 +145,9 @@ public interface IGraphicsLayout<T extends IGraphicsComponent> extends IGraphics
     void setContent(@NotNull LayoutContent<? extends IGraphicsComponent> newContent) throws ClassCastException;
 
     /**
-     * Returns the link to the actual content of the layout
+     * Returns the content of the layout
      *
-     * Note: Do not change this collection without big knowledge about your actions
+     * Note: the returned content can be a snapshot, use {@link #setContent(LayoutContent)} to change the content
      * @since 1.4
      */
     @NotNull
@@ -115,8 +162,10 @@ public interface IGraphicsLayout<T extends IGraphicsComponent> extends IGraphics
      */
     @SuppressWarnings("unchecked")
     default void setContent(@NotNull Collection<? extends IGraphicsComponent> newContent) {
-        clear();
-        newContent.forEach(component -> addComponent(component.getDepth(), (T) component));
+        batch(() -> {
+            clear();
+            newContent.forEach(component -> addComponent(component.getDepth(), (T) component));
+        });
     }
 
     /**
@@ -132,6 +181,25 @@ public interface IGraphicsLayout<T extends IGraphicsComponent> extends IGraphics
 
     void clear();
 
+    /**
+     * Called by the child component when its frame is changed, e.g. it was moved or resized
+     * @param child the changed component
+     * @since 1.5.2
+     */
+    default void onChildGeometryChanged(@NotNull IGraphicsComponent child) {
+        // empty stub here, override if need
+    }
+
+    /**
+     * Called by the child component when it's marked dirty or its {@link IGraphicsComponent#pollsUpdates()}
+     * state is changed
+     * @param child the invalidated component
+     * @since 1.5.2
+     */
+    default void onChildInvalidated(@NotNull IGraphicsComponent child) {
+        // empty stub here, override if need
+    }
+
     /**
      * Sets the tooltip listener to layout. Given tooltip will be applied to all contents inside this layout
      * until inner container define it's own tooltip
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * API for data sources of virtualized lists. The list asks the adapter only for the rows
+ * which are currently visible, and reuses the created row components for other positions.
+ * @param <T> type of the row components
+ * @since 1.5.2
+ */
+public interface IListAdapter<T extends IGraphicsComponent> {
+
+    /**
+     * @return the amount of items in the data set
+     */
+    int getCount();
+
+    /**
+     * Rows of different types are never reused for each other
+     * @param position the item position
+     * @return the type of the row for the given item
+     */
+    default int getViewType(int position) {
+        return 0;
+    }
+
+    /**
+     * Creates the row component of the given type. It will be bound before displaying
+     * @param viewType the type of the row
+     * @return new row component
+     */
+    @NotNull
+    T create(int viewType);
+
+    /**
+     * Fills the row component with the data of the given item
+     * @param view the row component, previously created with the same view type
+     * @param position the item position
+     */
+    void bind(@NotNull T view, int position);
+}
@@ -52,4 +52,26 @@ public interface IRootLayout {
      * Should be in the final implementation
      */
     void initLayout();
+
+    /**
+     * Returns the key the layout is cached with after the screen is closed.
+     * The screens opened later with the same key reuse the cached layout instead of building it again.
+     * Note that {@link #initLayout()} isn't called for the restored layout, see {@link #onReopened()},
+     * and the handlers of its components still refer to the screen which built them.
+     * Only the screens with a key are recorded in the navigation history.
+     * @return the cache key or {@code null} if the layout shouldn't be cached
+     * @since 1.5.2
+     */
+    @Nullable
+    default Object cacheKey() {
+        return null;
+    }
+
+    /**
+     * Called instead of {@link #initLayout()} when the cached layout is restored
+     * @since 1.5.2
+     */
+    default void onReopened() {
+        // empty stub here, override if need
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.api.adapter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An interface to the system clipboard.
+ * Both operations are asynchronous, so the implementation is free to perform
+ * slow clipboard access outside of the render thread.
+ * @since 1.5.2
+ */
+public interface IClipboard {
+
+    /**
+     * @return future completed with the clipboard text or {@code null} if the clipboard has no text
+     */
+    CompletableFuture<String> getContents();
+
+    /**
+     * @return future completed when the text is written to the clipboard
+     */
+    CompletableFuture<Void> setContents(String text);
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.api.event;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener of the routed events
+ * @since 1.5.2
+ */
+@FunctionalInterface
+public interface IEventHandler {
+
+    void handle(@NotNull UIEvent event);
+}
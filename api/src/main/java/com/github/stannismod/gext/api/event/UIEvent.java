@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.api.event;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * <p>Input event routed along the hit path, e.g. the chain of components from the root
+ * to the deepest one under the cursor.</p>
+ *
+ * <p>The event is delivered in three phases: capture from the root down to the target,
+ * target and bubble from the target up to the root. Any handler can stop the propagation,
+ * the rest of the handlers of the current component are still called.</p>
+ *
+ * @since 1.5.2
+ */
+public class UIEvent {
+
+    public enum Type {
+        MOUSE_PRESSED,
+        MOUSE_RELEASED,
+        MOUSE_MOVED,
+        MOUSE_DRAGGED,
+        MOUSE_SCROLLED,
+        KEY_PRESSED,
+        /** The cursor entered the component. Delivered only at the target phase. */
+        MOUSE_ENTER,
+        /** The cursor left the component. Delivered only at the target phase. */
+        MOUSE_LEAVE
+    }
+
+    public enum Phase {
+        CAPTURE, TARGET, BUBBLE
+    }
+
+    public static final int MOD_SHIFT = 1;
+    public static final int MOD_CONTROL = 1 << 1;
+    public static final int MOD_ALT = 1 << 2;
+
+    private final Type type;
+    private final List<? extends IGraphicsComponent> path;
+    private final int[] localX;
+    private final int[] localY;
+    private final int button;
+    private final double amount;
+    private final double xAmount;
+    private final double yAmount;
+    private final char typedChar;
+    private final int keyCode;
+    private final int modifiers;
+
+    private Phase phase = Phase.CAPTURE;
+    private int index;
+    private boolean propagationStopped;
+
+    /**
+     * @param path the hit path starting from the root
+     * @param localX the X coordinates of the cursor in the frames of the path components
+     * @param localY the Y coordinates of the cursor in the frames of the path components
+     * @param modifiers the modifier keys held when the event happened, combination of the {@code MOD_*} flags
+     */
+    public UIEvent(@NotNull Type type, @NotNull List<? extends IGraphicsComponent> path, int[] localX, int[] localY,
+                   int button, double amount, double xAmount, double yAmount, char typedChar, int keyCode, int modifiers) {
+        this.type = type;
+        this.path = path;
+        this.localX = localX;
+        this.localY = localY;
+        this.button = button;
+        this.amount = amount;
+        this.xAmount = xAmount;
+        this.yAmount = yAmount;
+        this.typedChar = typedChar;
+        this.keyCode = keyCode;
+        this.modifiers = modifiers;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the deepest component of the path
+     */
+    public @NotNull IGraphicsComponent getTarget() {
+        return path.get(path.size() - 1);
+    }
+
+    /**
+     * @return the component handling the event now
+     */
+    public @NotNull IGraphicsComponent getCurrentTarget() {
+        return path.get(index);
+    }
+
+    /**
+     * @return the child of the current target the event goes through, {@code null} at the target
+     */
+    public @Nullable IGraphicsComponent getChildOnPath() {
+        return index + 1 < path.size() ? path.get(index + 1) : null;
+    }
+
+    /**
+     * @return the X coordinate of the cursor relative to the current target
+     */
+    public int getX() {
+        return localX[index];
+    }
+
+    /**
+     * @return the Y coordinate of the cursor relative to the current target
+     */
+    public int getY() {
+        return localY[index];
+    }
+
+    public int getButton() {
+        return button;
+    }
+
+    /**
+     * @return the amount scrolled for {@link Type#MOUSE_SCROLLED}
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return the X distance dragged for {@link Type#MOUSE_DRAGGED}
+     */
+    public double getXAmount() {
+        return xAmount;
+    }
+
+    /**
+     * @return the Y distance dragged for {@link Type#MOUSE_DRAGGED}
+     */
+    public double getYAmount() {
+        return yAmount;
+    }
+
+    public char getTypedChar() {
+        return typedChar;
+    }
+
+    public int getKeyCode() {
+        return keyCode;
+    }
+
+    /**
+     * @return the modifier keys held when the event happened, combination of the {@code MOD_*} flags
+     */
+    public int getModifiers() {
+        return modifiers;
+    }
+
+    public boolean isShiftDown() {
+        return (modifiers & MOD_SHIFT) != 0;
+    }
+
+    public boolean isControlDown() {
+        return (modifiers & MOD_CONTROL) != 0;
+    }
+
+    public boolean isAltDown() {
+        return (modifiers & MOD_ALT) != 0;
+    }
+
+    public void stopPropagation() {
+        propagationStopped = true;
+    }
+
+    public boolean isPropagationStopped() {
+        return propagationStopped;
+    }
+
+    /**
+     * Moves the event to the given component of the path. Used by the router.
+     */
+    public void moveTo(int index, @NotNull Phase phase) {
+        this.index = index;
+        this.phase = phase;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.utils;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Source of component handles.</p>
+ *
+ * <p>Every component gets a process-unique positive {@code int} handle on construction. Containers
+ * key their internal indices on handles, and components added without an explicit ID get
+ * a short ID derived from the handle.</p>
+ *
+ * @since 1.5.2
+ */
+public final class Handles {
+
+    /** Generated IDs start with this prefix, so explicit IDs shouldn't */
+    public static final char GENERATED_PREFIX = '#';
+
+    private static final AtomicInteger NEXT = new AtomicInteger();
+
+    /** Handles of the components which don't store them by themselves */
+    private static final Map<Object, Integer> ASSIGNED = new WeakHashMap<>();
+
+    private Handles() {}
+
+    /**
+     * @return a new unique handle
+     */
+    public static int next() {
+        int handle = NEXT.incrementAndGet();
+        if (handle <= 0) {
+            throw new IllegalStateException("Component handles are exhausted");
+        }
+        return handle;
+    }
+
+    /**
+     * Assigns the handle to the component on the first call.
+     * Used by components which don't store the handle by themselves, so
+     * they shouldn't override {@link Object#equals(Object)}.
+     * @return the handle of the given component
+     */
+    public static int of(Object component) {
+        synchronized (ASSIGNED) {
+            return ASSIGNED.computeIfAbsent(component, key -> next());
+        }
+    }
+
+    /**
+     * @return the ID generated for the component with given handle
+     */
+    public static String toID(int handle) {
+        return GENERATED_PREFIX + Integer.toString(handle, Character.MAX_RADIX);
+    }
+}
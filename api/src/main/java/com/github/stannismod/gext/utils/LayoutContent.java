@@ -21,7 +21,6 @@ import com.github.stannismod.gext.api.IGraphicsComponent;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 public class LayoutContent<T extends IGraphicsComponent> {
 
@@ -44,7 +43,7 @@ public class LayoutContent<T extends IGraphicsComponent> {
     }
 
     public LayoutContent<T> putComponent(T component) {
-        return putComponent(UUID.randomUUID().toString(), component);
+        return putComponent(Handles.toID(component.getHandle()), component);
     }
 
     public void clear() {
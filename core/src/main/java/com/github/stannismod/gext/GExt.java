@@ -17,6 +17,7 @@
 package com.github.stannismod.gext;
 
 import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.adapter.IClipboard;
 import com.github.stannismod.gext.api.adapter.IFontRenderer;
 import com.github.stannismod.gext.api.adapter.IKeyboard;
 import com.github.stannismod.gext.api.adapter.IResourceManager;
@@ -24,10 +25,14 @@ import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.api.resource.IResource;
 import com.github.stannismod.gext.api.resource.IResourceProvider;
 import com.github.stannismod.gext.api.resource.ITexture;
+import com.github.stannismod.gext.engine.FrameCache;
 import com.github.stannismod.gext.engine.GraphicsEngine;
 import com.github.stannismod.gext.engine.IGraphicsEngine;
 import com.github.stannismod.gext.resource.provider.AssetsResourceProvider;
+import com.github.stannismod.gext.utils.AWTClipboard;
+import com.github.stannismod.gext.utils.Clipboard;
 import com.github.stannismod.gext.utils.Keyboard;
+import com.github.stannismod.gext.utils.ScreenStack;
 import org.apache.logging.log4j.Logger;
 
 public class GExt {
@@ -49,10 +54,18 @@ public class GExt {
     private final IResourceProvider assets = new AssetsResourceProvider("GExt");
 
     public GExt(IResourceManager manager, IGraphicsEngine<?> engine, IKeyboard keyboard, Logger logger) {
+        this(manager, engine, keyboard, new AWTClipboard(), logger);
+    }
+
+    /**
+     * @since 1.5.2
+     */
+    public GExt(IResourceManager manager, IGraphicsEngine<?> engine, IKeyboard keyboard, IClipboard clipboard, Logger logger) {
         this.manager = manager;
         this.logger = logger;
         GraphicsEngine.setDelegate(engine);
         Keyboard.setKeyboard(keyboard);
+        Clipboard.setClipboard(clipboard);
         set(this);
     }
 
@@ -81,6 +94,16 @@ public class GExt {
 
     public static void onExit() {
         GraphicsEngine.destroy();
+        FrameCache.getInstance().destroy();
+        ScreenStack.getInstance().clear();
+    }
+
+    /**
+     * Drops the cached screens, their handlers may keep the unloaded world with the player
+     * @since 1.5.2
+     */
+    public static void onWorldUnload() {
+        ScreenStack.getInstance().clear();
     }
 
     public static IResourceManager getResourceManager() {
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.animation;
+
+import com.github.stannismod.gext.utils.Redraw;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Drives the tweens by a monotonic {@link Clock}. The tweens waiting for their start are kept
+ * in a priority queue, so idle components cost nothing and the next frame needed is known at once.
+ * The root layouts tick the shared instance every frame and request the redraws through {@link Redraw}.
+ * @since 1.5.2
+ */
+public class Animator {
+
+    private static final Comparator<Tween> ORDER = (a, b) -> a.startTime != b.startTime
+            ? Long.compare(a.startTime, b.startTime)
+            : Long.compare(a.sequence, b.sequence);
+
+    private static final Animator instance = new Animator(Clock.SYSTEM);
+
+    public static Animator getInstance() {
+        return instance;
+    }
+
+    private final PriorityQueue<Tween> pending = new PriorityQueue<>(ORDER);
+    private final List<Tween> running = new ArrayList<>();
+    private final List<Tween> finished = new ArrayList<>();
+    private Clock clock;
+    private long sequence;
+    private boolean ticking;
+
+    public Animator(@NotNull Clock clock) {
+        this.clock = clock;
+    }
+
+    public @NotNull Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replaces the time source, e.g. with a {@link VirtualClock} for tests.
+     * The scheduled tweens keep their start times, so the clocks should be compatible.
+     */
+    public void setClock(@NotNull Clock clock) {
+        this.clock = clock;
+    }
+
+    public long now() {
+        return clock.now();
+    }
+
+    /**
+     * Schedules the tween to start after its delay. The tween already scheduled is restarted.
+     * @return the given tween
+     */
+    public Tween start(@NotNull Tween tween) {
+        if (tween.animator != null) {
+            tween.animator.cancel(tween);
+        }
+        tween.animator = this;
+        tween.startTime = now() + tween.getDelay();
+        tween.sequence = sequence++;
+        pending.add(tween);
+        Redraw.requestAt(tween.startTime);
+        return tween;
+    }
+
+    /**
+     * Stops the tween leaving the property with its current value
+     * @return whether the tween was scheduled by this animator
+     */
+    public boolean cancel(@NotNull Tween tween) {
+        if (tween.animator != this) {
+            return false;
+        }
+        tween.animator = null;
+        // while ticking, the running tweens are dropped by the tick itself
+        if (!pending.remove(tween) && !ticking) {
+            running.remove(tween);
+        }
+        return true;
+    }
+
+    /**
+     * Advances the tweens to the current time
+     * @return whether there are tweens still running
+     */
+    public boolean tick() {
+        long now = now();
+        while (!pending.isEmpty() && pending.peek().startTime <= now) {
+            running.add(pending.poll());
+        }
+        if (running.isEmpty()) {
+            return false;
+        }
+
+        ticking = true;
+        int alive = 0;
+        try {
+            for (int i = 0; i < running.size(); i++) {
+                Tween tween = running.get(i);
+                if (tween.animator != this) {
+                    continue;
+                }
+                if (tween.apply(now)) {
+                    tween.animator = null;
+                    finished.add(tween);
+                } else {
+                    running.set(alive++, tween);
+                }
+            }
+            running.subList(alive, running.size()).clear();
+        } finally {
+            ticking = false;
+        }
+        Redraw.request();
+
+        for (int i = 0; i < finished.size(); i++) {
+            finished.get(i).finish();
+        }
+        finished.clear();
+        return !running.isEmpty();
+    }
+
+    /**
+     * @return the time the next frame is needed at: the current time while tweens are running,
+     * the start of the earliest delayed tween or {@link Long#MAX_VALUE} if the animator is idle
+     */
+    public long getNextFrameTime() {
+        if (!running.isEmpty()) {
+            return now();
+        }
+        return pending.isEmpty() ? Long.MAX_VALUE : pending.peek().startTime;
+    }
+
+    public boolean isIdle() {
+        return running.isEmpty() && pending.isEmpty();
+    }
+
+    /**
+     * @return the amount of the scheduled tweens, running or delayed
+     */
+    public int size() {
+        return running.size() + pending.size();
+    }
+
+    /**
+     * Cancels all scheduled tweens
+     */
+    public void clear() {
+        running.forEach(tween -> tween.animator = null);
+        pending.forEach(tween -> tween.animator = null);
+        running.clear();
+        pending.clear();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.animation;
+
+/**
+ * Monotonic time source of the animations
+ * @since 1.5.2
+ */
+@FunctionalInterface
+public interface Clock {
+
+    /**
+     * The real time clock, not affected by the changes of the system time
+     */
+    Clock SYSTEM = () -> System.nanoTime() / 1_000_000L;
+
+    /**
+     * @return the current time in milliseconds, never decreasing
+     */
+    long now();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.animation;
+
+/**
+ * Maps the linear progress of an animation to the eased one
+ * @since 1.5.2
+ */
+@FunctionalInterface
+public interface Easing {
+
+    Easing LINEAR = t -> t;
+    Easing QUAD_IN = t -> t * t;
+    Easing QUAD_OUT = t -> t * (2 - t);
+    Easing QUAD_IN_OUT = t -> t < 0.5F ? 2 * t * t : -1 + (4 - 2 * t) * t;
+    /**
+     * Jumps to the end value at once, useful to disable an animation keeping its scheduling
+     */
+    Easing NONE = t -> 1.0F;
+
+    /**
+     * @param progress the linear progress in range [0; 1]
+     * @return the eased progress, 0 and 1 should be kept at the ends
+     */
+    float apply(float progress);
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.animation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Animates a float property from one value to another over the given time.
+ * The tween is configured before being started with {@link Animator#start(Tween)}.
+ * @since 1.5.2
+ */
+public class Tween {
+
+    @FunctionalInterface
+    public interface Property {
+
+        void set(float value);
+    }
+
+    private final Property property;
+    private final float from;
+    private final float to;
+    private final long duration;
+    private long delay;
+    private Easing easing = Easing.LINEAR;
+    private Runnable onFinish;
+
+    // scheduling state, managed by the animator
+    Animator animator;
+    long startTime;
+    long sequence;
+
+    protected Tween(@NotNull Property property, float from, float to, long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Negative duration " + duration);
+        }
+        this.property = property;
+        this.from = from;
+        this.to = to;
+        this.duration = duration;
+    }
+
+    public static Tween of(@NotNull Property property, float from, float to, long duration) {
+        return new Tween(property, from, to, duration);
+    }
+
+    public Tween delay(long delay) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Negative delay " + delay);
+        }
+        this.delay = delay;
+        return this;
+    }
+
+    public Tween easing(@NotNull Easing easing) {
+        this.easing = easing;
+        return this;
+    }
+
+    /**
+     * @param onFinish called once the end value is set, not called if the tween is cancelled
+     */
+    public Tween onFinish(Runnable onFinish) {
+        this.onFinish = onFinish;
+        return this;
+    }
+
+    public float getFrom() {
+        return from;
+    }
+
+    public float getTo() {
+        return to;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return whether the tween is started and neither finished nor cancelled yet
+     */
+    public boolean isScheduled() {
+        return animator != null;
+    }
+
+    /**
+     * @return the value of the property at the given time of the animator clock
+     */
+    public float valueAt(long time) {
+        if (time <= startTime) {
+            return from;
+        }
+        if (time >= startTime + duration) {
+            return to;
+        }
+        return from + (to - from) * easing.apply((float) (time - startTime) / duration);
+    }
+
+    /**
+     * @return whether the tween has finished at the given time
+     */
+    boolean apply(long time) {
+        property.set(valueAt(time));
+        return time >= startTime + duration;
+    }
+
+    void finish() {
+        if (onFinish != null) {
+            onFinish.run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.animation;
+
+/**
+ * Manually driven clock making the animations deterministic in tests and benchmarks
+ * @since 1.5.2
+ */
+public class VirtualClock implements Clock {
+
+    private long time;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long time) {
+        this.time = time;
+    }
+
+    @Override
+    public long now() {
+        return time;
+    }
+
+    public void set(long time) {
+        if (time < this.time) {
+            throw new IllegalArgumentException("Clock can't go backwards");
+        }
+        this.time = time;
+    }
+
+    public void advance(long millis) {
+        set(time + millis);
+    }
+}
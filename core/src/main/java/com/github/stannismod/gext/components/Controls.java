@@ -23,7 +23,7 @@ public class Controls {
             @Override
             protected GVerticalScroll create() {
                 return new GVerticalScroll(x, y, width, height, clippingEnabled, parent, binding, bound, alignment,
-                        xPadding, yPadding, listeners, barWidth, scrollFactor);
+                        xPadding, yPadding, listeners, barWidth, scrollFactor, scrollDuration);
             }
         };
     }
@@ -28,6 +28,8 @@ import com.github.stannismod.gext.utils.Align;
 import com.github.stannismod.gext.utils.Alignment;
 import com.github.stannismod.gext.utils.Bound;
 import com.github.stannismod.gext.utils.FrameStack;
+import com.github.stannismod.gext.utils.Handles;
+import com.github.stannismod.gext.utils.Redraw;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -37,6 +39,7 @@ import java.util.List;
 public abstract class GBasic implements IGraphicsComponent {
 
     private String id;
+    private final int handle = Handles.next();
     private int depth;
     protected boolean needUpdate;
     private boolean visible = true;
@@ -44,6 +47,14 @@ public abstract class GBasic implements IGraphicsComponent {
 
     protected final Rectangle frame;
     protected final Rectangle absoluteFrame;
+    // value of the move counter the absolute position was computed at
+    private long transformVersion = -1;
+
+    /**
+     * Counter of the moves of all components. Absolute positions are recomputed lazily when it changes,
+     * so moving a component doesn't touch its descendants.
+     */
+    private static long moves;
 
     private IGraphicsLayout<? extends IGraphicsComponent> parent;
     private IGraphicsComponent binding;
@@ -90,6 +101,11 @@ public abstract class GBasic implements IGraphicsComponent {
         this.id = id;
     }
 
+    @Override
+    public int getHandle() {
+        return handle;
+    }
+
     @Override
     public boolean visible() {
         return visible;
@@ -98,11 +114,12 @@ public abstract class GBasic implements IGraphicsComponent {
     @Override
     public void setVisibility(boolean visibility) {
         this.visible = visibility;
+        Redraw.request();
     }
 
     @Override
     public int getAbsoluteX() {
-        return absoluteFrame.x;
+        return getAbsoluteFrame().x;
     }
 
     @Override
@@ -115,12 +132,13 @@ public abstract class GBasic implements IGraphicsComponent {
         getFrame().x = x + (int)(getBinding() != null
                 ? getBinding().getX() + bound.getMultiplierX() * getBinding().getWidth()
                 : 0);
-        getAbsoluteFrame().x = getX() + (hasParent() ? getParent().getAbsoluteX() : 0);
+        moves++;
+        onGeometryChanged();
     }
 
     @Override
     public int getAbsoluteY() {
-        return absoluteFrame.y;
+        return getAbsoluteFrame().y;
     }
 
     @Override
@@ -133,7 +151,8 @@ public abstract class GBasic implements IGraphicsComponent {
         getFrame().y = y + (int)(getBinding() != null
                 ? getBinding().getY() + bound.getMultiplierY() * getBinding().getHeight()
                 : 0);
-        getAbsoluteFrame().y = getY() + (hasParent() ? getParent().getAbsoluteY() : 0);
+        moves++;
+        onGeometryChanged();
     }
 
     @Override
@@ -145,6 +164,7 @@ public abstract class GBasic implements IGraphicsComponent {
     public void setWidth(int width) {
         getFrame().width = width;
         getAbsoluteFrame().width = width;
+        onGeometryChanged();
     }
 
     @Override
@@ -156,6 +176,17 @@ public abstract class GBasic implements IGraphicsComponent {
     public void setHeight(int height) {
         getFrame().height = height;
         getAbsoluteFrame().height = height;
+        onGeometryChanged();
+    }
+
+    /**
+     * Notifies the parent about the frame change
+     */
+    protected void onGeometryChanged() {
+        Redraw.request();
+        if (parent != null) {
+            parent.onChildGeometryChanged(this);
+        }
     }
 
     @Override
@@ -165,6 +196,13 @@ public abstract class GBasic implements IGraphicsComponent {
 
     @Override
     public @NotNull Rectangle getAbsoluteFrame() {
+        if (transformVersion != moves) {
+            // the parent validates its own position the same way, so each component is
+            // recomputed at most once after any number of moves
+            absoluteFrame.x = getX() + (hasParent() ? getParent().getAbsoluteX() : 0);
+            absoluteFrame.y = getY() + (hasParent() ? getParent().getAbsoluteY() : 0);
+            transformVersion = moves;
+        }
         return absoluteFrame;
     }
 
@@ -177,11 +215,8 @@ public abstract class GBasic implements IGraphicsComponent {
     @Override
     public void setParent(@NotNull IGraphicsLayout<? extends IGraphicsComponent> parent) {
         this.parent = parent;
+        moves++;
         alignment.transform(this, xPadding, yPadding);
-        // refreshing absoluteFrame after updating parent
-        // TODO Check that hasParent() is needed here
-        getAbsoluteFrame().x = getX() + (hasParent() ? getParent().getAbsoluteX() : 0);
-        getAbsoluteFrame().y = getY() + (hasParent() ? getParent().getAbsoluteY() : 0);
     }
 
     @Override
@@ -277,7 +312,7 @@ public abstract class GBasic implements IGraphicsComponent {
             if (intersectsInner(mouseX, mouseY)) {
                 onHover(mouseX, mouseY);
             }
-            if (needUpdate() || checkUpdates()) {
+            if (needUpdate() || pollsUpdates() && checkUpdates()) {
                 update();
                 if (!listeners.isEmpty()) {
                     listeners.forEach(l -> l.listen(this));
@@ -286,11 +321,11 @@ public abstract class GBasic implements IGraphicsComponent {
 
             GlStateManager.pushMatrix();
             if (clippingEnabled()) {
-                Rectangle frame = absoluteFrame;
+                Rectangle frame = getAbsoluteFrame();
                 if (getParent() instanceof IScrollable) {
                     IScrollable scrollable = (IScrollable) getParent();
                     frame = frame.getBounds();
-                    frame.add(-scrollable.getScrollHorizontal(), -scrollable.getScrollVertical());
+                    frame.translate(-scrollable.getScrollHorizontal(), -scrollable.getScrollVertical());
                 }
                 FrameStack.getInstance().apply(frame);
             }
@@ -323,6 +358,7 @@ public abstract class GBasic implements IGraphicsComponent {
 
     @Override
     public void update() {
+        needUpdate = false;
         this.listeners.forEach(l -> l.listen(this));
     }
 
@@ -392,6 +428,10 @@ public abstract class GBasic implements IGraphicsComponent {
     @Override
     public void markDirty() {
         needUpdate = true;
+        Redraw.request();
+        if (parent != null) {
+            parent.onChildInvalidated(this);
+        }
     }
 
     @Override
@@ -97,11 +97,6 @@ public class GButton extends GBasic {
         return active;
     }
 
-    @Override
-    public boolean checkUpdates() {
-        return super.checkUpdates() || hovered != prevHovered;
-    }
-
     @Override
     public void update() {
         super.update();
@@ -113,6 +108,9 @@ public class GButton extends GBasic {
 
     @Override
     public void draw(int mouseX, int mouseY, float partialTicks) {
+        if (hovered != prevHovered) {
+            markDirty();
+        }
         prevHovered = hovered;
         hovered = false;
 
@@ -130,6 +128,9 @@ public class GButton extends GBasic {
     public void onHover(int mouseX, int mouseY) {
         super.onHover(mouseX, mouseY);
         hovered = true;
+        if (!prevHovered) {
+            markDirty();
+        }
         if (hasLabel()) {
             label.onHover(mouseX, mouseY);
         }
@@ -23,6 +23,8 @@ import com.github.stannismod.gext.api.menu.IContextMenuList;
 import com.github.stannismod.gext.utils.Align;
 import com.github.stannismod.gext.utils.Alignment;
 import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.utils.Handles;
+import com.github.stannismod.gext.utils.Redraw;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -33,6 +35,7 @@ public abstract class GControl implements IGraphicsComponent {
 
     private final List<IListener> listeners = new LinkedList<>();
     private String id;
+    private final int handle = Handles.next();
     private IGraphicsLayout<? extends IGraphicsComponent> parent;
     private boolean needUpdate;
     private boolean visible;
@@ -48,6 +51,11 @@ public abstract class GControl implements IGraphicsComponent {
         this.id = id;
     }
 
+    @Override
+    public int getHandle() {
+        return handle;
+    }
+
     @Override
     public boolean visible() {
         return visible;
@@ -236,6 +244,7 @@ public abstract class GControl implements IGraphicsComponent {
 
     @Override
     public void update() {
+        needUpdate = false;
         this.listeners.forEach(l -> l.listen(this));
     }
 
@@ -249,6 +258,10 @@ public abstract class GControl implements IGraphicsComponent {
     @Override
     public void markDirty() {
         needUpdate = true;
+        Redraw.request();
+        if (parent != null) {
+            parent.onChildInvalidated(this);
+        }
     }
 
     @Override
@@ -78,11 +78,9 @@ public class GLink extends GLabel {
     public void onHover(int mouseX, int mouseY) {
         super.onHover(mouseX, mouseY);
         hovered = true;
-    }
-
-    @Override
-    public boolean checkUpdates() {
-        return checkUpdates() || hovered != prevHovered;
+        if (!prevHovered) {
+            markDirty();
+        }
     }
 
     @Override
@@ -98,6 +96,9 @@ public class GLink extends GLabel {
     @Override
     public void draw(int mouseX, int mouseY, float partialTicks) {
         super.draw(mouseX, mouseY, partialTicks);
+        if (hovered != prevHovered) {
+            markDirty();
+        }
         prevHovered = hovered;
         hovered = false;
     }
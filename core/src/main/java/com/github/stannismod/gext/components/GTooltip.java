@@ -38,6 +38,7 @@ public abstract class GTooltip extends BasicLayout<IGraphicsComponent> implement
     protected int mouseY;
 
     private IGraphicsComponent target;
+    private boolean targetChanged;
 
     private final Map<Class<? extends IGraphicsComponent>, List<IGraphicsComponent>> content = new HashMap<>();
 
@@ -66,6 +67,7 @@ public abstract class GTooltip extends BasicLayout<IGraphicsComponent> implement
     @Override
     public void setTarget(@Nullable IGraphicsComponent target) {
         this.target = target;
+        this.targetChanged = true;
         this.markDirty();
     }
 
@@ -74,13 +76,18 @@ public abstract class GTooltip extends BasicLayout<IGraphicsComponent> implement
         return target;
     }
 
-    @Override
-    public boolean checkUpdates() {
-        return true;
-    }
-
     @Override
     public void update() {
+        needUpdate = false;
+        if (targetChanged) {
+            targetChanged = false;
+            this.clear();
+            List<IGraphicsComponent> targetContent = content.get(getTarget().getClass());
+            if (targetContent != null) {
+                this.setContent(targetContent);
+            }
+        }
+
         if (intersects(mouseX, mouseY)) {
             this.setX(mouseX - getWidth() - xOffset);
             this.setY(mouseY - getHeight() - yOffset);
@@ -98,11 +105,6 @@ public abstract class GTooltip extends BasicLayout<IGraphicsComponent> implement
         } else {
             this.setY(getParent().getHeight() - getHeight());
         }
-
-        if (needUpdate()) {
-            this.clear();
-            this.setContent(content.get(getTarget().getClass()));
-        }
     }
 
     public abstract void initTooltip();
@@ -118,6 +120,10 @@ public abstract class GTooltip extends BasicLayout<IGraphicsComponent> implement
             StyleMap.current().drawTooltip(getX(), getY(), getWidth(), getHeight());
             super.draw(mouseX, mouseY, partialTicks);
         }
+        if (this.mouseX != mouseX || this.mouseY != mouseY) {
+            // follows the cursor
+            markDirty();
+        }
         this.mouseX = mouseX;
         this.mouseY = mouseY;
     }
@@ -16,6 +16,9 @@
 
 package com.github.stannismod.gext.components;
 
+import com.github.stannismod.gext.animation.Animator;
+import com.github.stannismod.gext.animation.Easing;
+import com.github.stannismod.gext.animation.Tween;
 import com.github.stannismod.gext.api.IGraphicsComponent;
 import com.github.stannismod.gext.api.IGraphicsLayout;
 import com.github.stannismod.gext.api.IListener;
@@ -29,24 +32,38 @@ import java.util.List;
 
 public class GVerticalScroll extends GScrollBasic {
 
+    public static final long DEFAULT_SCROLL_DURATION = 100;
+
     protected float scrollFactor;
     protected int barWidth;
 
     protected boolean mousePressed = false;
 
-    // interpolation
-    protected int prevScrolled;
+    // the destination of the smooth scrolling
     protected int scrolled;
-
-    protected int prevY;
+    protected long scrollDuration;
+    private Tween animation;
 
     public GVerticalScroll(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
                            final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
                            final Bound bound, final Align alignment, final int xPadding, final int yPadding,
                            final List<IListener> listeners, int barWidth, float scrollFactor) {
+        this(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners,
+                barWidth, scrollFactor, DEFAULT_SCROLL_DURATION);
+    }
+
+    /**
+     * @param scrollDuration the time of the smooth scrolling in milliseconds, 0 disables it
+     * @since 1.5.2
+     */
+    public GVerticalScroll(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
+                           final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
+                           final Bound bound, final Align alignment, final int xPadding, final int yPadding,
+                           final List<IListener> listeners, int barWidth, float scrollFactor, long scrollDuration) {
         super(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners);
         this.barWidth = barWidth;
         this.scrollFactor = scrollFactor;
+        this.scrollDuration = scrollDuration;
     }
 
 
@@ -76,14 +93,35 @@ public class GVerticalScroll extends GScrollBasic {
     }
 
     private int getScrollBarPosition() {
-        return (int)((getHeight() - getScrollBarHeight()) * (1.0F * scrolled / getScrollable()));
+        return (int)((getHeight() - getScrollBarHeight()) * (1.0F * getTarget().getScrollVertical() / getScrollable()));
     }
 
-    private int interpolate(int from, int to, float partialTicks) {
-        if (Math.abs(to - from) < 0.000001) {
-            return to;
+    /**
+     * Scrolls the target to the given position, smoothly if the scroll duration is set
+     * @since 1.5.2
+     */
+    public void scrollTo(int value) {
+        scrolled = value;
+        Animator animator = Animator.getInstance();
+        if (animation != null) {
+            animator.cancel(animation);
+            animation = null;
+        }
+        int current = getTarget().getScrollVertical();
+        if (scrollDuration <= 0 || current == value) {
+            getTarget().setScrollVertical(value);
+            return;
         }
-        return from + (int)((to - from) * (1 - partialTicks));
+        animation = animator.start(Tween.of(v -> getTarget().setScrollVertical(Math.round(v)), current, value, scrollDuration)
+                .easing(Easing.QUAD_OUT));
+    }
+
+    /**
+     * @return whether the smooth scrolling is in progress
+     * @since 1.5.2
+     */
+    public boolean isScrolling() {
+        return animation != null && animation.isScheduled();
     }
 
     @Override
@@ -91,18 +129,8 @@ public class GVerticalScroll extends GScrollBasic {
         if (!shouldRenderBar()) {
             return;
         }
-        // TODO Add feature for content scrolling interpolation disabling
-
-        prevScrolled = interpolate(prevScrolled, scrolled, partialTicks);
-        if (prevScrolled != scrolled) {
-            getTarget().setScrollVertical(prevScrolled);
-        }
-        if (prevY != getScrollBarPosition()) {
-            prevY = interpolate(prevY, getScrollBarPosition(), partialTicks);
-        }
-
         StyleMap.current().drawVerticalScrollTrace(getX(), getY(), getWidth(), getHeight());
-        StyleMap.current().drawVerticalScrollBar(getX(), prevY, getWidth(), getScrollBarHeight());
+        StyleMap.current().drawVerticalScrollBar(getX(), getScrollBarPosition(), getWidth(), getScrollBarHeight());
     }
 
     @Override
@@ -118,7 +146,7 @@ public class GVerticalScroll extends GScrollBasic {
             } else if (f < 0.0F) {
                 f = 0.0F;
             }
-            scrolled = (int)(getScrollable() * f);
+            scrollTo((int)(getScrollable() * f));
             mousePressed = true;
         } else {
             mousePressed = false;
@@ -147,7 +175,7 @@ public class GVerticalScroll extends GScrollBasic {
             } else if (f < 0.0F) {
                 f = 0.0F;
             }
-            scrolled = (int)(getScrollable() * f);
+            scrollTo((int)(getScrollable() * f));
         }
     }
 
@@ -160,14 +188,15 @@ public class GVerticalScroll extends GScrollBasic {
         if (getTarget().intersectsInner(mouseX, mouseY)) {
             int scrolled = (int) (-amountScrolled * scrollFactor);
             int scrollable = getScrollable();
-            int result = getTarget().getScrollVertical() + scrolled;
+            // the steps made while scrolling are accumulated
+            int result = (isScrolling() ? this.scrolled : getTarget().getScrollVertical()) + scrolled;
 
             if (result < 0) {
                 result = 0;
             } else if (result > scrollable) {
                 result = scrollable;
             }
-            this.scrolled = result;
+            scrollTo(result);
             mousePressed = false;
         }
     }
@@ -176,6 +205,7 @@ public class GVerticalScroll extends GScrollBasic {
 
         protected int barWidth = 8;
         protected float scrollFactor;
+        protected long scrollDuration = DEFAULT_SCROLL_DURATION;
 
         public SELF barWidth(int width) {
             this.barWidth = width;
@@ -187,6 +217,15 @@ public class GVerticalScroll extends GScrollBasic {
             return self();
         }
 
+        /**
+         * @param scrollDuration the time of the smooth scrolling in milliseconds, 0 disables it
+         * @since 1.5.2
+         */
+        public SELF scrollDuration(long scrollDuration) {
+            this.scrollDuration = scrollDuration;
+            return self();
+        }
+
         @Override
         public SELF size(final int width, final int height) {
             throw new UnsupportedOperationException("Sizing GVerticalScroll is forbidden");
@@ -24,6 +24,8 @@ import com.github.stannismod.gext.components.container.BasicLayout;
 import com.github.stannismod.gext.components.container.GList;
 import com.github.stannismod.gext.components.container.GPanel;
 import com.github.stannismod.gext.components.container.GTabPanel;
+import com.github.stannismod.gext.components.container.GVirtualList;
+import com.github.stannismod.gext.components.text.GLogPanel;
 import com.github.stannismod.gext.components.text.GTextBox;
 import com.github.stannismod.gext.components.text.GTextPanel;
 import com.github.stannismod.gext.utils.Align;
@@ -101,7 +103,18 @@ public class Graphics {
             protected GTextBox create() {
                 return new GTextBox(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding,
                         yPadding, listeners, xOffset, yOffset, interval, text, textList, scale, title, titleScale,
-                        backgroundDrawingEnabled, wrapContent, renderer, scrollHandler);
+                        backgroundDrawingEnabled, wrapContent, renderer, scrollHandler, historyBudget);
+            }
+        };
+    }
+
+    public static GLogPanel.Builder<GLogPanel.Builder<?, GLogPanel>, GLogPanel> logPanel() {
+        return new GLogPanel.Builder<GLogPanel.Builder<?, GLogPanel>, GLogPanel>() {
+            @Override
+            protected GLogPanel create() {
+                return new GLogPanel(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding,
+                        yPadding, listeners, xOffset, yOffset, interval, scale, color, backgroundDrawingEnabled,
+                        renderer, capacity, lineBudget);
             }
         };
     }
@@ -137,6 +150,18 @@ public class Graphics {
         };
     }
 
+    public static <T extends IGraphicsComponent>
+    GVirtualList.Builder<GVirtualList.Builder<?, GVirtualList<T>, T>, GVirtualList<T>, T> virtualList() {
+        return new GVirtualList.Builder<GVirtualList.Builder<?, GVirtualList<T>, T>, GVirtualList<T>, T>() {
+            @Override
+            protected GVirtualList<T> create() {
+                return new GVirtualList<>(x, y, width, height, clippingEnabled, parent, binding, bound, alignment,
+                        xPadding, yPadding, listeners, tooltip, selector, scrollHandler, xOffset, yOffset,
+                        adapter, itemHeight, interval, overscan);
+            }
+        };
+    }
+
     public static <K extends IGraphicsComponent, V extends IGraphicsComponent>
     GTabPanel.Builder<GTabPanel.Builder<?, GTabPanel<K, V>, K, V>, GTabPanel<K, V>, K, V> tabPanel() {
         return new GTabPanel.Builder<GTabPanel.Builder<?, GTabPanel<K, V>, K, V>, GTabPanel<K, V>, K, V>() {
@@ -144,7 +169,7 @@ public class Graphics {
             protected GTabPanel<K, V> create() {
                 return new GTabPanel<>(x, y, width, height, clippingEnabled, parent, binding, bound, alignment,
                         xPadding, yPadding, listeners, tooltip, selector, scrollHandler, xOffset, yOffset,
-                        wrapContent, background, drawBackground, interval, target, contentMap, deselectionEnabled);
+                        wrapContent, background, drawBackground, interval, target, contentMap, deselectionEnabled, cacheLimit);
             }
         };
     }
@@ -16,37 +16,64 @@
 
 package com.github.stannismod.gext.components.container;
 
+import com.github.stannismod.gext.GExt;
+import com.github.stannismod.gext.animation.Animator;
 import com.github.stannismod.gext.api.*;
+import com.github.stannismod.gext.api.adapter.IScaledResolution;
+import com.github.stannismod.gext.api.event.UIEvent;
 import com.github.stannismod.gext.api.menu.IContextMenuComponent;
 import com.github.stannismod.gext.api.menu.IContextMenuElement;
 import com.github.stannismod.gext.components.GBasic;
+import com.github.stannismod.gext.engine.FrameCache;
 import com.github.stannismod.gext.engine.GlStateManager;
+import com.github.stannismod.gext.event.EventRouter;
+import com.github.stannismod.gext.layout.LayoutHost;
+import com.github.stannismod.gext.layout.LayoutManager;
+import com.github.stannismod.gext.layout.LayoutNode;
+import com.github.stannismod.gext.layout.Size;
 import com.github.stannismod.gext.utils.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.opengl.GL11;
 
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.NavigableSet;
-import java.util.TreeSet;
 
-public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements IGraphicsLayout<T> {
+public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements IGraphicsLayout<T>, LayoutHost {
 
-    // for ID access
-    private final LayoutContent<T> content = new LayoutContent<>();
-    // for rendering
-    private final NavigableSet<T> sorted = new TreeSet<>(((o1, o2) -> {
-        if (o1.getDepth() == o2.getDepth()) {
-            return o1.getID().compareTo(o2.getID());
-        }
-        return o1.getDepth() - o2.getDepth();
-    }));
+    // for ID access and rendering
+    private final ChildList<T> children = new ChildList<>();
+
+    // children polled with checkUpdates every frame, see IGraphicsComponent#pollsUpdates
+    private List<T> polled = new ArrayList<>();
+
+    // for hit-testing
+    private final SpatialIndex<T> spatialIndex = new SpatialIndex<>(children::compare);
+    private final List<T> pointed = new ArrayList<>();
+    // components visible in the last frame, see #getVisibleComponents
+    private final List<T> visible = new ArrayList<>();
+    private final Rectangle visibleArea = new Rectangle();
+    private boolean visibleDirty = true;
+
+    // measure/arrange state, the arrange pass runs at most once per update
+    private final LayoutNode layout = new LayoutNode(children);
+    // nesting level of beginUpdate/endUpdate
+    private int transactions;
 
     private IGraphicsListener<? extends BasicLayout<T>> tooltip;
     private ISelector selector;
 
     private IGraphicsLayout<?> root;
     private IContextMenuComponent<? extends IContextMenuElement> menu;
+    private EventRouter router;
+
+    private boolean renderOnDemand;
+    private long frameVersion = -1;
+    private int frameMouseX;
+    private int frameMouseY;
 
     public BasicLayout(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
                        final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
@@ -60,14 +87,102 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
 
     @Override
     public void setWidth(final int width) {
+        boolean changed = width != getWidth();
         super.setWidth(width);
-        sorted.forEach(c -> c.getAlignment().transform(c, c.getXPadding(), c.getYPadding()));
+        if (changed) {
+            scheduleLayout();
+        }
     }
 
     @Override
     public void setHeight(final int height) {
+        boolean changed = height != getHeight();
         super.setHeight(height);
-        sorted.forEach(c -> c.getAlignment().transform(c, c.getXPadding(), c.getYPadding()));
+        if (changed) {
+            scheduleLayout();
+        }
+    }
+
+    /**
+     * @return the layout manager positioning the children, {@code null} if they're positioned
+     * by their own alignments
+     * @since 1.5.2
+     */
+    @Override
+    public @Nullable LayoutManager getLayoutManager() {
+        return layout.getManager();
+    }
+
+    /**
+     * Sets the layout manager positioning the children. The children are relaid on the next update.
+     * @since 1.5.2
+     */
+    public void setLayoutManager(@Nullable LayoutManager manager) {
+        layout.setManager(manager);
+        requestLayout();
+    }
+
+    /**
+     * @return whether the children will be relaid on the next update
+     * @since 1.5.2
+     */
+    public boolean isLayoutRequested() {
+        return layout.isRequested();
+    }
+
+    @Override
+    public @NotNull Size measure(int maxWidth, int maxHeight) {
+        Size size = layout.measure(maxWidth, maxHeight);
+        return size != null ? size : new Size(Math.min(getWidth(), maxWidth), Math.min(getHeight(), maxHeight));
+    }
+
+    @Override
+    public void requestLayout() {
+        layout.invalidate();
+        scheduleLayout();
+        if (getParent() instanceof BasicLayout) {
+            ((BasicLayout<?>) getParent()).onChildLayoutChanged();
+        }
+    }
+
+    /**
+     * Walks up while the measurements are cached, the rest of the path is already invalid
+     */
+    private void invalidateLayout() {
+        boolean cached = layout.invalidate();
+        scheduleLayout();
+        if (cached && getParent() instanceof BasicLayout) {
+            ((BasicLayout<?>) getParent()).onChildLayoutChanged();
+        }
+    }
+
+    private void onChildLayoutChanged() {
+        if (layout.getManager() != null && !layout.isArranging()) {
+            invalidateLayout();
+        }
+    }
+
+    private void scheduleLayout() {
+        layout.request();
+        markDirty();
+    }
+
+    /**
+     * The arrange pass. Without the layout manager, children are realigned by their own alignments.
+     * @since 1.5.2
+     */
+    protected void layoutChildren() {
+        layout.arrange(getWidth(), getHeight());
+        if (layout.getManager() == null) {
+            realignChildren();
+        }
+    }
+
+    private void realignChildren() {
+        for (int i = 0; i < children.size(); i++) {
+            T c = children.get(i);
+            c.getAlignment().transform(c, c.getXPadding(), c.getYPadding());
+        }
     }
 
     @Override
@@ -87,19 +202,70 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
     public void putComponent(String id, @NotNull T component) {
         component.setID(id);
         component.setParent(this);
-        content.putComponent(id, component);
-        sorted.add(component);
+        boolean dirty = component.needUpdate() || component.pollsUpdates();
+        T replaced = children.put(id, component, dirty);
+        if (replaced != null && replaced != component) {
+            spatialIndex.remove(replaced);
+            layout.onChildRemoved(replaced);
+        }
+        spatialIndex.put(component);
+        layout.onChildAdded(component);
+        if (layout.getManager() != null) {
+            invalidateLayout();
+        }
+        visibleDirty = true;
+        Redraw.request();
+        if (component.pollsUpdates()) {
+            polled.add(component);
+        }
+        if (dirty) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public void beginUpdate() {
+        if (transactions++ == 0) {
+            children.beginBulk();
+        }
+    }
+
+    @Override
+    public void endUpdate() {
+        if (transactions == 0) {
+            throw new IllegalStateException("No transaction to commit");
+        }
+        if (--transactions == 0) {
+            children.endBulk();
+        }
+    }
+
+    /**
+     * @return whether there's a transaction started by {@link #beginUpdate()} not committed yet
+     * @since 1.5.2
+     */
+    public boolean isUpdating() {
+        return transactions > 0;
     }
 
     @Override
     public T getComponent(String id) {
-        return content.getContent().get(id);
+        return children.getById(id);
     }
 
     @Override
     public T removeComponent(String id) {
-        T removed = content.remove(id);
-        sorted.remove(removed);
+        T removed = children.removeById(id);
+        if (removed != null) {
+            spatialIndex.remove(removed);
+            polled.remove(removed);
+            layout.onChildRemoved(removed);
+            if (layout.getManager() != null) {
+                invalidateLayout();
+            }
+        }
+        visibleDirty = true;
+        Redraw.request();
         return removed;
     }
 
@@ -116,27 +282,140 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
         this.root = root;
     }
 
+    /**
+     * @return whether the component is the direct child of this layout.
+     * Unlike the parent link of the component, it's reset when the component is removed.
+     * @since 1.5.2
+     */
+    public boolean hasChild(@NotNull IGraphicsComponent component) {
+        return children.isChild(component);
+    }
+
+    /**
+     * @return the read-only view of the content in the rendering order
+     * @since 1.5.2
+     */
+    public @NotNull List<T> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
     @Override
     public int size() {
-        return content.getContent().size();
+        return children.size();
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void setContent(@NotNull LayoutContent<? extends IGraphicsComponent> newContent) {
-        clear();
-        newContent.getContent().forEach((id, component) -> putComponent(id, (T) component));
+        batch(() -> {
+            clear();
+            newContent.getContent().forEach((id, component) -> putComponent(id, (T) component));
+        });
     }
 
     @Override
     public @NotNull LayoutContent<T> getContent() {
-        return content;
+        return LayoutContent.withContent(children.toMap());
     }
 
     @Override
     public void clear() {
-        content.clear();
-        sorted.clear();
+        children.clear();
+        polled.clear();
+        spatialIndex.clear();
+        layout.clear();
+        if (layout.getManager() != null) {
+            invalidateLayout();
+        }
+        visibleDirty = true;
+        Redraw.request();
+    }
+
+    /**
+     * Takes all the children out of the layout at once, leaving it empty. The children keep their parent,
+     * position and the place in the indices of the layout, so they can be attached back in O(1).
+     * Unlike {@link #clear()}, the layout manager isn't notified of the children taken out.
+     * @return the detached children
+     * @throws UnsupportedOperationException if the layout doesn't support detaching, see {@link #isDetachable()}
+     * @since 1.5.2
+     */
+    public @NotNull Detached<T> detach() {
+        if (!isDetachable()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support detaching!");
+        }
+        Detached<T> detached = new Detached<>(this);
+        swap(detached);
+        return detached;
+    }
+
+    /**
+     * Puts back the children detached from this layout in O(1), dropping the current content as {@link #clear()}
+     * does. The children aren't re-parented, and they're realigned only if the layout was resized since detaching.
+     * The given detached children become empty.
+     * @throws IllegalArgumentException if the children were detached from another layout
+     * @since 1.5.2
+     */
+    public void attach(@NotNull Detached<T> detached) {
+        if (detached.owner != this) {
+            throw new IllegalArgumentException("The children were detached from another layout");
+        }
+        if (!children.isEmpty()) {
+            clear();
+        }
+        boolean resized = detached.width != getWidth() || detached.height != getHeight();
+        swap(detached);
+        if (resized && layout.getManager() == null) {
+            // realigns the children
+            scheduleLayout();
+        }
+    }
+
+    /**
+     * @return whether the children can be detached, see {@link #detach()}
+     * @since 1.5.2
+     */
+    public boolean isDetachable() {
+        return true;
+    }
+
+    /**
+     * Exchanges the state the layout keeps for its children with the one kept by the detached children.
+     * Layouts keeping such a state should override it, so detaching still costs O(1).
+     * @param state the state of the detached children, {@code null} if they are detached from this layout now
+     * @return the state to be kept by the detached children
+     * @since 1.5.2
+     */
+    protected @Nullable Object swapChildState(@Nullable Object state) {
+        return null;
+    }
+
+    private void swap(Detached<T> detached) {
+        children.swap(detached.children);
+        spatialIndex.swap(detached.spatialIndex);
+        layout.swapPreferred(detached.layout);
+        List<T> polled = this.polled;
+        this.polled = detached.polled;
+        detached.polled = polled;
+        detached.state = swapChildState(detached.state);
+        detached.width = getWidth();
+        detached.height = getHeight();
+        if (layout.getManager() != null) {
+            invalidateLayout();
+        }
+        visibleDirty = true;
+        Redraw.request();
+        // the dirty and polled children are visited from the next update
+        markDirty();
+    }
+
+    @Override
+    public void onChildGeometryChanged(@NotNull IGraphicsComponent child) {
+        spatialIndex.update(child);
+        visibleDirty = true;
+        if (layout.getManager() != null && !layout.isArranging()) {
+            layout.onChildResized(child);
+            invalidateLayout();
+        }
     }
 
     @Override
@@ -174,12 +453,19 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
             return;
         }
         this.menu = menu;
+        Redraw.request();
+    }
+
+    @Override
+    public boolean pollsUpdates() {
+        return !polled.isEmpty();
     }
 
     @Override
     public boolean checkUpdates() {
         boolean dirty = super.checkUpdates();
-        for (IGraphicsComponent component : sorted) {
+        for (int i = 0; i < polled.size(); i++) {
+            T component = polled.get(i);
             if (component.checkUpdates()) {
                 component.markDirty();
                 dirty = true;
@@ -188,6 +474,102 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
         return dirty;
     }
 
+    @Override
+    public void onChildInvalidated(@NotNull IGraphicsComponent child) {
+        if (child == getOwnTooltip()) {
+            markDirty();
+            return;
+        }
+        if (!children.markDirty(child)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T component = (T) child;
+        int index = polled.indexOf(component);
+        if (component.pollsUpdates() && index < 0) {
+            polled.add(component);
+        } else if (!component.pollsUpdates() && index >= 0) {
+            polled.remove(index);
+        }
+        markDirty();
+    }
+
+    /**
+     * Returns the router dispatching the input to the content of this layout.
+     * Should be used on the root layout instead of the {@code on*} methods, which broadcast the input.
+     * @since 1.5.2
+     */
+    public @NotNull EventRouter getEventRouter() {
+        if (router == null) {
+            router = new EventRouter(this);
+        }
+        return router;
+    }
+
+    /**
+     * The content receives the routed events from the router itself, so only the own behaviour
+     * of the layout is applied here: the tooltip and the selector follow the events going through the layout.
+     */
+    @Override
+    public void handleEvent(@NotNull UIEvent event) {
+        if (event.getPhase() == UIEvent.Phase.CAPTURE) {
+            return;
+        }
+        boolean target = event.getPhase() == UIEvent.Phase.TARGET;
+        switch (event.getType()) {
+            case MOUSE_PRESSED:
+                if (target) {
+                    super.onMousePressed(event.getX(), event.getY(), event.getButton());
+                }
+                if (getOwnTooltip() != null) {
+                    getOwnTooltip().onMousePressed(event.getX(), event.getY(), event.getButton());
+                }
+                break;
+            case MOUSE_RELEASED:
+                if (target) {
+                    super.onMouseReleased(event.getX(), event.getY(), event.getButton());
+                } else if (getSelector() != null) {
+                    getSelector().onSelect(event.getChildOnPath());
+                }
+                if (getOwnTooltip() != null) {
+                    getOwnTooltip().onMouseReleased(event.getX(), event.getY(), event.getButton());
+                }
+                break;
+            case KEY_PRESSED:
+                if (target) {
+                    super.onKeyPressed(event.getTypedChar(), event.getKeyCode());
+                }
+                if (getOwnTooltip() != null) {
+                    getOwnTooltip().onKeyPressed(event.getTypedChar(), event.getKeyCode());
+                }
+                if (isRoot() && hasActiveMenu()) {
+                    if (Keyboard.isKeyDown(Keyboard.KEY_ESCAPE)) {
+                        setActiveMenu(null);
+                    } else {
+                        getActiveMenu().onKeyPressed(event.getTypedChar(), event.getKeyCode());
+                    }
+                }
+                break;
+            case MOUSE_MOVED:
+                if (target) {
+                    super.onMouseMoved(event.getX(), event.getY());
+                }
+                break;
+            case MOUSE_DRAGGED:
+                if (target) {
+                    super.onMouseDragged(event.getX(), event.getY(), event.getButton(), event.getXAmount(), event.getYAmount());
+                }
+                break;
+            case MOUSE_SCROLLED:
+                if (target) {
+                    super.onMouseScrolled(event.getX(), event.getY(), event.getAmount());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public void onMousePressed(int mouseX, int mouseY, int mouseButton) {
         super.onMousePressed(mouseX, mouseY, mouseButton);
@@ -202,11 +584,11 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
                 return;
             }
         }
-        sorted.forEach(component -> {
-            if (component.intersects(mouseX, mouseY)) {
-                component.onMousePressed(mouseX - component.getX(), mouseY - component.getY(), mouseButton);
-            }
-        });
+        List<T> hits = findComponentsAt(mouseX, mouseY);
+        for (int i = 0; i < hits.size(); i++) {
+            T component = hits.get(i);
+            component.onMousePressed(mouseX - component.getX(), mouseY - component.getY(), mouseButton);
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().onMousePressed(mouseX, mouseY, mouseButton);
         }
@@ -219,14 +601,14 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
             getActiveMenu().onMouseReleased(mouseX - getActiveMenu().getX(), mouseY - getActiveMenu().getY(), mouseButton);
             return;
         }
-        sorted.forEach(component -> {
-            if (component.intersects(mouseX, mouseY)) {
-                component.onMouseReleased(mouseX - component.getAbsoluteX(), mouseY - component.getAbsoluteY(), mouseButton);
-                if (getSelector() != null) {
-                    getSelector().onSelect(component);
-                }
+        List<T> hits = findComponentsAt(mouseX, mouseY);
+        for (int i = 0; i < hits.size(); i++) {
+            T component = hits.get(i);
+            component.onMouseReleased(mouseX - component.getAbsoluteX(), mouseY - component.getAbsoluteY(), mouseButton);
+            if (getSelector() != null) {
+                getSelector().onSelect(component);
             }
-        });
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().onMouseReleased(mouseX, mouseY, mouseButton);
         }
@@ -235,7 +617,9 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
     @Override
     public void onKeyPressed(char typedChar, int keyCode) {
         super.onKeyPressed(typedChar, keyCode);
-        sorted.forEach(component -> component.onKeyPressed(typedChar, keyCode));
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).onKeyPressed(typedChar, keyCode);
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().onKeyPressed(typedChar, keyCode);
         }
@@ -251,11 +635,11 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
     @Override
     public void onHover(int mouseX, int mouseY) {
         super.onHover(mouseX, mouseY);
-        sorted.forEach(component -> {
-            if (component.intersects(mouseX, mouseY)) {
-                component.onHover(mouseX - component.getX(), mouseY - component.getY());
-            }
-        });
+        List<T> hits = findComponentsAt(mouseX, mouseY);
+        for (int i = 0; i < hits.size(); i++) {
+            T component = hits.get(i);
+            component.onHover(mouseX - component.getX(), mouseY - component.getY());
+        }
         if (hasActiveMenu() && getActiveMenu().intersectsInner(mouseX - getActiveMenu().getAbsoluteX(), mouseY - getActiveMenu().getAbsoluteY())) {
             getActiveMenu().onHover(mouseX - getActiveMenu().getAbsoluteX(), mouseY - getActiveMenu().getAbsoluteY());
         }
@@ -264,37 +648,100 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
     @Override
     public void onMouseInput(int mouseX, int mouseY, int mouseButton) {
         super.onMouseInput(mouseX, mouseY, mouseButton);
-        sorted.forEach(component -> component.onMouseInput(
-                mouseX - component.getX(), mouseY - component.getY(), mouseButton));
+        for (int i = 0; i < children.size(); i++) {
+            T component = children.get(i);
+            component.onMouseInput(mouseX - component.getX(), mouseY - component.getY(), mouseButton);
+        }
     }
 
     @Override
     public void onMouseDragged(final double mouseX, final double mouseY, final int mouseButton, final double xAmount, final double yAmount) {
         super.onMouseDragged(mouseX, mouseY, mouseButton, xAmount, yAmount);
-        sorted.forEach(component -> component.onMouseDragged(
-                mouseX - component.getX(), mouseY - component.getY(), mouseButton, xAmount, yAmount));
+        for (int i = 0; i < children.size(); i++) {
+            T component = children.get(i);
+            component.onMouseDragged(mouseX - component.getX(), mouseY - component.getY(), mouseButton, xAmount, yAmount);
+        }
     }
 
     @Override
     public void onMouseMoved(final int mouseX, final int mouseY) {
         super.onMouseMoved(mouseX, mouseY);
-        sorted.forEach(component -> component.onMouseMoved(
-                mouseX - component.getX(), mouseY - component.getY()));
+        for (int i = 0; i < children.size(); i++) {
+            T component = children.get(i);
+            component.onMouseMoved(mouseX - component.getX(), mouseY - component.getY());
+        }
     }
 
     @Override
     public void onMouseScrolled(final int mouseX, final int mouseY, final double amountScrolled) {
         super.onMouseScrolled(mouseX, mouseY, amountScrolled);
-        sorted.forEach(component -> component.onMouseScrolled(
-                mouseX - component.getX(), mouseY - component.getY(), amountScrolled));
+        for (int i = 0; i < children.size(); i++) {
+            T component = children.get(i);
+            component.onMouseScrolled(mouseX - component.getX(), mouseY - component.getY(), amountScrolled);
+        }
+    }
+
+    /**
+     * Enables the render-on-demand mode of the root layout. The composed frame is kept in the {@link FrameCache}
+     * and is drawn again only when {@link #needsRedraw(int, int)}, otherwise the cached frame is blitted.
+     * Visual changes not going through {@link #markDirty()}, geometry or the input should call {@link Redraw#request()}.
+     * @since 1.5.2
+     */
+    public void setRenderOnDemand(boolean renderOnDemand) {
+        this.renderOnDemand = renderOnDemand;
+        frameVersion = -1;
+    }
+
+    /**
+     * @since 1.5.2
+     */
+    public boolean isRenderOnDemand() {
+        return renderOnDemand;
+    }
+
+    /**
+     * @return whether the frame composed last is stale: a redraw was requested or scheduled,
+     * the mouse has moved or the content has updates pending
+     * @since 1.5.2
+     */
+    public boolean needsRedraw(int mouseX, int mouseY) {
+        return frameVersion != Redraw.getVersion() || Redraw.isDue(Animator.getInstance().now())
+                || mouseX != frameMouseX || mouseY != frameMouseY
+                || needUpdate() || pollsUpdates() && checkUpdates();
+    }
+
+    @Override
+    public void render(int mouseX, int mouseY, float partialTicks) {
+        if (isRoot()) {
+            Animator.getInstance().tick();
+        }
+        if (!renderOnDemand || !isRoot() || !visible()) {
+            super.render(mouseX, mouseY, partialTicks);
+            return;
+        }
+        FrameCache cache = FrameCache.getInstance();
+        if (needsRedraw(mouseX, mouseY) || !cache.isValid(this)) {
+            // taken before drawing, so the changes made by the updates are drawn on the next frame
+            frameVersion = Redraw.getVersion();
+            frameMouseX = mouseX;
+            frameMouseY = mouseY;
+            Redraw.resetDeadline();
+            Redraw.requestAt(Animator.getInstance().getNextFrameTime());
+            cache.begin(this);
+            super.render(mouseX, mouseY, partialTicks);
+            cache.end();
+        }
+        IScaledResolution view = GExt.getView();
+        cache.draw(0, 0, view.getScaledWidth(), view.getScaledHeight(), 0.0F);
     }
 
     @Override
     public void draw(int mouseX, int mouseY, float partialTicks) {
         int depth = 0;
 
-        // TODO Optimization: draw only visible(in-frame) components
-        for (IGraphicsComponent component : sorted) {
+        List<T> visible = getVisibleComponents(FrameStack.getInstance().current());
+        for (int i = 0; i < visible.size(); i++) {
+            T component = visible.get(i);
             if (component.getDepth() != depth) {
                 GlStateManager.translate(0.0F, 0.0F, component.getDepth() - depth);
                 depth = component.getDepth();
@@ -318,15 +765,103 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
         }
     }
 
+    /**
+     * Returns the components under the given point in the rendering order.
+     * Uses the spatial index of the content, so the cost doesn't depend on the amount of components.
+     * @param x the X coordinate in the content coordinate system
+     * @param y the Y coordinate in the content coordinate system
+     * @since 1.5.2
+     */
+    public List<T> getComponentsAt(int x, int y) {
+        List<T> result = new ArrayList<>();
+        findComponentsAt(x, y, result);
+        return result;
+    }
+
+    /**
+     * Collects the components under the given point in the rendering order
+     * @param x the X coordinate in the content coordinate system
+     * @param y the Y coordinate in the content coordinate system
+     * @param hits the destination list
+     * @since 1.5.2
+     */
+    protected void findComponentsAt(int x, int y, @NotNull List<T> hits) {
+        spatialIndex.query(x, y, hits);
+    }
+
+    /**
+     * Reuses the same list for each event, so the dispatch doesn't allocate
+     */
+    private List<T> findComponentsAt(int x, int y) {
+        pointed.clear();
+        findComponentsAt(x, y, pointed);
+        return pointed;
+    }
+
+    /**
+     * Returns the components which intersect the given clipping frame, in the rendering order.
+     * Components with clipping disabled can draw outside their frames, so they're always returned.
+     * The result is cached until the frame, the scroll or the geometry of the content is changed.
+     * @param clip the clipping frame in absolute coordinates, {@code null} for no clipping
+     * @since 1.5.2
+     */
+    protected List<T> getVisibleComponents(@Nullable Rectangle2D clip) {
+        if (clip == null) {
+            return children;
+        }
+        // transforming to the content coordinates the same way the clipping frame was computed
+        int x = (int) clip.getX() - getAbsoluteX();
+        int y = (int) clip.getY() - getAbsoluteY();
+        if (getParent() instanceof IScrollable) {
+            x += ((IScrollable) getParent()).getScrollHorizontal();
+            y += ((IScrollable) getParent()).getScrollVertical();
+        }
+        if (this instanceof IScrollable) {
+            x += ((IScrollable) this).getScrollHorizontal();
+            y += ((IScrollable) this).getScrollVertical();
+        }
+        int width = (int) clip.getWidth();
+        int height = (int) clip.getHeight();
+
+        if (visibleDirty || visibleArea.x != x || visibleArea.y != y
+                || visibleArea.width != width || visibleArea.height != height) {
+            visibleArea.setBounds(x, y, width, height);
+            visible.clear();
+            findVisibleComponents(visibleArea, visible);
+            visibleDirty = false;
+        }
+        return visible;
+    }
+
+    /**
+     * Collects the components to draw within the given area, in the rendering order
+     * @param area the visible area in the content coordinate system
+     * @param visible the destination list
+     * @since 1.5.2
+     */
+    protected void findVisibleComponents(@NotNull Rectangle area, @NotNull List<T> visible) {
+        for (int i = 0; i < children.size(); i++) {
+            T component = children.get(i);
+            if (!component.clippingEnabled() || area.intersects(component.getFrame())) {
+                visible.add(component);
+            }
+        }
+    }
+
     @Override
     public void update() {
         super.update();
-        sorted.forEach(component -> {
+        if (layout.isRequested()) {
+            layoutChildren();
+        }
+        // only the dirty paths are visited, clean subtrees are skipped
+        for (int i = children.nextDirty(0); i >= 0; i = children.nextDirty(i + 1)) {
+            children.clearDirty(i);
+            T component = children.get(i);
             if (component.needUpdate()) {
                 component.update();
             }
-        });
-        needUpdate = false;
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().update();
         }
@@ -335,7 +870,9 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
     @Override
     public void init() {
         super.init();
-        sorted.forEach(IGraphicsComponent::init);
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).init();
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().init();
         }
@@ -343,15 +880,53 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
 
     @Override
     public void onClosed() {
-        sorted.forEach(IGraphicsComponent::onClosed);
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).onClosed();
+        }
         if (getOwnTooltip() != null) {
             getOwnTooltip().onClosed();
         }
     }
 
+    /**
+     * Resizes the layout keeping its content. The children are realigned, or arranged by the layout manager,
+     * in a single pass on the next update, the nested layouts are laid out again only if their sizes change.
+     */
     @Override
     public void onResize(int w, int h) {
-        this.clear();
+        setWidth(w);
+        setHeight(h);
+    }
+
+    /**
+     * Children taken out of a layout by {@link #detach()} with their indices, to be attached back to the same layout
+     * @since 1.5.2
+     */
+    public static final class Detached<T extends IGraphicsComponent> {
+
+        private final BasicLayout<T> owner;
+        private final ChildList<T> children = new ChildList<>();
+        private final SpatialIndex<T> spatialIndex = new SpatialIndex<>(children::compare);
+        private final LayoutNode layout = new LayoutNode(children);
+        private List<T> polled = new ArrayList<>();
+        private Object state;
+        private int width;
+        private int height;
+
+        private Detached(BasicLayout<T> owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * @return the read-only view of the detached children in the rendering order
+         */
+        public @NotNull List<T> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        public int size() {
+            return children.size();
+        }
     }
 
     public static abstract class Builder<SELF extends BasicLayout.Builder<?, T>, T extends BasicLayout<? extends IGraphicsComponent>>
@@ -361,6 +936,8 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
 
         protected IGraphicsListener<? extends T> tooltip;
 
+        protected LayoutManager layoutManager;
+
         public SELF setSelector(ISelector selector) {
             this.selector = selector;
             return self();
@@ -370,5 +947,18 @@ public class BasicLayout<T extends IGraphicsComponent> extends GBasic implements
             this.tooltip = tooltip;
             return self();
         }
+
+        public SELF layoutManager(LayoutManager layoutManager) {
+            this.layoutManager = layoutManager;
+            return self();
+        }
+
+        @Override
+        protected void afterCreation(T instance) {
+            super.afterCreation(instance);
+            if (layoutManager != null) {
+                instance.setLayoutManager(layoutManager);
+            }
+        }
     }
 }
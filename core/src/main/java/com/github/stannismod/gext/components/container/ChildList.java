@@ -0,0 +1,533 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.container;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * <p>Children of a layout in the rendering order.</p>
+ *
+ * <p>The components are kept in a contiguous array grouped by depth, in the insertion order inside each
+ * depth bucket, so they are dispatched with plain indexed loops. IDs are resolved through a separate
+ * open-addressing map, positions in the order are resolved through another one keyed by
+ * {@link IGraphicsComponent#getHandle() handles}, so the hot paths don't hash strings.
+ * The depth of a component is taken when it's put, later changes of the depth aren't tracked.</p>
+ *
+ * <p>The list also keeps a bitset of the children which need update, so the layout visits only them.</p>
+ *
+ * <p>In the bulk mode components are appended without keeping the order, and the list is sorted
+ * once when the order is needed next time, so filling a list of n components costs O(n log n)
+ * instead of O(n^2) spent on shifting the arrays.</p>
+ *
+ * <p>Two lists can exchange their content in O(1), see {@link #swap(ChildList)}.</p>
+ *
+ * @since 1.5.2
+ */
+final class ChildList<T extends IGraphicsComponent> extends AbstractList<T> implements RandomAccess {
+
+    // rendering order: ascending depth, then insertion sequence
+    private Object[] items = new Object[8];
+    private int[] depths = new int[8];
+    private int[] sequences = new int[8];
+    // children which need update, indexed the same way as items
+    private long[] dirty = new long[1];
+    private int size;
+    private int nextSequence;
+    private boolean bulk;
+    // false if components were appended out of the rendering order in the bulk mode
+    private boolean sorted = true;
+
+    // ID index with linear probing, its capacity is always a power of two
+    private String[] keys = new String[16];
+    private Object[] values = new Object[16];
+    // handle index with the same capacity, 0 marks a free slot
+    private int[] handles = new int[16];
+    private int[] handleDepths = new int[16];
+    private int[] handleSequences = new int[16];
+    private int mapSize;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        ensureSorted();
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (T) items[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T getById(String id) {
+        int slot = find(id);
+        return slot < 0 ? null : (T) values[slot];
+    }
+
+    /**
+     * Starts the bulk mode, see the class description
+     */
+    void beginBulk() {
+        bulk = true;
+    }
+
+    /**
+     * Finishes the bulk mode restoring the rendering order
+     */
+    void endBulk() {
+        bulk = false;
+        ensureSorted();
+    }
+
+    /**
+     * Puts the component after all the components of the same depth
+     * @param dirty whether the component needs update
+     * @return the replaced component with the same ID or {@code null}
+     */
+    T put(String id, T component, boolean dirty) {
+        T previous = removeById(id);
+        if (nextSequence == Integer.MAX_VALUE) {
+            ensureSorted();
+            renumber();
+        }
+        int depth = component.getDepth();
+        int sequence = nextSequence++;
+
+        int index;
+        if (bulk) {
+            index = size;
+            if (size > 0 && depths[size - 1] > depth) {
+                sorted = false;
+            }
+        } else {
+            index = upperBound(depth);
+        }
+        if (size == items.length) {
+            int capacity = size * 2;
+            items = Arrays.copyOf(items, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            this.dirty = Arrays.copyOf(this.dirty, (capacity + 63) >>> 6);
+        }
+        System.arraycopy(items, index, items, index + 1, size - index);
+        System.arraycopy(depths, index, depths, index + 1, size - index);
+        System.arraycopy(sequences, index, sequences, index + 1, size - index);
+        insertBit(index);
+        if (dirty) {
+            this.dirty[index >>> 6] |= 1L << index;
+        }
+        items[index] = component;
+        depths[index] = depth;
+        sequences[index] = sequence;
+        size++;
+        modCount++;
+
+        if ((mapSize + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        insert(id, component);
+        insertHandle(component.getHandle(), depth, sequence);
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    T removeById(String id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return null;
+        }
+        T removed = (T) values[slot];
+        ensureSorted();
+        int handleSlot = findHandle(removed.getHandle());
+        int index = indexOf(handleDepths[handleSlot], handleSequences[handleSlot]);
+        System.arraycopy(items, index + 1, items, index, size - index - 1);
+        System.arraycopy(depths, index + 1, depths, index, size - index - 1);
+        System.arraycopy(sequences, index + 1, sequences, index, size - index - 1);
+        removeBit(index);
+        items[--size] = null;
+        modCount++;
+        delete(slot);
+        deleteHandle(handleSlot);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(handles, 0);
+        Arrays.fill(dirty, 0L);
+        size = mapSize = 0;
+        nextSequence = 0;
+        sorted = true;
+        modCount++;
+    }
+
+    /**
+     * Exchanges the content with the other list, the bulk mode of the lists isn't exchanged
+     */
+    void swap(ChildList<T> other) {
+        Object[] items = this.items;
+        this.items = other.items;
+        other.items = items;
+        int[] depths = this.depths;
+        this.depths = other.depths;
+        other.depths = depths;
+        int[] sequences = this.sequences;
+        this.sequences = other.sequences;
+        other.sequences = sequences;
+        long[] dirty = this.dirty;
+        this.dirty = other.dirty;
+        other.dirty = dirty;
+        int size = this.size;
+        this.size = other.size;
+        other.size = size;
+        int nextSequence = this.nextSequence;
+        this.nextSequence = other.nextSequence;
+        other.nextSequence = nextSequence;
+        boolean sorted = this.sorted;
+        this.sorted = other.sorted;
+        other.sorted = sorted;
+
+        String[] keys = this.keys;
+        this.keys = other.keys;
+        other.keys = keys;
+        Object[] values = this.values;
+        this.values = other.values;
+        other.values = values;
+        int[] handles = this.handles;
+        this.handles = other.handles;
+        other.handles = handles;
+        int[] handleDepths = this.handleDepths;
+        this.handleDepths = other.handleDepths;
+        other.handleDepths = handleDepths;
+        int[] handleSequences = this.handleSequences;
+        this.handleSequences = other.handleSequences;
+        other.handleSequences = handleSequences;
+        int mapSize = this.mapSize;
+        this.mapSize = other.mapSize;
+        other.mapSize = mapSize;
+        modCount++;
+        other.modCount++;
+    }
+
+    boolean isChild(IGraphicsComponent component) {
+        return findHandle(component.getHandle()) >= 0;
+    }
+
+    /**
+     * Marks the child as needing update
+     * @return false if the component isn't a child of this list
+     */
+    boolean markDirty(IGraphicsComponent component) {
+        int slot = findHandle(component.getHandle());
+        if (slot < 0) {
+            return false;
+        }
+        ensureSorted();
+        int index = indexOf(handleDepths[slot], handleSequences[slot]);
+        dirty[index >>> 6] |= 1L << index;
+        return true;
+    }
+
+    void clearDirty(int index) {
+        dirty[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @return index of the first child needing update starting from the given index, or -1 if there are none
+     */
+    int nextDirty(int from) {
+        ensureSorted();
+        if (from >= size) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits = dirty[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == dirty.length) {
+                return -1;
+            }
+            bits = dirty[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Compares the components by their position in the rendering order
+     */
+    int compare(T first, T second) {
+        int firstSlot = findHandle(first.getHandle());
+        int secondSlot = findHandle(second.getHandle());
+        if (firstSlot < 0 || secondSlot < 0) {
+            return Integer.compare(first.getDepth(), second.getDepth());
+        }
+        if (handleDepths[firstSlot] != handleDepths[secondSlot]) {
+            return Integer.compare(handleDepths[firstSlot], handleDepths[secondSlot]);
+        }
+        return Integer.compare(handleSequences[firstSlot], handleSequences[secondSlot]);
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, T> toMap() {
+        Map<String, T> map = new HashMap<>(size * 2);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                map.put(keys[slot], (T) values[slot]);
+            }
+        }
+        return map;
+    }
+
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> depths[first] != depths[second]
+                ? Integer.compare(depths[first], depths[second])
+                : Integer.compare(sequences[first], sequences[second]));
+        Object[] sortedItems = new Object[items.length];
+        int[] sortedDepths = new int[depths.length];
+        int[] sortedSequences = new int[sequences.length];
+        long[] sortedDirty = new long[dirty.length];
+        for (int i = 0; i < size; i++) {
+            int from = order[i];
+            sortedItems[i] = items[from];
+            sortedDepths[i] = depths[from];
+            sortedSequences[i] = sequences[from];
+            if ((dirty[from >>> 6] & 1L << from) != 0) {
+                sortedDirty[i >>> 6] |= 1L << i;
+            }
+        }
+        items = sortedItems;
+        depths = sortedDepths;
+        sequences = sortedSequences;
+        dirty = sortedDirty;
+        sorted = true;
+    }
+
+    /**
+     * Shifts the dirty bits starting from the index up, clearing the bit of the index
+     */
+    private void insertBit(int index) {
+        int word = index >>> 6;
+        for (int i = size >>> 6; i > word; i--) {
+            dirty[i] = dirty[i] << 1 | dirty[i - 1] >>> 63;
+        }
+        long high = -1L << index;
+        dirty[word] = dirty[word] & ~high | (dirty[word] & high) << 1;
+    }
+
+    /**
+     * Shifts the dirty bits after the index down, dropping the bit of the index
+     */
+    private void removeBit(int index) {
+        int word = index >>> 6;
+        long high = -1L << index;
+        dirty[word] = dirty[word] & ~high | dirty[word] >>> 1 & high;
+        int last = (size - 1) >>> 6;
+        for (int i = word; i < last; i++) {
+            dirty[i] |= dirty[i + 1] << 63;
+            dirty[i + 1] >>>= 1;
+        }
+    }
+
+    /**
+     * @return the first index with greater depth
+     */
+    private int upperBound(int depth) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (depths[middle] <= depth) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(int depth, int sequence) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = depths[middle] != depth
+                    ? Integer.compare(depths[middle], depth)
+                    : Integer.compare(sequences[middle], sequence);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        throw new IllegalStateException("Component index is inconsistent with ID index");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renumber() {
+        for (int i = 0; i < size; i++) {
+            sequences[i] = i;
+            handleSequences[findHandle(((T) items[i]).getHandle())] = i;
+        }
+        nextSequence = size;
+    }
+
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int find(String key) {
+        if (key == null) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(String key, Object value) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        mapSize++;
+    }
+
+    /**
+     * Removes the entry and shifts back the following entries of its probe chain
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == null) {
+                break;
+            }
+            if (!staysInChain(slot, next, hash(keys[next]) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        mapSize--;
+    }
+
+    private static int hash(int handle) {
+        int hash = handle * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private int findHandle(int handle) {
+        int mask = handles.length - 1;
+        for (int slot = hash(handle) & mask; handles[slot] != 0; slot = (slot + 1) & mask) {
+            if (handles[slot] == handle) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertHandle(int handle, int depth, int sequence) {
+        int mask = handles.length - 1;
+        int slot = hash(handle) & mask;
+        while (handles[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        handles[slot] = handle;
+        handleDepths[slot] = depth;
+        handleSequences[slot] = sequence;
+    }
+
+    private void deleteHandle(int slot) {
+        int mask = handles.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (handles[next] == 0) {
+                break;
+            }
+            if (!staysInChain(slot, next, hash(handles[next]) & mask)) {
+                handles[slot] = handles[next];
+                handleDepths[slot] = handleDepths[next];
+                handleSequences[slot] = handleSequences[next];
+                slot = next;
+            }
+        }
+        handles[slot] = 0;
+    }
+
+    /**
+     * @return whether the entry at {@code next} with the given home slot can stay when {@code slot} is freed,
+     * e.g. whether its home is cyclically within (slot, next]
+     */
+    private static boolean staysInChain(int slot, int next, int home) {
+        return slot <= next ? slot < home && home <= next : slot < home || home <= next;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHandles = handles;
+        int[] oldDepths = handleDepths;
+        int[] oldSequences = handleSequences;
+        keys = new String[capacity];
+        values = new Object[capacity];
+        handles = new int[capacity];
+        handleDepths = new int[capacity];
+        handleSequences = new int[capacity];
+        mapSize = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != null) {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+            if (oldHandles[slot] != 0) {
+                insertHandle(oldHandles[slot], oldDepths[slot], oldSequences[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.container;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * <p>Bounding box of the layout content.</p>
+ *
+ * <p>Each frame edge is stored in a sorted multiset, so adding, removing, moving or resizing
+ * a component costs O(log n), and the extreme edges are available without visiting the content.
+ * The origin of the layout is always included into the bounds.</p>
+ *
+ * @since 1.5.2
+ */
+final class ContentBounds {
+
+    private final NavigableMap<Integer, Integer> left = new TreeMap<>();
+    private final NavigableMap<Integer, Integer> top = new TreeMap<>();
+    private final NavigableMap<Integer, Integer> right = new TreeMap<>();
+    private final NavigableMap<Integer, Integer> bottom = new TreeMap<>();
+    /** The edges each component was registered with */
+    private final Map<IGraphicsComponent, int[]> edges = new IdentityHashMap<>();
+
+    void add(IGraphicsComponent component) {
+        int[] registered = edges.get(component);
+        if (registered != null) {
+            if (registered[0] == component.getX() && registered[1] == component.getY()
+                    && registered[2] == component.getX() + component.getWidth()
+                    && registered[3] == component.getY() + component.getHeight()) {
+                return;
+            }
+            remove(component);
+        }
+        int[] frame = {
+                component.getX(), component.getY(),
+                component.getX() + component.getWidth(), component.getY() + component.getHeight()
+        };
+        edges.put(component, frame);
+        increment(left, frame[0]);
+        increment(top, frame[1]);
+        increment(right, frame[2]);
+        increment(bottom, frame[3]);
+    }
+
+    /**
+     * Refreshes the edges of the component if it's registered
+     */
+    void update(IGraphicsComponent component) {
+        if (edges.containsKey(component)) {
+            add(component);
+        }
+    }
+
+    void remove(IGraphicsComponent component) {
+        int[] frame = edges.remove(component);
+        if (frame != null) {
+            decrement(left, frame[0]);
+            decrement(top, frame[1]);
+            decrement(right, frame[2]);
+            decrement(bottom, frame[3]);
+        }
+    }
+
+    void clear() {
+        left.clear();
+        top.clear();
+        right.clear();
+        bottom.clear();
+        edges.clear();
+    }
+
+    int getMinX() {
+        return left.isEmpty() ? 0 : Math.min(0, left.firstKey());
+    }
+
+    int getMinY() {
+        return top.isEmpty() ? 0 : Math.min(0, top.firstKey());
+    }
+
+    int getMaxX() {
+        return right.isEmpty() ? 0 : Math.max(0, right.lastKey());
+    }
+
+    int getMaxY() {
+        return bottom.isEmpty() ? 0 : Math.max(0, bottom.lastKey());
+    }
+
+    private static void increment(NavigableMap<Integer, Integer> edges, int edge) {
+        edges.merge(edge, 1, Integer::sum);
+    }
+
+    private static void decrement(NavigableMap<Integer, Integer> edges, int edge) {
+        edges.computeIfPresent(edge, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
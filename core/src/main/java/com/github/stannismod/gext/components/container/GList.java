@@ -23,12 +23,21 @@ import com.github.stannismod.gext.utils.StyleMap;
 import com.github.stannismod.gext.utils.TextureMapping;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
+import java.awt.*;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GList<T extends IGraphicsComponent> extends GPanel<T> {
 
-    private final List<String> order = new ArrayList<>();
+    private static final Comparator<IGraphicsComponent> DEPTH_ORDER = Comparator.comparingInt(IGraphicsComponent::getDepth);
+    // index of the insertion to the end of the list
+    private static final int APPEND = -1;
+
+    // rows in the list order, their positions are applied to the frames lazily
+    private final RowIndex<T> rows = new RowIndex<>();
+    private final Map<String, RowIndex.Node<T>> nodes = new HashMap<>();
     protected int selected;
 
     protected TextureMapping background;
@@ -53,10 +62,31 @@ public class GList<T extends IGraphicsComponent> extends GPanel<T> {
 
     @Override
     public String addComponent(int depth, String id, @NotNull T component) {
+        return insertComponent(APPEND, depth, id, component);
+    }
+
+    /**
+     * Inserts the component to the list at the given index, shifting the following ones down
+     * @since 1.5.2
+     */
+    public String insertComponent(int index, String id, @NotNull T component) {
+        return insertComponent(index, 0, id, component);
+    }
+
+    private String insertComponent(int index, int depth, String id, @NotNull T component) {
+        if (index != APPEND && (index < 0 || index > rows.size())) {
+            throw new IndexOutOfBoundsException("Trying to insert component under index " + index + ", size: " + rows.size());
+        }
+        if (nodes.containsKey(id)) {
+            // the replaced component is removed from the list, so the list may become shorter
+            removeComponent(id);
+        }
+        index = index == APPEND ? rows.size() : Math.min(index, rows.size());
+        RowIndex.Node<T> node = rows.insert(index, component, component.getHeight() + interval);
+        nodes.put(id, node);
         component.setX(xOffset);
-        component.setY(yOffset + this.getContentHeight() + interval);
+        component.setY(yOffset + (int) rows.offsetOf(index));
         super.addComponent(depth, id, component);
-        order.add(id);
         return id;
     }
 
@@ -72,44 +102,152 @@ public class GList<T extends IGraphicsComponent> extends GPanel<T> {
     }
 
     public T getByIndex(int index) {
-        return checkBounds(index) ? getComponent(order.get(index)) : null;
+        return checkBounds(index) ? locate(index) : null;
     }
 
-    private boolean checkBounds(int index) {
-        return index >= 0 && index < size();
+    /**
+     * @return index of the component with the given ID in the list, or -1 if it isn't in the list
+     * @since 1.5.2
+     */
+    public int indexOf(String id) {
+        RowIndex.Node<T> node = nodes.get(id);
+        return node != null ? rows.indexOf(node) : -1;
     }
 
-    @Override
-    public T removeComponent(String id) {
-        order.remove(id);
-        return super.removeComponent(id);
+    /**
+     * @return the Y coordinate of the component under the given index
+     * @since 1.5.2
+     */
+    public int getOffset(int index) {
+        return yOffset + (int) rows.offsetOf(index);
     }
 
-    private String removeFromOrder(int index) {
-        if (!checkBounds(index)) {
-            throw new IndexOutOfBoundsException("Trying to remove component under index " + index + ", size: " + order.size());
+    /**
+     * @return index of the component at the given Y coordinate, clamped to the list bounds,
+     * or -1 if the list is empty
+     * @since 1.5.2
+     */
+    public int getIndexAt(int y) {
+        return rows.indexAt((long) y - yOffset);
+    }
+
+    /**
+     * Scrolls the list to make the component under the given index the topmost
+     * @since 1.5.2
+     */
+    public void scrollToIndex(int index) {
+        setScrollVertical(getOffset(index) - yOffset);
+    }
+
+    private boolean checkBounds(int index) {
+        return index >= 0 && index < rows.size();
+    }
+
+    /**
+     * Gets the component under the given index and moves it to its actual position
+     */
+    private T locate(int index) {
+        T component = rows.get(index).value;
+        int y = getOffset(index);
+        if (component.getY() != y) {
+            component.setY(y);
         }
-        int shift = -(getByIndex(index).getHeight() + interval);
-        for (int i = index + 1; i < order.size(); i++) {
-            getByIndex(i).shiftY(shift);
+        return component;
+    }
+
+    @Override
+    public T removeComponent(String id) {
+        RowIndex.Node<T> node = nodes.remove(id);
+        if (node != null) {
+            rows.remove(node);
         }
-        return order.remove(index);
+        return super.removeComponent(id);
     }
 
     public T removeByIndex(int index) {
         if (!checkBounds(index)) {
-            throw new IndexOutOfBoundsException("Trying to remove component under index " + index + ", size: " + order.size());
+            throw new IndexOutOfBoundsException("Trying to remove component under index " + index + ", size: " + rows.size());
         }
-        String id = removeFromOrder(index);
+        String id = rows.get(index).value.getID();
         T removed = removeComponent(id);
         if (index == 0 && !isEmpty()) {
-            this.getSelector().select(order.get(0));
+            this.getSelector().select(rows.get(0).value.getID());
         } else if (id.equals(getSelector().getSelectedId())) {
             this.selected--;
         }
         return removed;
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        rows.clear();
+        nodes.clear();
+    }
+
+    /**
+     * @return false, the rows of the list are indexed by their order
+     */
+    @Override
+    public boolean isDetachable() {
+        return false;
+    }
+
+    @Override
+    public int getContentHeight() {
+        if (rows.size() == 0 || !isRows()) {
+            return super.getContentHeight();
+        }
+        return (int) rows.totalHeight() - interval;
+    }
+
+    @Override
+    public void onChildGeometryChanged(@NotNull IGraphicsComponent child) {
+        super.onChildGeometryChanged(child);
+        RowIndex.Node<T> node = nodes.get(child.getID());
+        if (node != null && node.value == child && node.height != child.getHeight() + interval) {
+            rows.setHeight(node, child.getHeight() + interval);
+        }
+    }
+
+    @Override
+    protected void findComponentsAt(int x, int y, @NotNull List<T> hits) {
+        if (!isRows()) {
+            super.findComponentsAt(x, y, hits);
+            return;
+        }
+        int index = getIndexAt(y);
+        if (index >= 0) {
+            T component = locate(index);
+            if (component.intersects(x, y)) {
+                hits.add(component);
+            }
+        }
+    }
+
+    @Override
+    protected void findVisibleComponents(@NotNull Rectangle area, @NotNull List<T> visible) {
+        if (!isRows()) {
+            super.findVisibleComponents(area, visible);
+            return;
+        }
+        if (rows.size() == 0) {
+            return;
+        }
+        int last = getIndexAt(area.y + area.height - 1);
+        for (int i = getIndexAt(area.y); i <= last; i++) {
+            visible.add(locate(i));
+        }
+        visible.sort(DEPTH_ORDER);
+    }
+
+    /**
+     * @return whether all the content was added as list rows, e.g. not with {@link #putComponent(String, IGraphicsComponent)}
+     */
+    private boolean isRows() {
+        return rows.size() == size();
+    }
+
     @Override
     public void draw(int mouseXIn, int mouseYIn, float partialTicks) {
         if (background != null) {
@@ -17,24 +17,22 @@
 package com.github.stannismod.gext.components.container;
 
 import com.github.stannismod.gext.api.*;
+import com.github.stannismod.gext.api.event.UIEvent;
 import com.github.stannismod.gext.engine.GlStateManager;
 import com.github.stannismod.gext.utils.Align;
 import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.utils.Redraw;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public class GPanel<T extends IGraphicsComponent> extends BasicLayout<T> implements IScrollable {
 
     private IGraphicsComponentScroll scrollHandler;
     private int scrollVertical;
     private int scrollHorizontal;
-    private int contentMinX;
-    private int contentMaxX;
-    private int contentMinY;
-    private int contentMaxY;
+    private ContentBounds bounds = new ContentBounds();
 
     /** Some offsets */
     protected int xOffset;
@@ -60,49 +58,70 @@ public class GPanel<T extends IGraphicsComponent> extends BasicLayout<T> impleme
         this.wrapContent = wrapContent;
     }
 
+    @Override
+    public T removeComponent(final String id) {
+        T removed = super.removeComponent(id);
+        if (removed != null) {
+            bounds.remove(removed);
+            if (wrapContent) {
+                requestLayout();
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void putComponent(final String id, @NotNull final T component) {
+        T replaced = getComponent(id);
+        if (replaced != null) {
+            bounds.remove(replaced);
+        }
+        super.putComponent(id, component);
+        bounds.add(component);
+        if (wrapContent) {
+            requestLayout();
+        }
+    }
 
     @Override
-    public String addComponent(int depth, String id, @NotNull T component) {
-        super.addComponent(depth, id, component);
-        contentMinX = Math.min(contentMinX, component.getX());
-        contentMaxX = Math.max(contentMaxX, component.getX() + component.getWidth());
-        contentMinY = Math.min(contentMinY, component.getY());
-        contentMaxY = Math.max(contentMaxY, component.getY() + component.getHeight());
+    protected void layoutChildren() {
+        super.layoutChildren();
+        // resizing once per update instead of once per added component
         if (wrapContent) {
             this.setWidth(this.getContentWidth() + xOffset * 2);
             this.setHeight(this.getContentHeight() + yOffset * 2);
         }
-        return id;
+        // the panel may have grown over its scrolled content
+        int scrollVertical = Math.max(0, getContentHeight() - getHeight());
+        if (getScrollVertical() > scrollVertical) {
+            setScrollVertical(scrollVertical);
+        }
+        int scrollHorizontal = Math.max(0, getContentWidth() - getWidth());
+        if (getScrollHorizontal() > scrollHorizontal) {
+            setScrollHorizontal(scrollHorizontal);
+        }
     }
 
     @Override
-    public T removeComponent(final String id) {
-        T removed = super.removeComponent(id);
-
-        Collection<T> content = this.getContent().getContent().values();
-        Optional<T> any = content.stream().findAny();
-        if (any.isPresent()) {
-            contentMinX = any.get().getX();
-            contentMaxX = any.get().getX() + any.get().getWidth();
-            contentMinY = any.get().getY();
-            contentMaxY = any.get().getY() + any.get().getHeight();
-            for (T component : content) {
-                contentMinX = Math.min(contentMinX, component.getX());
-                contentMaxX = Math.max(contentMaxX, component.getX() + component.getWidth());
-                contentMinY = Math.min(contentMinY, component.getY());
-                contentMaxY = Math.max(contentMaxY, component.getY() + component.getHeight());
-            }
-        } else {
-            contentMinX = contentMaxX = 0;
-            contentMinY = contentMaxY = 0;
-        }
+    public void clear() {
+        super.clear();
+        bounds.clear();
+    }
 
+    @Override
+    protected @Nullable Object swapChildState(@Nullable Object state) {
+        ContentBounds current = bounds;
+        bounds = state != null ? (ContentBounds) state : new ContentBounds();
         if (wrapContent) {
-            this.setWidth(this.getContentWidth() + xOffset * 2);
-            this.setHeight(this.getContentHeight() + yOffset * 2);
+            requestLayout();
         }
+        return current;
+    }
 
-        return removed;
+    @Override
+    public void onChildGeometryChanged(@NotNull IGraphicsComponent child) {
+        super.onChildGeometryChanged(child);
+        bounds.update(child);
     }
 
     @Override
@@ -130,21 +149,50 @@ public class GPanel<T extends IGraphicsComponent> extends BasicLayout<T> impleme
     @Override
     public void setScrollVertical(int value) {
         scrollVertical = value;
+        Redraw.request();
     }
 
     @Override
     public void setScrollHorizontal(int value) {
         scrollHorizontal = value;
+        Redraw.request();
     }
 
     @Override
     public int getContentWidth() {
-        return contentMaxX - contentMinX;
+        return bounds.getMaxX() - bounds.getMinX();
     }
 
     @Override
     public int getContentHeight() {
-        return contentMaxY - contentMinY;
+        return bounds.getMaxY() - bounds.getMinY();
+    }
+
+    @Override
+    public void handleEvent(@NotNull UIEvent event) {
+        super.handleEvent(event);
+        if (!scrollEnabled() || event.getPhase() == UIEvent.Phase.CAPTURE) {
+            return;
+        }
+        switch (event.getType()) {
+            case MOUSE_PRESSED:
+                scrollHandler.onMousePressed(event.getX(), event.getY(), event.getButton());
+                break;
+            case MOUSE_RELEASED:
+                scrollHandler.onMouseReleased(event.getX(), event.getY(), event.getButton());
+                break;
+            case MOUSE_DRAGGED:
+                scrollHandler.onMouseDragged(event.getX(), event.getY(), event.getButton(), event.getXAmount(), event.getYAmount());
+                break;
+            case MOUSE_MOVED:
+                scrollHandler.onMouseMoved(event.getX(), event.getY());
+                break;
+            case MOUSE_SCROLLED:
+                scrollHandler.onMouseScrolled(event.getX(), event.getY(), event.getAmount());
+                break;
+            default:
+                break;
+        }
     }
 
     @Override
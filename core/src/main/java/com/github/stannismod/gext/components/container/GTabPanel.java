@@ -24,17 +24,28 @@ import com.github.stannismod.gext.utils.LayoutContent;
 import com.github.stannismod.gext.utils.TextureMapping;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * <p>List of the tabs showing the content mapped to the selected tab in the target layout.</p>
+ *
+ * <p>The components of the selected tab are the direct children of the target, so they can be
+ * found in the target by their IDs. The content of each tab is materialized once, on its first selection,
+ * into a page: the components initialized and sorted in the rendering order. Switching the tabs
+ * {@link BasicLayout#detach() detaches} the shown page from the target with its indices and attaches
+ * the selected one back, so the components aren't re-parented, realigned or re-indexed. Other targets
+ * get the pages in one transaction, so they don't re-sort the content.
+ * The hidden pages stay warm, the least recently selected ones are dropped if the cache limit is set.</p>
+ */
 public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponent> extends GList<K> implements ISelector {
 
-    private static final LayoutContent<? extends IGraphicsComponent> EMPTY_CONTENT = LayoutContent.create();
-
     private String selected;
     private IGraphicsLayout<V> target;
     private final Map<String, LayoutContent<V>> contentMap = new HashMap<>();
+    // pages in the order of the access, the eldest are trimmed first
+    private final Map<String, Page<V>> pages = new LinkedHashMap<>(16, 0.75F, true);
+    private Page<V> shown;
+    private int cacheLimit;
 
     private boolean deselectionEnabled;
 
@@ -46,12 +57,31 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
                      final int yOffset, final boolean wrapContent, final TextureMapping background,
                      final boolean drawBackground, final int interval, final IGraphicsLayout<V> target,
                      final Map<String, LayoutContent<V>> contentMap, final boolean deselectionEnabled) {
+        this(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners,
+                tooltip, selector, scrollHandler, xOffset, yOffset, wrapContent, background, drawBackground, interval,
+                target, contentMap, deselectionEnabled, 0);
+    }
+
+    /**
+     * @param cacheLimit the amount of the materialized tabs kept, not limited if not positive
+     * @since 1.5.2
+     */
+    public GTabPanel(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
+                     final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
+                     final Bound bound, final Align alignment, final int xPadding, final int yPadding,
+                     final List<IListener> listeners, final IGraphicsListener<? extends BasicLayout<K>> tooltip,
+                     final ISelector selector, final IGraphicsComponentScroll scrollHandler, final int xOffset,
+                     final int yOffset, final boolean wrapContent, final TextureMapping background,
+                     final boolean drawBackground, final int interval, final IGraphicsLayout<V> target,
+                     final Map<String, LayoutContent<V>> contentMap, final boolean deselectionEnabled,
+                     final int cacheLimit) {
         super(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners,
                 tooltip, selector, scrollHandler, xOffset, yOffset, wrapContent, background, drawBackground, interval);
         this.setSelector(this);
         this.setTarget(target);
         this.contentMap.putAll(contentMap);
         this.deselectionEnabled = deselectionEnabled;
+        this.cacheLimit = cacheLimit;
     }
 
 
@@ -63,7 +93,7 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
     @Override
     public void select(String id) {
         this.selected = id;
-        LayoutContent<? extends IGraphicsComponent> content = contentMap.get(id);
+        LayoutContent<V> content = contentMap.get(id);
         if (content == null && id != null) {
             GExt.warn(this, "Selected unmapped component, setting empty content");
         }
@@ -72,7 +102,118 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
                     "but in most cases indicates a broken logic.");
             return;
         }
-        target.setContent(content == null ? EMPTY_CONTENT : content);
+        Page<V> page = content == null ? null : pages.get(id);
+        if (content != null && page == null) {
+            page = new Page<>(content.getContent().size());
+            for (Map.Entry<String, V> entry : content.getContent().entrySet()) {
+                entry.getValue().setID(entry.getKey());
+                page.components.add(entry.getValue());
+            }
+            page.components.sort(Comparator.comparingInt(IGraphicsComponent::getDepth));
+            pages.put(id, page);
+            show(page);
+            // the hidden tabs are initialized lazily
+            page.components.forEach(IGraphicsComponent::init);
+        } else {
+            show(page);
+        }
+        trimCache();
+    }
+
+    /**
+     * Swaps the page shown in the target. Anything else put into the detachable target stays with the shown page,
+     * other targets drop it, as the target shows the content of the selected tab only.
+     */
+    @SuppressWarnings("unchecked")
+    private void show(@Nullable Page<V> page) {
+        if (page == shown && page != null && isShown(page.components)) {
+            return;
+        }
+        Page<V> previous = shown;
+        shown = page;
+        if (page != previous && target instanceof BasicLayout && ((BasicLayout<V>) target).isDetachable()) {
+            BasicLayout<V> layout = (BasicLayout<V>) target;
+            if (previous != null) {
+                previous.detached = layout.detach();
+            }
+            if (page != null && page.detached != null) {
+                layout.attach(page.detached);
+                page.detached = null;
+                return;
+            }
+        }
+        target.batch(() -> {
+            target.clear();
+            if (page != null) {
+                // the page is sorted, so the target just appends it
+                for (int i = 0; i < page.components.size(); i++) {
+                    V component = page.components.get(i);
+                    target.putComponent(component.getID(), component);
+                }
+            }
+        });
+    }
+
+    private boolean isShown(List<V> page) {
+        if (target.size() != page.size()) {
+            return false;
+        }
+        for (int i = 0; i < page.size(); i++) {
+            V component = page.get(i);
+            if (target.getComponent(component.getID()) != component) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the amount of the tabs kept materialized, not limited if not positive
+     * @since 1.5.2
+     */
+    public int getCacheLimit() {
+        return cacheLimit;
+    }
+
+    /**
+     * @since 1.5.2
+     */
+    public void setCacheLimit(int cacheLimit) {
+        this.cacheLimit = cacheLimit;
+        trimCache();
+    }
+
+    /**
+     * @return the amount of the tabs materialized now
+     * @since 1.5.2
+     */
+    public int getCachedCount() {
+        return pages.size();
+    }
+
+    /**
+     * Drops the least recently selected pages over the cache limit.
+     * The dropped tabs are materialized again when selected.
+     * @since 1.5.2
+     */
+    public void trimCache() {
+        if (cacheLimit <= 0) {
+            return;
+        }
+        Iterator<Page<V>> iterator = pages.values().iterator();
+        while (pages.size() > cacheLimit && iterator.hasNext()) {
+            if (iterator.next() != shown) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the pages except the shown one
+     * @since 1.5.2
+     */
+    public void clearCache() {
+        pages.values().removeIf(page -> page != shown);
     }
 
     @Override
@@ -99,7 +240,7 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
 
     @Override
     public void onDeselect(IGraphicsComponent component) {
-        target.setContent(EMPTY_CONTENT);
+        show(null);
         if (component instanceof ISelectable) {
             ((ISelectable) component).onDeselect();
         }
@@ -112,6 +253,9 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
     }
 
     public void setTarget(IGraphicsLayout<V> target) {
+        // the pages were initialized within the previous target
+        pages.clear();
+        shown = null;
         this.target = target;
         this.unselect();
     }
@@ -124,12 +268,24 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
         this.deselectionEnabled = deselectionEnabled;
     }
 
+    private static final class Page<V extends IGraphicsComponent> {
+
+        private final List<V> components;
+        // the content taken out of the target while the page is hidden
+        private BasicLayout.Detached<V> detached;
+
+        private Page(int size) {
+            this.components = new ArrayList<>(size);
+        }
+    }
+
     public static abstract class Builder<SELF extends Builder<?, T, K, V>, T extends GTabPanel<K, V>,
             K extends IGraphicsComponent, V extends IGraphicsComponent> extends GList.Builder<SELF, GTabPanel<K, V>> {
 
         protected IGraphicsLayout<V> target;
         protected final Map<String, LayoutContent<V>> contentMap = new HashMap<>();
         protected boolean deselectionEnabled;
+        protected int cacheLimit;
 
         public SELF target(IGraphicsLayout<V> target) {
             this.target = target;
@@ -161,5 +317,14 @@ public class GTabPanel<K extends IGraphicsComponent, V extends IGraphicsComponen
             this.deselectionEnabled = true;
             return self();
         }
+
+        /**
+         * @param cacheLimit the amount of the materialized tabs kept, not limited if not positive
+         * @since 1.5.2
+         */
+        public SELF cacheLimit(int cacheLimit) {
+            this.cacheLimit = cacheLimit;
+            return self();
+        }
     }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.container;
+
+import com.github.stannismod.gext.api.*;
+import com.github.stannismod.gext.utils.Align;
+import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.utils.GInitializationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Vertical list which displays the items of {@link IListAdapter}. Only the rows in the viewport
+ * (plus a few overscan rows on each side) exist as components, so memory and frame time don't depend
+ * on the amount of items.</p>
+ *
+ * <p>The rows leaving the viewport are returned to the pool of their view type and bound to the
+ * rows entering it. All the rows have the same height.</p>
+ *
+ * @since 1.5.2
+ */
+public class GVirtualList<T extends IGraphicsComponent> extends GPanel<T> {
+
+    private static final String ROW_PREFIX = "row:";
+
+    private IListAdapter<T> adapter;
+    protected int itemHeight;
+    protected int interval;
+    protected int overscan;
+
+    private final Map<Integer, T> active = new HashMap<>();
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+    private final Map<T, Integer> viewTypes = new IdentityHashMap<>();
+    private final Map<Integer, ArrayDeque<T>> pools = new HashMap<>();
+
+    /** Materialized range, the end is exclusive */
+    private int first;
+    private int last;
+    private boolean dataChanged = true;
+
+    public GVirtualList(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
+                        final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
+                        final Bound bound, final Align alignment, final int xPadding, final int yPadding,
+                        final List<IListener> listeners, final IGraphicsListener<? extends BasicLayout<T>> tooltip,
+                        final ISelector selector, final IGraphicsComponentScroll scrollHandler, final int xOffset,
+                        final int yOffset, final IListAdapter<T> adapter, final int itemHeight, final int interval,
+                        final int overscan) {
+        super(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners,
+                tooltip, selector, scrollHandler, xOffset, yOffset, false);
+        this.adapter = adapter;
+        this.itemHeight = itemHeight;
+        this.interval = interval;
+        this.overscan = overscan;
+        layoutRows();
+    }
+
+    public IListAdapter<T> getAdapter() {
+        return adapter;
+    }
+
+    public void setAdapter(@NotNull IListAdapter<T> adapter) {
+        recycleAll();
+        pools.clear();
+        viewTypes.clear();
+        this.adapter = adapter;
+        notifyDataChanged();
+    }
+
+    public int getItemHeight() {
+        return itemHeight;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getOverscan() {
+        return overscan;
+    }
+
+    /**
+     * Should be called after any change of the adapter data. Rebinds the displayed rows
+     */
+    public void notifyDataChanged() {
+        dataChanged = true;
+        layoutRows();
+    }
+
+    /**
+     * @return the row component displaying the given item, or {@code null} if it isn't materialized
+     */
+    public T getView(int position) {
+        return active.get(position);
+    }
+
+    /**
+     * @return the item position displayed by the given row, or -1 if the row isn't bound
+     */
+    public int getPosition(IGraphicsComponent view) {
+        Integer position = positions.get(view);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * @return amount of the materialized rows
+     */
+    public int getViewCount() {
+        return active.size();
+    }
+
+    public int getFirstVisiblePosition() {
+        return first;
+    }
+
+    public int getLastVisiblePosition() {
+        return last;
+    }
+
+    /**
+     * Scrolls the list to make the given item the topmost
+     */
+    public void scrollToPosition(int position) {
+        setScrollVertical(position * (itemHeight + interval));
+    }
+
+    @Override
+    public void setScrollVertical(int value) {
+        super.setScrollVertical(value);
+        layoutRows();
+    }
+
+    @Override
+    public void setHeight(int height) {
+        super.setHeight(height);
+        if (adapter != null) {
+            layoutRows();
+        }
+    }
+
+    /**
+     * @return false, the children are the views bound by the adapter
+     */
+    @Override
+    public boolean isDetachable() {
+        return false;
+    }
+
+    @Override
+    public int getContentWidth() {
+        return getWidth() - xOffset * 2;
+    }
+
+    @Override
+    public int getContentHeight() {
+        int count = adapter != null ? adapter.getCount() : 0;
+        return count == 0 ? 0 : count * (itemHeight + interval) - interval;
+    }
+
+    @Override
+    public void draw(int mouseX, int mouseY, float partialTicks) {
+        layoutRows();
+        super.draw(mouseX, mouseY, partialTicks);
+    }
+
+    /**
+     * Materializes the rows in the viewport and recycles the rest
+     */
+    protected void layoutRows() {
+        int count = adapter.getCount();
+        int stride = itemHeight + interval;
+        int top = getScrollVertical() - yOffset;
+        int newFirst = Math.max(0, Math.floorDiv(top, stride) - overscan);
+        int newLast = Math.min(count, Math.floorDiv(top + getHeight() - 1, stride) + 1 + overscan);
+        if (newFirst == first && newLast == last && !dataChanged) {
+            return;
+        }
+
+        Iterator<Map.Entry<Integer, T>> iterator = active.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, T> entry = iterator.next();
+            int position = entry.getKey();
+            T view = entry.getValue();
+            if (position < newFirst || position >= newLast
+                    || dataChanged && viewTypes.get(view) != adapter.getViewType(position)) {
+                iterator.remove();
+                recycle(view);
+            } else if (dataChanged) {
+                adapter.bind(view, position);
+            }
+        }
+        for (int position = newFirst; position < newLast; position++) {
+            if (!active.containsKey(position)) {
+                T view = obtain(adapter.getViewType(position));
+                adapter.bind(view, position);
+                view.setX(xOffset);
+                view.setY(yOffset + position * stride);
+                addComponent(0, ROW_PREFIX + position, view);
+                active.put(position, view);
+                positions.put(view, position);
+            }
+        }
+        first = newFirst;
+        last = newLast;
+        dataChanged = false;
+    }
+
+    private T obtain(int viewType) {
+        ArrayDeque<T> pool = pools.get(viewType);
+        T view = pool != null ? pool.poll() : null;
+        if (view == null) {
+            view = adapter.create(viewType);
+            viewTypes.put(view, viewType);
+        }
+        return view;
+    }
+
+    private void recycle(T view) {
+        removeComponent(view.getID());
+        positions.remove(view);
+        pools.computeIfAbsent(viewTypes.get(view), k -> new ArrayDeque<>()).push(view);
+    }
+
+    private void recycleAll() {
+        active.values().forEach(this::recycle);
+        active.clear();
+        first = last = 0;
+    }
+
+    public static abstract class Builder<SELF extends Builder<?, T, E>, T extends GVirtualList<E>, E extends IGraphicsComponent>
+            extends GPanel.Builder<SELF, T> {
+
+        protected IListAdapter<E> adapter;
+        protected int itemHeight;
+        protected int interval;
+        protected int overscan = 2;
+
+        public SELF adapter(IListAdapter<E> adapter) {
+            assertRight(adapter != null, "Passed adapter can't be null");
+            this.adapter = adapter;
+            return self();
+        }
+
+        public SELF itemHeight(int itemHeight) {
+            assertRight(itemHeight > 0, "Item height should be positive");
+            this.itemHeight = itemHeight;
+            return self();
+        }
+
+        public SELF interval(int interval) {
+            this.interval = interval;
+            return self();
+        }
+
+        public SELF overscan(int overscan) {
+            assertRight(overscan >= 0, "Overscan can't be negative");
+            this.overscan = overscan;
+            return self();
+        }
+
+        @Override
+        public void testBuildParameters() {
+            super.testBuildParameters();
+            if (adapter == null) {
+                throw new GInitializationException("Virtual list requires an adapter");
+            }
+            if (itemHeight <= 0) {
+                throw new GInitializationException("Virtual list requires the item height");
+            }
+            if (wrapContent) {
+                throw new GInitializationException("Virtual list can't wrap its content");
+            }
+        }
+    }
+}
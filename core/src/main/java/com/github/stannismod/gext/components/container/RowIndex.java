@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.container;
+
+import java.util.Random;
+
+/**
+ * <p>Sequence of rows with heights, stored as an implicit treap.</p>
+ *
+ * <p>Every node keeps the amount of rows and their total height in its subtree, so insertion and
+ * removal at any index, index-to-offset and offset-to-index lookups are O(log n). Nodes also keep
+ * their parents, so the index of a node and the sums after its height change are found without
+ * searching.</p>
+ *
+ * @since 1.5.2
+ */
+final class RowIndex<T> {
+
+    private final Random random = new Random();
+    private Node<T> root;
+
+    // results of the last split
+    private Node<T> splitLeft;
+    private Node<T> splitRight;
+
+    int size() {
+        return size(root);
+    }
+
+    long totalHeight() {
+        return sum(root);
+    }
+
+    Node<T> insert(int index, T value, int height) {
+        Node<T> node = new Node<>(value, height, random.nextInt());
+        split(root, index);
+        Node<T> right = splitRight;
+        root = merge(merge(splitLeft, node), right);
+        root.parent = null;
+        return node;
+    }
+
+    void remove(Node<T> node) {
+        split(root, indexOf(node));
+        Node<T> left = splitLeft;
+        split(splitRight, 1);
+        root = merge(left, splitRight);
+        if (root != null) {
+            root.parent = null;
+        }
+        node.left = node.right = node.parent = null;
+    }
+
+    Node<T> get(int index) {
+        int requested = index;
+        Node<T> node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + requested + ", size: " + size());
+    }
+
+    int indexOf(Node<T> node) {
+        int index = size(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                index += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    /**
+     * @return total height of the rows before the given index
+     */
+    long offsetOf(int index) {
+        long offset = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index <= leftSize) {
+                node = node.left;
+            } else {
+                offset += sum(node.left) + node.height;
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @return index of the row containing the given offset, clamped to the existing rows, or -1 if there are no rows
+     */
+    int indexAt(long offset) {
+        int index = 0;
+        Node<T> node = root;
+        while (node != null) {
+            long leftSum = sum(node.left);
+            if (offset < leftSum) {
+                node = node.left;
+            } else if (offset < leftSum + node.height) {
+                return index + size(node.left);
+            } else {
+                offset -= leftSum + node.height;
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return Math.min(index, size() - 1);
+    }
+
+    void setHeight(Node<T> node, int height) {
+        node.height = height;
+        for (; node != null; node = node.parent) {
+            node.sum = sum(node.left) + sum(node.right) + node.height;
+        }
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    private void split(Node<T> node, int count) {
+        if (node == null) {
+            splitLeft = splitRight = null;
+            return;
+        }
+        if (size(node.left) < count) {
+            split(node.right, count - size(node.left) - 1);
+            node.right = splitLeft;
+            pull(node);
+            splitLeft = node;
+        } else {
+            split(node.left, count);
+            node.left = splitRight;
+            pull(node);
+            splitRight = node;
+        }
+        node.parent = null;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            pull(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        pull(right);
+        return right;
+    }
+
+    private static <T> void pull(Node<T> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.sum = sum(node.left) + sum(node.right) + node.height;
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static long sum(Node<?> node) {
+        return node == null ? 0 : node.sum;
+    }
+
+    static final class Node<T> {
+
+        final T value;
+        int height;
+        private final int priority;
+        private int size = 1;
+        private long sum;
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+
+        private Node(T value, int height, int priority) {
+            this.value = value;
+            this.height = height;
+            this.sum = height;
+            this.priority = priority;
+        }
+    }
+}
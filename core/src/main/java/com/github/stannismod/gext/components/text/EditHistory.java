@@ -0,0 +1,359 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.text;
+
+/**
+ * <p>The editing journal of {@link GTextBox}.</p>
+ *
+ * <p>Every edit is stored as an insert or delete operation with its position and the affected
+ * text slice, so undo and redo cost is proportional to the edit size, not to the document size.
+ * Consecutive typing (or erasing) is coalesced into one operation until the journal is sealed.</p>
+ *
+ * <p>Operations are held in a ring buffer limited by the byte budget: when the budget is exceeded,
+ * the oldest operations are evicted.</p>
+ *
+ * @since 1.5.2
+ */
+public class EditHistory {
+
+    public static final int DEFAULT_BYTE_BUDGET = 1 << 20;
+    /** Rough estimation of the operation footprint without its payload */
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final long COALESCE_TIMEOUT = 1000L;
+
+    private Edit[] ring = new Edit[16];
+    /** Index of the oldest operation in the ring */
+    private int head;
+    /** Number of operations stored, including redoable ones */
+    private int size;
+    /** Number of applied operations, e.g. the ones that can be undone */
+    private int applied;
+    private long bytes;
+    private int byteBudget;
+
+    public EditHistory() {
+        this(DEFAULT_BYTE_BUDGET);
+    }
+
+    public EditHistory(int byteBudget) {
+        setByteBudget(byteBudget);
+    }
+
+    public int getByteBudget() {
+        return byteBudget;
+    }
+
+    public void setByteBudget(int byteBudget) {
+        if (byteBudget < 0) {
+            throw new IllegalArgumentException("Byte budget can't be negative: " + byteBudget);
+        }
+        this.byteBudget = byteBudget;
+        trim();
+    }
+
+    /**
+     * @return approximate amount of memory held by the journal
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean canUndo() {
+        return applied > 0;
+    }
+
+    public boolean canRedo() {
+        return applied < size;
+    }
+
+    /**
+     * Journals insertion of {@code text} at the given position
+     * @param chained whether the operation should be undone together with the previous one
+     */
+    public void recordInsert(int line, int pos, CharSequence text, boolean chained) {
+        if (text.length() == 0) {
+            return;
+        }
+        dropRedo();
+        Edit last = last();
+        if (!chained && canCoalesce(last, true, text)
+                && last.line == line && last.pos + last.payload.length() == pos) {
+            last.payload.append(text);
+            last.time = System.currentTimeMillis();
+            bytes += text.length() * 2L;
+        } else {
+            push(new Edit(true, line, pos, text, chained));
+        }
+        trim();
+    }
+
+    public void recordInsert(int line, int pos, CharSequence text) {
+        recordInsert(line, pos, text, false);
+    }
+
+    /**
+     * Journals removal of {@code text} which started at the given position
+     * @param chained whether the operation should be undone together with the previous one
+     */
+    public void recordDelete(int line, int pos, CharSequence text, boolean chained) {
+        if (text.length() == 0) {
+            return;
+        }
+        dropRedo();
+        Edit last = last();
+        if (!chained && canCoalesce(last, false, text) && last.line == line) {
+            if (pos + text.length() == last.pos) {
+                // erasing backwards
+                last.payload.insert(0, text);
+                last.pos = pos;
+            } else if (pos == last.pos) {
+                // erasing forwards
+                last.payload.append(text);
+            } else {
+                push(new Edit(false, line, pos, text, false));
+                trim();
+                return;
+            }
+            last.time = System.currentTimeMillis();
+            bytes += text.length() * 2L;
+        } else {
+            push(new Edit(false, line, pos, text, chained));
+        }
+        trim();
+    }
+
+    public void recordDelete(int line, int pos, CharSequence text) {
+        recordDelete(line, pos, text, false);
+    }
+
+    /**
+     * Stops coalescing of the latest operation. Should be called when the caret jumps
+     * or the editing context changes in any other way.
+     */
+    public void seal() {
+        Edit last = last();
+        if (last != null) {
+            last.sealed = true;
+        }
+    }
+
+    /**
+     * Reverts the latest applied operation (with all operations chained to it)
+     * @return the earliest reverted operation or {@code null} if nothing to undo
+     */
+    public Edit undo(Target target) {
+        Edit edit = null;
+        while (applied > 0) {
+            edit = get(--applied);
+            edit.sealed = true;
+            if (edit.insert) {
+                target.delete(edit.line, edit.pos, edit.payload);
+            } else {
+                target.insert(edit.line, edit.pos, edit.payload);
+            }
+            if (!edit.chained) {
+                break;
+            }
+        }
+        return edit;
+    }
+
+    /**
+     * Re-applies the latest reverted operation (with all operations chained to it)
+     * @return the latest re-applied operation or {@code null} if nothing to redo
+     */
+    public Edit redo(Target target) {
+        Edit edit = null;
+        while (applied < size) {
+            edit = get(applied++);
+            if (edit.insert) {
+                target.insert(edit.line, edit.pos, edit.payload);
+            } else {
+                target.delete(edit.line, edit.pos, edit.payload);
+            }
+            if (applied == size || !get(applied).chained) {
+                break;
+            }
+        }
+        return edit;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            ring[(head + i) & (ring.length - 1)] = null;
+        }
+        head = size = applied = 0;
+        bytes = 0;
+    }
+
+    private boolean canCoalesce(Edit last, boolean insert, CharSequence text) {
+        return last != null && !last.sealed && last.insert == insert
+                && System.currentTimeMillis() - last.time < COALESCE_TIMEOUT
+                && !contains(text, '\n') && !contains(last.payload, '\n');
+    }
+
+    private Edit last() {
+        return applied == 0 ? null : get(applied - 1);
+    }
+
+    private Edit get(int index) {
+        return ring[(head + index) & (ring.length - 1)];
+    }
+
+    private void push(Edit edit) {
+        if (size == ring.length) {
+            Edit[] grown = new Edit[ring.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = get(i);
+            }
+            ring = grown;
+            head = 0;
+        }
+        ring[(head + size) & (ring.length - 1)] = edit;
+        size++;
+        applied = size;
+        bytes += edit.bytes();
+    }
+
+    private void dropRedo() {
+        while (size > applied) {
+            int index = (head + --size) & (ring.length - 1);
+            bytes -= ring[index].bytes();
+            ring[index] = null;
+        }
+    }
+
+    private void trim() {
+        while (bytes > byteBudget && size > 0) {
+            if (applied == 0) {
+                // only redo remains, evicting it partially would break the order
+                clear();
+                return;
+            }
+            Edit evicted = ring[head];
+            ring[head] = null;
+            head = (head + 1) & (ring.length - 1);
+            size--;
+            applied--;
+            bytes -= evicted.bytes();
+            // the rest of the evicted chain can't be undone consistently anymore
+            if (size > 0) {
+                ring[head].chained = false;
+            }
+        }
+    }
+
+    /**
+     * @return the line where {@code text} inserted at {@code line} ends
+     */
+    public static int endLine(int line, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    /**
+     * @return the position in the {@link #endLine(int, CharSequence)} where {@code text} inserted at {@code pos} ends
+     */
+    public static int endPos(int pos, CharSequence text) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (text.charAt(i) == '\n') {
+                return text.length() - i - 1;
+            }
+        }
+        return pos + text.length();
+    }
+
+    private static boolean contains(CharSequence text, char c) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The text model the journal operations are applied to. Payloads use {@code '\n'} as line separator.
+     */
+    public interface Target {
+
+        void insert(int line, int pos, CharSequence text);
+
+        void delete(int line, int pos, CharSequence text);
+    }
+
+    public static final class Edit {
+
+        private final boolean insert;
+        private final int line;
+        private int pos;
+        private final StringBuilder payload;
+        private boolean chained;
+        private boolean sealed;
+        private long time = System.currentTimeMillis();
+
+        private Edit(boolean insert, int line, int pos, CharSequence payload, boolean chained) {
+            this.insert = insert;
+            this.line = line;
+            this.pos = pos;
+            this.payload = new StringBuilder(payload);
+            this.chained = chained;
+        }
+
+        private long bytes() {
+            return ENTRY_OVERHEAD + payload.length() * 2L;
+        }
+
+        public boolean isInsert() {
+            return insert;
+        }
+
+        public int line() {
+            return line;
+        }
+
+        public int pos() {
+            return pos;
+        }
+
+        public CharSequence payload() {
+            return payload;
+        }
+
+        /**
+         * @return the line where the payload ends
+         */
+        public int endLine() {
+            return EditHistory.endLine(line, payload);
+        }
+
+        /**
+         * @return the position in {@link #endLine()} where the payload ends
+         */
+        public int endPos() {
+            return EditHistory.endPos(pos, payload);
+        }
+    }
+}
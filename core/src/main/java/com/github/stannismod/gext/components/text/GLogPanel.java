@@ -0,0 +1,376 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.GExt;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.IGraphicsComponentScroll;
+import com.github.stannismod.gext.api.IGraphicsLayout;
+import com.github.stannismod.gext.api.IListener;
+import com.github.stannismod.gext.api.IScrollable;
+import com.github.stannismod.gext.api.adapter.IFontRenderer;
+import com.github.stannismod.gext.components.GBasic;
+import com.github.stannismod.gext.utils.*;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents append-only log view.
+ * <p>
+ * Lines can be appended from any thread with {@link #log(String)}. They are queued
+ * without locking and moved into the panel during the next frames, at most
+ * {@link #getLineBudget()} lines per frame. The panel stores the fixed amount of
+ * the latest wrapped lines, evicting the oldest ones.
+ * </p>
+ * <p>
+ * The panel keeps scrolled to the bottom unless the user scrolls it up.
+ * Only the lines inside the viewport are drawn.
+ * </p>
+ * @since 1.5.2
+ */
+public class GLogPanel extends GBasic implements IScrollable {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+    public static final int DEFAULT_LINE_BUDGET = 1000;
+
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /** Ring of wrapped lines */
+    private final String[] lines;
+    private int head;
+    private int size;
+    private int lineBudget;
+
+    protected int xOffset;
+    protected int yOffset;
+    protected int interval;
+    protected float scale;
+    protected int color;
+    protected boolean enableBackgroundDrawing;
+    protected IFontRenderer renderer;
+
+    private IGraphicsComponentScroll scrollHandler;
+    private int scrolled;
+    private boolean stickToBottom = true;
+
+    public GLogPanel(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
+                     final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
+                     final Bound bound, final Align alignment, final int xPadding, final int yPadding,
+                     final List<IListener> listeners, final int xOffset, final int yOffset, final int interval,
+                     final float scale, final int color, final boolean enableBackgroundDrawing,
+                     final IFontRenderer renderer, final int capacity, final int lineBudget) {
+        super(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners);
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+        this.interval = interval;
+        this.scale = scale;
+        this.color = color;
+        this.enableBackgroundDrawing = enableBackgroundDrawing;
+        this.renderer = renderer;
+        this.lines = new String[capacity];
+        this.setLineBudget(lineBudget);
+    }
+
+    /**
+     * Queues the line to be appended to the log. Can be called from any thread.
+     */
+    public void log(String line) {
+        pending.add(line);
+        pendingCount.incrementAndGet();
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    public int getLineBudget() {
+        return lineBudget;
+    }
+
+    /**
+     * Sets maximum amount of queued lines moved into the panel per frame
+     */
+    public void setLineBudget(int lineBudget) {
+        if (lineBudget <= 0) {
+            throw new IllegalArgumentException("Line budget must be positive: " + lineBudget);
+        }
+        this.lineBudget = lineBudget;
+    }
+
+    /**
+     * @return the amount of lines queued, but not appended yet
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return the amount of wrapped lines stored
+     */
+    public int getLinesCount() {
+        return size;
+    }
+
+    /**
+     * @param index index of wrapped line, 0 is the oldest one
+     */
+    public String getLine(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return lines[(head + index) % lines.length];
+    }
+
+    /**
+     * Removes all stored lines. Queued lines are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            lines[(head + i) % lines.length] = null;
+        }
+        head = size = 0;
+        scrolled = 0;
+        stickToBottom = true;
+    }
+
+    @Override
+    public boolean pollsUpdates() {
+        // lines are queued by producer threads which can't invalidate the component
+        return true;
+    }
+
+    @Override
+    public boolean checkUpdates() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        drain();
+    }
+
+    private void drain() {
+        // lines which would be evicted in this frame anyway aren't worth wrapping
+        int skip = pendingCount.get() - lines.length;
+        for (int i = 0; i < skip && pending.poll() != null; i++) {
+            pendingCount.decrementAndGet();
+        }
+
+        String line;
+        for (int i = 0; i < lineBudget && (line = pending.poll()) != null; i++) {
+            pendingCount.decrementAndGet();
+            wrap(line);
+        }
+        if (stickToBottom) {
+            scrolled = getScrollable();
+        }
+    }
+
+    private void wrap(String line) {
+        int maxWidth = getTextWidth();
+        if (line.indexOf('\n') < 0 && renderer.getStringWidth(line) * scale <= maxWidth) {
+            push(line);
+            return;
+        }
+        List<String> wrapped = renderer.listTextToWidth(line, (int) (maxWidth / scale));
+        if (wrapped.isEmpty()) {
+            push(line);
+        }
+        for (String part : wrapped) {
+            push(part);
+        }
+    }
+
+    private void push(String line) {
+        if (size < lines.length) {
+            lines[(head + size++) % lines.length] = line;
+            return;
+        }
+        lines[head] = line;
+        head = (head + 1) % lines.length;
+        if (!stickToBottom) {
+            // keep the viewport on the same lines while older ones are evicted
+            scrolled = Math.max(0, scrolled - getLineHeight());
+        }
+    }
+
+    public int getLineHeight() {
+        return (int) (renderer.getFontHeight() * scale) + interval;
+    }
+
+    public int getTextWidth() {
+        return getWidth() - xOffset * 2;
+    }
+
+    /**
+     * @return maximum value of vertical scroll
+     */
+    public int getScrollable() {
+        return Math.max(0, getContentHeight() - (getHeight() - yOffset * 2));
+    }
+
+    public boolean isStickToBottom() {
+        return stickToBottom;
+    }
+
+    @Override
+    public void onMouseScrolled(final int mouseX, final int mouseY, final double amountScrolled) {
+        super.onMouseScrolled(mouseX, mouseY, amountScrolled);
+        if (intersectsInner(mouseX, mouseY)) {
+            setScrollVertical(scrolled - (int) (amountScrolled * getLineHeight()));
+        }
+    }
+
+    @Override
+    public void draw(int mouseXIn, int mouseYIn, float partialTicks) {
+        if (enableBackgroundDrawing) {
+            StyleMap.current().drawFrame(0, 0, getWidth(), getHeight());
+        }
+        if (size == 0) {
+            return;
+        }
+
+        int lineHeight = getLineHeight();
+        int first = scrolled / lineHeight;
+        int last = Math.min(size, (scrolled + getHeight() - yOffset * 2) / lineHeight + 1);
+        for (int i = first; i < last; i++) {
+            GraphicsHelper.drawScaledString(renderer, getLine(i), xOffset, yOffset + i * lineHeight - scrolled, scale, color);
+        }
+    }
+
+    @Override
+    public void setScrollHandler(IGraphicsComponentScroll handler) {
+        this.scrollHandler = handler;
+    }
+
+    @Override
+    public IGraphicsComponentScroll getScrollHandler() {
+        return scrollHandler;
+    }
+
+    @Override
+    public int getScrollVertical() {
+        return scrolled;
+    }
+
+    @Override
+    public int getScrollHorizontal() {
+        throw new UnsupportedOperationException("LogPanel does not support horizontal scrolling!");
+    }
+
+    @Override
+    public void setScrollVertical(int value) {
+        int scrollable = getScrollable();
+        scrolled = Math.max(0, Math.min(value, scrollable));
+        stickToBottom = scrolled == scrollable;
+        Redraw.request();
+    }
+
+    @Override
+    public void setScrollHorizontal(int value) {
+        throw new UnsupportedOperationException("LogPanel does not support horizontal scrolling!");
+    }
+
+    @Override
+    public int getContentWidth() {
+        return getTextWidth();
+    }
+
+    @Override
+    public int getContentHeight() {
+        return size * getLineHeight();
+    }
+
+    public static abstract class Builder<SELF extends Builder<?, T>, T extends GLogPanel> extends ComponentBuilder<SELF, T> {
+
+        protected int xOffset;
+        protected int yOffset;
+        protected int interval;
+        protected float scale = 1.0F;
+        protected int color = 0xffffff;
+        protected boolean backgroundDrawingEnabled;
+        protected IFontRenderer renderer;
+        protected int capacity = DEFAULT_CAPACITY;
+        protected int lineBudget = DEFAULT_LINE_BUDGET;
+
+        @Override
+        public void testBuildParameters() {
+            super.testBuildParameters();
+            if (this.renderer == null) {
+                renderer(GExt.standardRenderer());
+            }
+        }
+
+        public SELF offsets(int xOffset, int yOffset) {
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+            return self();
+        }
+
+        public SELF interval(int interval) {
+            this.interval = interval;
+            return self();
+        }
+
+        public SELF textScale(float scale) {
+            this.scale = scale;
+            return self();
+        }
+
+        public SELF color(int color) {
+            this.color = color;
+            return self();
+        }
+
+        public SELF enableBackground() {
+            this.backgroundDrawingEnabled = true;
+            return self();
+        }
+
+        public SELF renderer(IFontRenderer renderer) {
+            this.renderer = renderer;
+            return self();
+        }
+
+        /**
+         * Sets maximum amount of wrapped lines stored in the panel
+         */
+        public SELF capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new GInitializationException("Log capacity must be positive");
+            }
+            this.capacity = capacity;
+            return self();
+        }
+
+        /**
+         * Sets maximum amount of queued lines moved into the panel per frame
+         */
+        public SELF lineBudget(int lineBudget) {
+            if (lineBudget <= 0) {
+                throw new GInitializationException("Line budget must be positive");
+            }
+            this.lineBudget = lineBudget;
+            return self();
+        }
+    }
+}
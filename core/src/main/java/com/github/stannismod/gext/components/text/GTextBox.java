@@ -16,6 +16,8 @@
 
 package com.github.stannismod.gext.components.text;
 
+import com.github.stannismod.gext.GExt;
+import com.github.stannismod.gext.animation.Animator;
 import com.github.stannismod.gext.api.IGraphicsComponent;
 import com.github.stannismod.gext.api.IGraphicsComponentScroll;
 import com.github.stannismod.gext.api.IGraphicsLayout;
@@ -27,16 +29,16 @@ import com.github.stannismod.gext.engine.GlStateManager;
 import com.github.stannismod.gext.menu.MenuBuilder;
 import com.github.stannismod.gext.utils.Align;
 import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.utils.Clipboard;
 import com.github.stannismod.gext.utils.Keyboard;
+import com.github.stannismod.gext.utils.Redraw;
 import com.github.stannismod.gext.utils.StyleMap;
 
-import java.awt.*;
-import java.awt.datatransfer.DataFlavor;
-import java.awt.datatransfer.Transferable;
-import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.KeyEvent;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static com.github.stannismod.gext.utils.Keyboard.*;
 
@@ -54,11 +56,11 @@ import static com.github.stannismod.gext.utils.Keyboard.*;
  * <li>working with transfer buffer (Ctrl+C, Ctrl+V)</li>
  * <li>selection by Shift + arrows</li>
  * <li>advanced navigation (arrows in selection, Home-End, PageUp-PageDown)</li>
+ * <li>editing history (Ctrl+Z, Ctrl+Shift+Z)</li>
  * </ul>
  *
  * Coming soon:
  * <ul>
- * <li>editing history (Ctrl+Z, Ctrl+Shift+Z)</li>
  * <li>scrolling feature</li>
  * </ul>
  * </p>
@@ -67,18 +69,87 @@ import static com.github.stannismod.gext.utils.Keyboard.*;
  */
 public class GTextBox extends GTextPanel {
 
+    /** Maximum amount of pasted characters inserted into the text per frame */
+    public static final int PASTE_CHUNK_SIZE = 4096;
+
     private boolean initialShift;
 
+    /** Clipboard contents received, but not inserted yet */
+    private final Queue<String> pastes = new ConcurrentLinkedQueue<>();
+    private String pasting;
+    private int pasted;
+
+    private final EditHistory history;
+    private final EditHistory.Target historyTarget = new EditHistory.Target() {
+        @Override
+        public void insert(final int line, final int pos, final CharSequence text) {
+            insertText(line, pos, text);
+        }
+
+        @Override
+        public void delete(final int line, final int pos, final CharSequence text) {
+            deleteText(line, pos, EditHistory.endLine(line, text), EditHistory.endPos(pos, text));
+        }
+    };
+
     public GTextBox(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
                     final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
                     final Bound bound, final Align alignment, final int xPadding, final int yPadding,
                     final List<IListener> listeners, final int xOffset, final int yOffset, final int interval,
                     final String text, final List<String> textList, final float scale, final String title,
                     final float titleScale, final boolean enableBackgroundDrawing, final boolean wrapContent,
-                    final IFontRenderer renderer, final IGraphicsComponentScroll scrollHandler) {
+                    final IFontRenderer renderer, final IGraphicsComponentScroll scrollHandler,
+                    final int historyBudget) {
         super(x, y, width, height, clippingEnabled, parent, binding, bound, alignment, xPadding, yPadding, listeners,
                 xOffset, yOffset, interval, text, textList, scale, title, titleScale, enableBackgroundDrawing,
                 wrapContent, renderer, scrollHandler);
+        this.history = new EditHistory(historyBudget);
+    }
+
+    public EditHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Reverts the latest edit
+     * @return {@code true} if something was reverted
+     * @since 1.5.2
+     */
+    public boolean undo() {
+        EditHistory.Edit edit = history.undo(historyTarget);
+        if (edit == null) {
+            return false;
+        }
+        if (edit.isInsert()) {
+            moveCursorTo(edit.pos(), edit.line());
+        } else {
+            moveCursorTo(edit.endPos(), edit.endLine());
+        }
+        return true;
+    }
+
+    /**
+     * Re-applies the latest reverted edit
+     * @return {@code true} if something was re-applied
+     * @since 1.5.2
+     */
+    public boolean redo() {
+        EditHistory.Edit edit = history.redo(historyTarget);
+        if (edit == null) {
+            return false;
+        }
+        if (edit.isInsert()) {
+            moveCursorTo(edit.endPos(), edit.endLine());
+        } else {
+            moveCursorTo(edit.pos(), edit.line());
+        }
+        return true;
+    }
+
+    private void moveCursorTo(int xPos, int yPos) {
+        cursor.setPos(xPos, yPos);
+        initialShift = false;
+        selection.moveTo(cursor);
     }
 
     @Override
@@ -91,7 +162,16 @@ public class GTextBox extends GTextPanel {
         if (Keyboard.isKeyDown(KEY_CONTROL)) {
             if (Keyboard.isKeyDown(KEY_V)) {
                 pasteFromBuffer();
+            } else if (Keyboard.isKeyDown(KEY_Z)) {
+                if (Keyboard.isKeyDown(KEY_SHIFT)) {
+                    redo();
+                } else {
+                    undo();
+                }
+            } else if (Keyboard.isKeyDown(KEY_Y)) {
+                redo();
             } else if (Keyboard.isKeyDown(KEY_UP)) {
+                history.seal();
                 if (cursor.yPos() > 0) {
                     cursor.setYPos(cursor.yPos() - 1);
                     return;
@@ -104,41 +184,43 @@ public class GTextBox extends GTextPanel {
                     if (cursor.yPos() == 0) {
                         return;
                     }
-                    int pos = getText().get(cursor.yPos() - 1).length();
-                    if (getText().size() > cursor.yPos()) {
-                        String removed = getText().remove(cursor.yPos());
-                        appendToLine(cursor.yPos() - 1, getText().get(cursor.yPos() - 1).length(), removed);
-                    }
-                    this.updateCursor(cursor.yPos() - 1, pos);
+                    int line = cursor.yPos() - 1;
+                    int pos = getLineLength(line);
+                    history.recordDelete(line, pos, deleteText(line, pos, cursor.yPos(), 0));
+                    this.updateCursor(line, pos);
                 } else {
-                    String line = getText().get(cursor.yPos());
-                    getText().set(cursor.yPos(), line.substring(0, cursor.xPos() - 1) + line.substring(cursor.xPos()));
+                    int pos = cursor.xPos() - 1;
+                    history.recordDelete(cursor.yPos(), pos, deleteText(cursor.yPos(), pos, cursor.yPos(), cursor.xPos()));
                     this.moveCursorAndSelection(-1, 0, true);
                 }
             } else {
-                cutText(selection.startXPos(), selection.startYPos(), selection.endXPos(), selection.endYPos());
+                deleteSelection();
                 cursor.moveToStart(selection);
                 selection.drop();
             }
         } else if (Keyboard.isKeyDown(KEY_HOME)) {
+            history.seal();
             if (Keyboard.isKeyDown(KEY_SHIFT)) {
                 this.moveCursorAndSelection(-cursor.xPos(), 0, true);
                 return;
             }
             cursor.setXPos(0);
         } else if (Keyboard.isKeyDown(KEY_END)) {
+            history.seal();
             if (Keyboard.isKeyDown(KEY_SHIFT)) {
                 this.moveCursorAndSelection(getLineLength(cursor.yPos()) - cursor.xPos(), 0, true);
                 return;
             }
             cursor.setXPos(getLineLength(cursor.yPos()));
         } else if (Keyboard.isKeyDown(KEY_PAGE_UP)) {
+            history.seal();
             if (Keyboard.isKeyDown(KEY_SHIFT)) {
                 this.moveCursorAndSelection(-cursor.xPos(), -cursor.yPos() + 1, true);
                 return;
             }
             cursor.setPos(0, 0);
         } else if (Keyboard.isKeyDown(KEY_PAGE_DOWN)) {
+            history.seal();
             if (Keyboard.isKeyDown(KEY_SHIFT)) {
                 this.moveCursorAndSelection(getLineLength(getLinesCount() - 1) - cursor.xPos(), getLinesCount() - cursor.yPos(), true);
                 return;
@@ -149,27 +231,32 @@ public class GTextBox extends GTextPanel {
                 return;
             }
             if (Keyboard.isKeyDown(Keyboard.KEY_SHIFT)) {
-                getText().add(cursor.yPos() + 1, "");
+                int pos = getLineLength(cursor.yPos());
+                insertText(cursor.yPos(), pos, "\n");
+                history.recordInsert(cursor.yPos(), pos, "\n");
                 cursor.setPos(0, cursor.yPos() + 1);
                 return;
             }
-            String content = getText().get(cursor.yPos());
-            getText().set(cursor.yPos(), content.substring(0, cursor.xPos()));
-            getText().add(cursor.yPos() + 1, content.substring(cursor.xPos()));
+            insertText(cursor.yPos(), cursor.xPos(), "\n");
+            history.recordInsert(cursor.yPos(), cursor.xPos(), "\n");
             this.updateCursor(cursor.yPos() + 1, 0);
         } else if (Keyboard.isKeyDown(KEY_UP)) {
+            history.seal();
             this.moveCursorAndSelection(0, -1, true);
         } else if (Keyboard.isKeyDown(KEY_DOWN)) {
+            history.seal();
             this.moveCursorAndSelection(0, 1, true);
         } else if (Keyboard.isKeyDown(KEY_LEFT)) {
+            history.seal();
             this.moveCursorAndSelection(-1, 0, true);
         } else if (Keyboard.isKeyDown(KEY_RIGHT)) {
+            history.seal();
             this.moveCursorAndSelection(1, 0, true);
         } else {
             if (isPrintable(typedChar)) {
                 String content = String.valueOf(typedChar);
                 if (canAppendTo(content, cursor.yPos())) {
-                    this.putText(cursor.yPos(), cursor.xPos(), content);
+                    this.typeText(content);
                     this.moveCursorAndSelection(content, false);
                 }
                 selection.drop();
@@ -177,19 +264,192 @@ public class GTextBox extends GTextPanel {
         }
     }
 
+    /**
+     * Deletes the selected text, journaling it to the history
+     */
+    private void deleteSelection() {
+        int startX = Math.min(selection.startXPos(), getLineLength(selection.startYPos()));
+        int endX = Math.min(selection.endXPos(), getLineLength(selection.endYPos()));
+        history.seal();
+        history.recordDelete(selection.startYPos(), startX,
+                deleteText(selection.startYPos(), startX, selection.endYPos(), endX));
+        history.seal();
+    }
+
+    /**
+     * Puts the text at the cursor position, journaling it to the history
+     */
+    private void typeText(String content) {
+        int line = cursor.yPos();
+        int pos = cursor.xPos();
+        String before = getText().get(line);
+        int linesBefore = getLinesCount();
+        this.putText(line, pos, content);
+
+        int added = getLinesCount() - linesBefore;
+        if (added == 0 && getLineLength(line) == before.length() + content.length()) {
+            history.recordInsert(line, pos, content);
+        } else if (added >= 0) {
+            // the line was re-wrapped, so journal it as the replacement of the whole line
+            StringBuilder replacement = new StringBuilder(getText().get(line));
+            for (int i = line + 1; i <= line + added; i++) {
+                replacement.append('\n').append(getText().get(i));
+            }
+            history.seal();
+            history.recordDelete(line, 0, before);
+            history.recordInsert(line, 0, replacement, true);
+            history.seal();
+        } else {
+            // can't be expressed with journal operations
+            history.clear();
+        }
+    }
+
+    /**
+     * Requests the clipboard contents. Received text is inserted at the cursor
+     * position by chunks of {@link #PASTE_CHUNK_SIZE} characters per frame.
+     */
     public void pasteFromBuffer() {
-        Transferable contents = Toolkit.getDefaultToolkit().getSystemClipboard().getContents(null);
-        if (contents != null && contents.isDataFlavorSupported(DataFlavor.stringFlavor)) {
-            try {
-                String content = (String) contents.getTransferData(DataFlavor.stringFlavor);
-                this.putText(cursor.yPos(), cursor.xPos(), content);
-                this.moveCursorAndSelection(content, true);
-            } catch (UnsupportedFlavorException | IOException ex) {
-                ex.printStackTrace();
+        Clipboard.getContents().whenComplete((content, cause) -> {
+            if (cause != null) {
+                GExt.error(this, "Failed to paste the text from clipboard", cause);
+            } else if (content != null && !content.isEmpty()) {
+                // may complete off the render thread, picked up by polling
+                pastes.add(content.replace("\r\n", "\n").replace('\r', '\n'));
             }
+        });
+    }
+
+    /**
+     * Memory-mapped text is read-only, so it can't be the source of the editable text box
+     * @throws UnsupportedOperationException always
+     * @since 1.5.2
+     */
+    @Override
+    public GTextPanel setTextSource(final MappedText source) {
+        throw new UnsupportedOperationException("TextBox does not support read-only text source, use TextPanel instead!");
+    }
+
+    /**
+     * @return whether there is a pasted text not inserted yet
+     * @since 1.5.2
+     */
+    public boolean isPasting() {
+        return pasting != null || !pastes.isEmpty();
+    }
+
+    private void pasteChunk() {
+        if (pasting == null) {
+            pasting = pastes.poll();
+            if (pasting == null) {
+                return;
+            }
+            pasted = 0;
+            history.seal();
+        }
+        int end = Math.min(pasting.length(), pasted + PASTE_CHUNK_SIZE);
+        if (end < pasting.length() && Character.isHighSurrogate(pasting.charAt(end - 1))) {
+            end++;
+        }
+        int line = cursor.yPos();
+        int pos = Math.min(cursor.xPos(), getLineLength(line));
+        int fits = fitPaste(pasting, pasted, end, line, pos);
+        if (fits > pasted) {
+            String chunk = pasting.substring(pasted, fits);
+            insertText(line, pos, chunk);
+            // the whole paste is undone at once
+            history.recordInsert(line, pos, chunk, pasted > 0);
+            int endLine = EditHistory.endLine(line, chunk);
+            int endPos = EditHistory.endPos(pos, chunk);
+            if (!wrapContent) {
+                int tail = getLineLength(endLine) - endPos;
+                endLine = wrapLines(line, endLine);
+                endPos = Math.max(0, getLineLength(endLine) - tail);
+            }
+            moveCursorTo(endPos, endLine);
+        }
+
+        // the rest of the text is dropped once the limit is reached
+        pasted = fits < end ? pasting.length() : end;
+        if (pasted == pasting.length()) {
+            pasting = null;
+            history.seal();
         }
     }
 
+    /**
+     * Applies the same limits as {@link #canAppendTo(String, int)} to the pasted text
+     * @return the end of the pasted text part which fits the text box
+     */
+    private int fitPaste(String text, int from, int to, int line, int pos) {
+        if (wrapContent) {
+            return to;
+        }
+        int maxWidth = getMaxStringLength();
+        int freeLines = getMaxLines() - getLinesCount();
+        String src = getText().get(line);
+        int tailWidth = renderer.getStringWidth(src.substring(pos));
+        int width = renderer.getStringWidth(src.substring(0, pos)) + tailWidth;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            int charWidth = c == '\n' ? 0 : renderer.getStringWidth(String.valueOf(c));
+            if (c == '\n' || width + charWidth > maxWidth) {
+                if (freeLines == 0) {
+                    return i > from && Character.isHighSurrogate(text.charAt(i - 1)) ? i - 1 : i;
+                }
+                freeLines--;
+                width = c == '\n' ? tailWidth : charWidth;
+            } else {
+                width += charWidth;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Wraps the given lines to the width of the text box, journaling it to the history
+     * @return the last wrapped line
+     */
+    private int wrapLines(int line, int endLine) {
+        int maxWidth = getMaxStringLength();
+        List<String> wrapped = new ArrayList<>();
+        boolean changed = false;
+        for (int i = line; i <= endLine; i++) {
+            String s = getText().get(i);
+            if (renderer.getStringWidth(s) > maxWidth) {
+                wrapped.addAll(renderer.listTextToWidth(s, maxWidth));
+                changed = true;
+            } else {
+                wrapped.add(s);
+            }
+        }
+        if (!changed) {
+            return endLine;
+        }
+        String replacement = String.join("\n", wrapped);
+        String removed = deleteText(line, 0, endLine, getLineLength(endLine));
+        insertText(line, 0, replacement);
+        history.recordDelete(line, 0, removed, true);
+        history.recordInsert(line, 0, replacement, true);
+        return line + wrapped.size() - 1;
+    }
+
+    @Override
+    public boolean pollsUpdates() {
+        return true;
+    }
+
+    @Override
+    public boolean checkUpdates() {
+        return isPasting() || super.checkUpdates();
+    }
+
+    @Override
+    public void update() {
+        pasteChunk();
+        super.update();
+    }
+
     public boolean isPrintable(char c) {
         Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
         return (!Character.isISOControl(c)) &&
@@ -272,9 +532,12 @@ public class GTextBox extends GTextPanel {
             GlStateManager.translate(getXOffset() - 0.5F + cursor.x(), getYOffset() + cursor.y(), 0.0F);
             GlStateManager.scale(0.5F, 1.0F, 1.0F);
 
-            if (System.currentTimeMillis() % 1000 >= 500) {
+            long time = Animator.getInstance().now();
+            if (time % 1000 >= 500) {
                 StyleMap.current().drawProgressBar(1, 0, 0, 1, getTextHeight(), 10.0F);
             }
+            // the caret blinks every half of a second
+            Redraw.requestAt(time - time % 500 + 500);
 
             GlStateManager.popMatrix();
         }
@@ -290,7 +553,24 @@ public class GTextBox extends GTextPanel {
                 .build();
     }
 
+    @Override
+    public void onMousePressed(final int mouseX, final int mouseY, final int mouseButton) {
+        history.seal();
+        super.onMousePressed(mouseX, mouseY, mouseButton);
+    }
+
     public static abstract class Builder<SELF extends Builder<?, T>, T extends GTextBox> extends GTextPanel.Builder<SELF, T> {
-        
+
+        protected int historyBudget = EditHistory.DEFAULT_BYTE_BUDGET;
+
+        /**
+         * Sets the memory limit of the editing history
+         * @param bytes approximate amount of bytes the history can hold
+         */
+        public SELF historyBudget(int bytes) {
+            assertRight(bytes >= 0, "History budget can't be negative");
+            this.historyBudget = bytes;
+            return self();
+        }
     }
 }
@@ -24,15 +24,18 @@ import com.github.stannismod.gext.engine.GlStateManager;
 import com.github.stannismod.gext.utils.*;
 import org.lwjgl.opengl.GL11;
 
-import java.awt.*;
-import java.awt.datatransfer.StringSelection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static com.github.stannismod.gext.utils.Keyboard.KEY_C;
 import static com.github.stannismod.gext.utils.Keyboard.KEY_CONTROL;
+import static com.github.stannismod.gext.utils.Keyboard.KEY_F3;
+import static com.github.stannismod.gext.utils.Keyboard.KEY_SHIFT;
 
 /**
  * Represents immutable multiline text box.
@@ -44,6 +47,7 @@ import static com.github.stannismod.gext.utils.Keyboard.KEY_CONTROL;
  * <li>working with content from code</li>
  * <li>selection by mouse dragging</li>
  * <li>copying selected content</li>
+ * <li>indexed search with match highlighting (F3, Shift+F3)</li>
  * </ul>
  * </p>
  * <p>
@@ -66,7 +70,7 @@ public class GTextPanel extends GBasic implements IScrollable {
      * Interval between text lines
      */
     protected int interval;
-    private final List<String> text = new ArrayList<>();
+    private List<String> text = new ArrayList<>();
     protected float scale;
     protected String title;
     private float titleScale;
@@ -107,6 +111,11 @@ public class GTextPanel extends GBasic implements IScrollable {
     private IGraphicsComponentScroll scrollHandler;
     private int scrolled;
 
+    // search
+    private final TextIndex index = new TextIndex();
+    private String searchQuery;
+    private CompletableFuture<Long> mappedSearch;
+
     public GTextPanel(final int x, final int y, final int width, final int height, final boolean clippingEnabled,
                       final IGraphicsLayout<? extends IGraphicsComponent> parent, final IGraphicsComponent binding,
                       final Bound bound, final Align alignment, final int xPadding, final int yPadding,
@@ -165,21 +174,50 @@ public class GTextPanel extends GBasic implements IScrollable {
     }
 
     public GTextPanel setText(String textIn) {
-        this.text.clear();
+        this.clear();
         return appendText(textIn);
     }
 
     public GTextPanel setText(List<String> textIn) {
-        this.text.clear();
+        this.clear();
         this.text.addAll(textIn);
         return this;
     }
 
     public GTextPanel clear() {
+        if (isMapped()) {
+            this.text = new ArrayList<>();
+        }
         this.text.clear();
+        this.index.clear();
+        this.cancelSearch();
+        return this;
+    }
+
+    /**
+     * Displays the memory-mapped file instead of the text stored in the panel.
+     * The panel becomes read-only until any other text is set.
+     * Closing the source is up to the caller.
+     * Not supported by {@link GTextBox}.
+     * @since 1.5.2
+     */
+    public GTextPanel setTextSource(MappedText source) {
+        this.text = source;
+        this.index.clear();
+        this.cancelSearch();
+        this.selection.drop();
+        this.scrolled = 0;
         return this;
     }
 
+    /**
+     * @return whether the panel displays {@link MappedText}
+     * @since 1.5.2
+     */
+    public boolean isMapped() {
+        return text instanceof MappedText;
+    }
+
     public int getXOffset() {
         return this.xOffset;
     }
@@ -239,18 +277,76 @@ public class GTextPanel extends GBasic implements IScrollable {
             if (line < getLinesCount()) {
                 String old = getText().get(line);
                 getText().remove(line);
+                index.linesRemoved(line, 1);
                 newLine = old.substring(0, pos) + textIn + old.substring(pos);
             }
             return putText(line, renderer.listTextToWidth(newLine, this.getMaxStringLength()));
         }
     }
 
+    /**
+     * Inserts the text to the given position as is, without any wrapping.
+     * Line separators ({@code '\n'}) in the text split the line.
+     * @since 1.5.2
+     */
+    public void insertText(int line, int pos, CharSequence textIn) {
+        String src = getText().get(line);
+        int lineBreak = indexOf(textIn, '\n', 0);
+        if (lineBreak < 0) {
+            getText().set(line, src.substring(0, pos) + textIn + src.substring(pos));
+            return;
+        }
+        List<String> inserted = new ArrayList<>();
+        int from = lineBreak + 1;
+        for (int next = indexOf(textIn, '\n', from); next >= 0; next = indexOf(textIn, '\n', from)) {
+            inserted.add(textIn.subSequence(from, next).toString());
+            from = next + 1;
+        }
+        inserted.add(textIn.subSequence(from, textIn.length()) + src.substring(pos));
+        getText().set(line, src.substring(0, pos) + textIn.subSequence(0, lineBreak));
+        getText().addAll(line + 1, inserted);
+        index.linesInserted(line + 1, inserted.size());
+    }
+
+    /**
+     * Deletes the text between given positions, joining the lines if needed.
+     * @return the deleted text with {@code '\n'} as line separator
+     * @since 1.5.2
+     */
+    public String deleteText(int line, int pos, int endLine, int endPos) {
+        String first = getText().get(line);
+        if (line == endLine) {
+            getText().set(line, first.substring(0, pos) + first.substring(endPos));
+            return first.substring(pos, endPos);
+        }
+        String last = getText().get(endLine);
+        StringBuilder removed = new StringBuilder(first.length() - pos + endPos + 1).append(first, pos, first.length());
+        for (int i = line + 1; i < endLine; i++) {
+            removed.append('\n').append(getText().get(i));
+        }
+        removed.append('\n').append(last, 0, endPos);
+        getText().set(line, first.substring(0, pos) + last.substring(endPos));
+        getText().subList(line + 1, endLine + 1).clear();
+        index.linesRemoved(line + 1, endLine - line);
+        return removed.toString();
+    }
+
+    private static int indexOf(CharSequence text, char c, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public GTextPanel appendText(List<String> textIn) {
         return putText(getLinesCount(), textIn);
     }
 
     public GTextPanel putText(int line, List<String> textIn) {
         this.text.addAll(line, textIn);
+        this.index.linesInserted(line, textIn.size());
         this.markDirty();
         return this;
     }
@@ -324,6 +420,7 @@ public class GTextPanel extends GBasic implements IScrollable {
         getText().set(line, src.substring(0, from) + src.substring(to, getLineLength(line)));
         if (getText().get(line).isEmpty()) {
             getText().remove(line);
+            index.linesRemoved(line, 1);
         }
         return cut;
     }
@@ -331,11 +428,12 @@ public class GTextPanel extends GBasic implements IScrollable {
     @Override
     public void markDirty() {
         super.markDirty();
-        if (text.size() > maxLines) {
+        if (text.size() > maxLines && !isMapped()) {
             int clip = text.size() - maxLines;
             for (int i = clip - 1; i >= 0; i--) {
                 text.remove(maxLines + i);
             }
+            index.linesRemoved(maxLines, clip);
             if (cursor.yPos() > maxLines - 1) {
                 cursor.setPos(renderer.getStringWidth(text.get(maxLines - 1)) - 1, maxLines - 1);
             }
@@ -388,6 +486,16 @@ public class GTextPanel extends GBasic implements IScrollable {
         }
     }
 
+    @Override
+    public boolean isFocusable() {
+        return true;
+    }
+
+    @Override
+    public void onFocusChanged(boolean focused) {
+        setFocus(focused);
+    }
+
     public void wrapContent() {
         int width = 0;
         for (String s : getText()) {
@@ -409,16 +517,144 @@ public class GTextPanel extends GBasic implements IScrollable {
             if (Keyboard.isKeyDown(KEY_C)) {
                 copyToBuffer();
             }
+        } else if (Keyboard.isKeyDown(KEY_F3)) {
+            if (Keyboard.isKeyDown(KEY_SHIFT)) {
+                findPrevious();
+            } else {
+                findNext();
+            }
+        }
+    }
+
+    /**
+     * Sets the text to search for. All matches are highlighted,
+     * {@code null} or empty query disables searching.
+     * @since 1.5.2
+     */
+    public void setSearchQuery(String query) {
+        this.searchQuery = query == null || query.isEmpty() ? null : query;
+        this.cancelSearch();
+        if (searchQuery != null) {
+            index.ensureBuilt(getText());
+        }
+    }
+
+    public String getSearchQuery() {
+        return searchQuery;
+    }
+
+    /**
+     * @return whether the search index is built. Searching works without index,
+     * but scans the whole text.
+     * @since 1.5.2
+     */
+    public boolean isSearchIndexReady() {
+        return index.isReady();
+    }
+
+    /**
+     * Selects the next match of the search query after the current selection and scrolls to it.
+     * {@link MappedText} is searched in background, so the match is selected later, see {@link #isSearching()}.
+     * @return whether a match was found
+     * @since 1.5.2
+     */
+    public boolean findNext() {
+        return find(true);
+    }
+
+    /**
+     * Selects the previous match of the search query before the current selection and scrolls to it.
+     * {@link MappedText} is searched in background, so the match is selected later, see {@link #isSearching()}.
+     * @return whether a match was found
+     * @since 1.5.2
+     */
+    public boolean findPrevious() {
+        return find(false);
+    }
+
+    /**
+     * @return whether the search of {@link MappedText} is still running.
+     * The finished search selects its match on this call or on the next frame.
+     * @since 1.5.2
+     */
+    public boolean isSearching() {
+        pollSearch();
+        return mappedSearch != null;
+    }
+
+    private boolean find(boolean forward) {
+        if (searchQuery == null) {
+            return false;
+        }
+        int line = forward ? selection.endYPos() : selection.startYPos();
+        int pos = forward ? selection.endXPos() : selection.startXPos();
+        if (isMapped()) {
+            // decoding the whole file would freeze the render thread
+            cancelSearch();
+            mappedSearch = ((MappedText) getText()).find(searchQuery, line, pos, forward);
+            return false;
+        }
+        index.ensureBuilt(getText());
+        return select(index.find(getText(), searchQuery, line, pos, forward));
+    }
+
+    private void pollSearch() {
+        if (mappedSearch == null || !mappedSearch.isDone()) {
+            return;
+        }
+        CompletableFuture<Long> search = mappedSearch;
+        mappedSearch = null;
+        try {
+            select(search.join());
+        } catch (CompletionException e) {
+            GExt.error(this, "Failed to search the text", e.getCause());
+        } catch (CancellationException ignored) {
+            // the source was closed
+        }
+    }
+
+    private void cancelSearch() {
+        if (mappedSearch != null) {
+            mappedSearch.cancel(false);
+            mappedSearch = null;
+        }
+    }
+
+    private boolean select(long found) {
+        if (found < 0) {
+            return false;
+        }
+        int line = (int) (found >>> 32);
+        int pos = (int) found;
+        cursor.setPos(pos, line);
+        selection.moveTo(cursor);
+        cursor.setPos(pos + searchQuery.length(), line);
+        selection.updateEndFrom(cursor);
+        scrollToLine(line);
+        return true;
+    }
+
+    /**
+     * Scrolls the panel the minimal distance to make the line visible
+     * @since 1.5.2
+     */
+    public void scrollToLine(int line) {
+        int top = getLineStart(line);
+        int bottom = top + getTextHeight();
+        int viewport = getHeight() - getYOffset() * 2;
+        if (top < scrolled) {
+            setScrollVertical(top);
+        } else if (bottom > scrolled + viewport) {
+            setScrollVertical(bottom - viewport);
         }
     }
 
     public void copyToBuffer() {
-        Toolkit.getDefaultToolkit()
-                .getSystemClipboard()
-                .setContents(
-                        new StringSelection(getSelectedText()),
-                        null
-                );
+        Clipboard.setContents(getSelectedText()).whenComplete((v, cause) -> {
+            if (cause != null) {
+                GExt.error(this, "Failed to copy the text to clipboard", cause);
+            }
+        });
     }
 
     @Override
@@ -427,16 +663,38 @@ public class GTextPanel extends GBasic implements IScrollable {
             StyleMap.current().drawFrame(0, 0, getWidth(), getHeight());
         }
 
-        GlStateManager.translate(xOffset, yOffset, 0);
+        pollSearch();
+        GlStateManager.translate(xOffset, yOffset - scrolled, 0);
+        int first = getFirstVisibleLine();
+        int last = getLastVisibleLine();
+
+        // Draw search matches
+
+        if (searchQuery != null) {
+            GL11.glColor4f(1.0F, 1.0F, 0.0F, 1.0F);
+            long[] signature = TextIndex.signature(searchQuery);
+            for (int i = first; i < last; i++) {
+                String line = text.get(i);
+                if (!index.mayContain(i, line, signature)) {
+                    continue;
+                }
+                for (int pos = TextIndex.indexOfIgnoreCase(line, searchQuery, 0); pos >= 0;
+                     pos = TextIndex.indexOfIgnoreCase(line, searchQuery, pos + searchQuery.length())) {
+                    int x = renderer.getStringWidth(line.substring(0, pos));
+                    int width = renderer.getStringWidth(line.substring(pos, pos + searchQuery.length()));
+                    StyleMap.current().drawTextSelection(x, getLineStart(i), width, getTextHeight());
+                }
+            }
+        }
 
         // Draw selection
 
-        if (selection.isEnabled() && hasFocus()) {
+        if (selection.isEnabled() && hasFocus() && !text.isEmpty()) {
             GL11.glColor4f(0.0F, 0.0F, 1.0F, 1.0F);
 
             if (selection.endYPos() > selection.startYPos()) {
                 StyleMap.current().drawTextSelection(selection.startX(), getLineStart(selection.startYPos()), renderer.getStringWidth(text.get(selection.startYPos())) - selection.startX(), getTextHeight());
-                for (int i = selection.startYPos() + 1; i < selection.endYPos(); i++) {
+                for (int i = Math.max(selection.startYPos() + 1, first); i < Math.min(selection.endYPos(), last); i++) {
                     StyleMap.current().drawTextSelection(0, getLineStart(i), renderer.getStringWidth(text.get(i)), getTextHeight());
                 }
                 StyleMap.current().drawTextSelection(0, getLineStart(selection.endYPos()), selection.endX(), getTextHeight());
@@ -454,10 +712,29 @@ public class GTextPanel extends GBasic implements IScrollable {
 
         // Draw text
 
-        text.forEach(str -> {
-            GraphicsHelper.drawScaledString(renderer, str, 0, 0, scale, 0xffffff);
+        GlStateManager.translate(0.0F, first * getLineHeight(), 0.0F);
+        for (int i = first; i < last; i++) {
+            GraphicsHelper.drawScaledString(renderer, text.get(i), 0, 0, scale, 0xffffff);
             GlStateManager.translate(0.0F, getLineHeight(), 0.0F);
-        });
+        }
+    }
+
+    /**
+     * @return the first line visible with current scroll
+     * @since 1.5.2
+     */
+    public int getFirstVisibleLine() {
+        int titleHeight = getTextStart() - getYOffset();
+        return Math.min(getLinesCount(), Math.max(0, (scrolled - titleHeight) / Math.max(1, getLineHeight())));
+    }
+
+    /**
+     * @return the line after the last one visible with current scroll
+     * @since 1.5.2
+     */
+    public int getLastVisibleLine() {
+        int titleHeight = getTextStart() - getYOffset();
+        return Math.min(getLinesCount(), Math.max(0, (scrolled + getHeight() - titleHeight) / Math.max(1, getLineHeight()) + 1));
     }
 
     protected int getLineClicked(int yClicked) {
@@ -499,6 +776,7 @@ public class GTextPanel extends GBasic implements IScrollable {
             }
 
             y -= getTextStart();
+            y += scrolled;
 
             selection.moveTo(cursor);
 
@@ -549,6 +827,7 @@ public class GTextPanel extends GBasic implements IScrollable {
         }
 
         y -= getTextStart();
+        y += scrolled;
 
         int selection = x - getXOffset();
         int selectionLine = getLineClicked(y);
@@ -603,12 +882,24 @@ public class GTextPanel extends GBasic implements IScrollable {
     }
 
     public String getSelectedText() {
+        String first = getText().get(selection.startYPos());
+        int startX = Math.min(selection.startXPos(), first.length());
         if (selection.startYPos() == selection.endYPos()) {
-            return getText().get(selection.startYPos()).substring(selection.startXPos(), selection.endXPos());
+            return first.substring(startX, Math.max(startX, Math.min(selection.endXPos(), first.length())));
+        }
+        String separator = System.lineSeparator();
+        String last = getText().get(selection.endYPos());
+        int endX = Math.min(selection.endXPos(), last.length());
+
+        int length = first.length() - startX + endX + (selection.endYPos() - selection.startYPos()) * separator.length();
+        for (int i = selection.startYPos() + 1; i < selection.endYPos(); i++) {
+            length += getText().get(i).length();
         }
-        return getText().get(selection.startYPos()).substring(selection.startXPos())
-                + String.join(System.lineSeparator(), getText().subList(Math.min(selection.startYPos() + 1, selection.endYPos()), Math.max(selection.endYPos() - 1, selection.startYPos())))
-                + getText().get(selection.endYPos()).substring(0, selection.endXPos());
+        StringBuilder result = new StringBuilder(length).append(first, startX, first.length());
+        for (int i = selection.startYPos() + 1; i < selection.endYPos(); i++) {
+            result.append(separator).append(getText().get(i));
+        }
+        return result.append(separator).append(last, 0, endX).toString();
     }
 
     /**
@@ -633,6 +924,9 @@ public class GTextPanel extends GBasic implements IScrollable {
     @Override
     public void update() {
         super.update();
+        if (isMapped()) {
+            return;
+        }
         if (wrapContent) {
             wrapContent();
         }
@@ -674,6 +968,7 @@ public class GTextPanel extends GBasic implements IScrollable {
     @Override
     public void setScrollVertical(int value) {
         scrolled = value;
+        Redraw.request();
     }
 
     @Override
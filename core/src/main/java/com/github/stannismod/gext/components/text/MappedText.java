@@ -0,0 +1,277 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.GExt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Read-only text source for {@link GTextPanel} backed by a memory-mapped file.</p>
+ *
+ * <p>The file isn't read into the heap. Instead, a sparse index of line offsets
+ * (one offset per {@link #CHECKPOINT_INTERVAL} lines) is built by chunks on a background
+ * thread, and lines are decoded on demand, so opening even a huge file is instant.
+ * Recently decoded lines are kept in a small LRU cache.</p>
+ *
+ * <p>The list grows while the file is being indexed, see {@link #isIndexed()}.
+ * Closing the source stops the indexing, see {@link #isCancelled()}.
+ * Searching the panel scans the file on a background thread as well.
+ * Line breaks are detected by {@code '\n'} byte, so only ASCII-compatible charsets
+ * (like UTF-8 or ISO-8859-1) are supported. Files larger than 2 GB aren't supported.
+ * Lines should be accessed from the render thread only.</p>
+ *
+ * @since 1.5.2
+ */
+public class MappedText extends AbstractList<String> implements RandomAccess, Closeable {
+
+    public static final int CHECKPOINT_INTERVAL = 64;
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    private static final int CHUNK_SIZE = 4 << 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Charset charset;
+    private final Map<Integer, String> cache;
+
+    /** Offsets of every {@link #CHECKPOINT_INTERVAL}-th line */
+    private volatile int[] checkpoints = new int[64];
+    private volatile int lines;
+    private volatile boolean indexed;
+    private volatile boolean cancelled;
+    private volatile boolean closed;
+
+    public MappedText(Path file) throws IOException {
+        this(file, StandardCharsets.UTF_8, DEFAULT_CACHE_SIZE);
+    }
+
+    public MappedText(Path file, Charset charset, int cacheSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        if (channel.size() > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IllegalArgumentException("Files larger than 2 GB aren't supported: " + file);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        this.charset = charset;
+        this.cache = new LinkedHashMap<Integer, String>(cacheSize, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        CompletableFuture.runAsync(this::buildIndex).exceptionally(cause -> {
+            GExt.error("Failed to index " + file, cause);
+            return null;
+        });
+    }
+
+    private void buildIndex() {
+        ByteBuffer data = buffer.duplicate();
+        int limit = data.limit();
+        int[] offsets = checkpoints;
+        int count = 0;
+        int lineStart = 0;
+        for (int chunk = 0; chunk < limit; chunk += CHUNK_SIZE) {
+            if (closed) {
+                // the partial index must not be reported as complete
+                cancelled = true;
+                return;
+            }
+            int end = Math.min(limit, chunk + CHUNK_SIZE);
+            for (int i = chunk; i < end; i++) {
+                if (data.get(i) != '\n') {
+                    continue;
+                }
+                if (count % CHECKPOINT_INTERVAL == 0) {
+                    offsets = checkpoint(offsets, count, lineStart);
+                }
+                count++;
+                lineStart = i + 1;
+            }
+            // publish the chunk
+            checkpoints = offsets;
+            lines = count;
+        }
+        if (lineStart < limit || count == 0) {
+            // the last line without line break
+            if (count % CHECKPOINT_INTERVAL == 0) {
+                offsets = checkpoint(offsets, count, lineStart);
+            }
+            count++;
+        }
+        checkpoints = offsets;
+        lines = count;
+        indexed = true;
+    }
+
+    private static int[] checkpoint(int[] offsets, int line, int offset) {
+        int index = line / CHECKPOINT_INTERVAL;
+        if (index == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[index] = offset;
+        return offsets;
+    }
+
+    /**
+     * @return whether the whole file is indexed, so the list has its final size
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * @return whether the source was closed before the whole file was indexed
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public int size() {
+        return lines;
+    }
+
+    @Override
+    public String get(int index) {
+        int count = lines;
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        String line = cache.get(index);
+        if (line == null) {
+            line = decode(checkpoints, index);
+            cache.put(index, line);
+        }
+        return line;
+    }
+
+    private String decode(int[] offsets, int index) {
+        ByteBuffer data = buffer.duplicate();
+        int start = offsets[index / CHECKPOINT_INTERVAL];
+        for (int skip = index % CHECKPOINT_INTERVAL; skip > 0; skip--) {
+            while (data.get(start++) != '\n') ;
+        }
+        return decode(data, start, lineEnd(data, start));
+    }
+
+    private static int lineEnd(ByteBuffer data, int start) {
+        int end = start;
+        while (end < data.limit() && data.get(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private String decode(ByteBuffer data, int start, int end) {
+        if (end > start && data.get(end - 1) == '\r') {
+            end--;
+        }
+        ByteBuffer line = data.duplicate();
+        line.limit(end);
+        line.position(start);
+        return charset.decode(line).toString();
+    }
+
+    /**
+     * Searches the lines indexed so far on a background thread, ignoring case.
+     * The search stops if the returned future is cancelled or the source is closed.
+     * @see TextIndex#scan
+     */
+    CompletableFuture<Long> find(String query, int line, int pos, boolean forward) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        int count = lines;
+        Lines snapshot = new Lines(checkpoints, count, result);
+        CompletableFuture.runAsync(() -> {
+            try {
+                result.complete(TextIndex.scan(snapshot, query, line, pos, forward, null));
+            } catch (CancellationException e) {
+                result.cancel(false);
+            } catch (Throwable cause) {
+                result.completeExceptionally(cause);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Lines of the source for the background search. Bypasses the cache, which belongs to the render thread,
+     * and decodes the lines by checkpoint intervals, so scanning the file sequentially reads it once.
+     */
+    private final class Lines extends AbstractList<String> implements RandomAccess {
+
+        private final int[] offsets;
+        private final int size;
+        private final Future<?> owner;
+        private final String[] block = new String[CHECKPOINT_INTERVAL];
+        private int decoded = -1;
+
+        Lines(int[] offsets, int size, Future<?> owner) {
+            this.offsets = offsets;
+            this.size = size;
+            this.owner = owner;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String get(int index) {
+            int checkpoint = index / CHECKPOINT_INTERVAL;
+            if (checkpoint != decoded) {
+                if (closed || owner.isDone()) {
+                    throw new CancellationException();
+                }
+                ByteBuffer data = buffer.duplicate();
+                int start = offsets[checkpoint];
+                int count = Math.min(CHECKPOINT_INTERVAL, size - checkpoint * CHECKPOINT_INTERVAL);
+                for (int i = 0; i < count; i++) {
+                    int end = lineEnd(data, start);
+                    block[i] = decode(data, start, end);
+                    start = end + 1;
+                }
+                decoded = checkpoint;
+            }
+            return block[index % CHECKPOINT_INTERVAL];
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        cache.clear();
+        channel.close();
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.GExt;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>Search index of {@link GTextPanel} lines.</p>
+ *
+ * <p>Every line is described with a signature: a 256-bit bloom mask of its lowercase
+ * trigrams. A line can contain the query only if its signature covers the query
+ * signature, so most of the lines are rejected with a few bit tests, and only the
+ * rest are actually scanned.</p>
+ *
+ * <p>The initial index is built on a background thread from a snapshot of lines.
+ * After that, the index is kept in sync with the text: line insertions and removals
+ * shift it, and a line is re-indexed once its string instance changes.</p>
+ *
+ * @since 1.5.2
+ */
+final class TextIndex {
+
+    private static final int WORDS = 4;
+    private static final String[] NO_LINES = new String[0];
+
+    /** Indexed line instances, used to detect edited lines */
+    private String[] lines = NO_LINES;
+    private long[] signatures = new long[0];
+    private int size;
+    private boolean built;
+
+    private CompletableFuture<long[]> build;
+    private String[] buildLines;
+
+    /**
+     * Drops the index, it will be rebuilt on the next search
+     */
+    void clear() {
+        lines = NO_LINES;
+        signatures = new long[0];
+        size = 0;
+        built = false;
+        build = null;
+        buildLines = null;
+    }
+
+    boolean isReady() {
+        poll();
+        return built;
+    }
+
+    /**
+     * Starts building the index in background if it isn't built yet
+     */
+    void ensureBuilt(List<String> text) {
+        poll();
+        if (built || build != null || text instanceof MappedText) {
+            // the snapshot would load the whole file into heap, mapped text is searched by MappedText#find
+            return;
+        }
+        String[] snapshot = text.toArray(NO_LINES);
+        buildLines = snapshot;
+        build = CompletableFuture.supplyAsync(() -> {
+            long[] result = new long[snapshot.length * WORDS];
+            for (int i = 0; i < snapshot.length; i++) {
+                signature(snapshot[i], result, i * WORDS);
+            }
+            return result;
+        });
+    }
+
+    private void poll() {
+        if (build == null || !build.isDone()) {
+            return;
+        }
+        try {
+            signatures = build.join();
+            lines = buildLines;
+            size = lines.length;
+            built = true;
+        } catch (CompletionException e) {
+            GExt.error("Failed to build the text index", e.getCause());
+        }
+        build = null;
+        buildLines = null;
+    }
+
+    void linesInserted(int line, int count) {
+        if (!built || line > size) {
+            return;
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(lines, line, lines, line + count, size - line);
+        System.arraycopy(signatures, line * WORDS, signatures, (line + count) * WORDS, (size - line) * WORDS);
+        Arrays.fill(lines, line, line + count, null);
+        size += count;
+    }
+
+    void linesRemoved(int line, int count) {
+        if (!built || line >= size) {
+            return;
+        }
+        count = Math.min(count, size - line);
+        System.arraycopy(lines, line + count, lines, line, size - line - count);
+        System.arraycopy(signatures, (line + count) * WORDS, signatures, line * WORDS, (size - line - count) * WORDS);
+        Arrays.fill(lines, size - count, size, null);
+        size -= count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (lines.length < capacity) {
+            int grown = Math.max(capacity, lines.length + (lines.length >> 1) + 16);
+            lines = Arrays.copyOf(lines, grown);
+            signatures = Arrays.copyOf(signatures, grown * WORDS);
+        }
+    }
+
+    /**
+     * @return whether the line may contain the text with given signature
+     */
+    boolean mayContain(int index, String line, long[] query) {
+        int offset;
+        long[] target;
+        if (built && index < size && lines[index] == line) {
+            target = signatures;
+            offset = index * WORDS;
+        } else if (built) {
+            // the line is new or was edited since indexing
+            ensureCapacity(Math.max(size, index + 1));
+            size = Math.max(size, index + 1);
+            lines[index] = line;
+            Arrays.fill(signatures, index * WORDS, index * WORDS + WORDS, 0L);
+            signature(line, signatures, index * WORDS);
+            target = signatures;
+            offset = index * WORDS;
+        } else {
+            // not built yet, so signatures are useless
+            return true;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            if ((target[offset + i] & query[i]) != query[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches the text for the query, ignoring case. The search wraps around the text bounds.
+     * @param forward whether to search forward or backward from the given position
+     * @return the position packed as {@code line << 32 | pos} or {@code -1} if nothing found
+     */
+    long find(List<String> text, String query, int line, int pos, boolean forward) {
+        poll();
+        return scan(text, query, line, pos, forward, this);
+    }
+
+    /**
+     * @param index the index to filter the lines with or {@code null} to check every line
+     * @see #find(List, String, int, int, boolean)
+     */
+    static long scan(List<String> text, String query, int line, int pos, boolean forward, TextIndex index) {
+        int count = text.size();
+        if (query.isEmpty() || count == 0) {
+            return -1;
+        }
+        long[] signature = index != null ? signature(query) : null;
+        line = Math.max(0, Math.min(line, count - 1));
+        for (int k = 0; k <= count; k++) {
+            int at = forward ? (line + k) % count : ((line - k) % count + count) % count;
+            String s = text.get(at);
+            if (s.length() < query.length() || index != null && !index.mayContain(at, s, signature)) {
+                continue;
+            }
+            int found;
+            if (forward) {
+                found = indexOfIgnoreCase(s, query, k == 0 ? pos : 0);
+            } else {
+                found = lastIndexOfIgnoreCase(s, query, k == 0 ? pos - query.length() : s.length());
+            }
+            if (found >= 0) {
+                return (long) at << 32 | found;
+            }
+        }
+        return -1;
+    }
+
+    static long[] signature(CharSequence s) {
+        long[] result = new long[WORDS];
+        signature(s, result, 0);
+        return result;
+    }
+
+    private static void signature(CharSequence s, long[] target, int offset) {
+        int hash = 0;
+        for (int i = 0; i < s.length(); i++) {
+            hash = (hash << 16) | (Character.toLowerCase(s.charAt(i)) & 0xffff);
+            if (i >= 2) {
+                int h = (hash * 0x9e3779b1) ^ Character.toLowerCase(s.charAt(i - 2)) * 0x85ebca6b;
+                int bit = (h >>> 24) & (WORDS * 64 - 1);
+                target[offset + (bit >>> 6)] |= 1L << bit;
+            }
+        }
+    }
+
+    static int indexOfIgnoreCase(String s, String query, int from) {
+        for (int i = Math.max(0, from), last = s.length() - query.length(); i <= last; i++) {
+            if (s.regionMatches(true, i, query, 0, query.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOfIgnoreCase(String s, String query, int from) {
+        for (int i = Math.min(from, s.length() - query.length()); i >= 0; i--) {
+            if (s.regionMatches(true, i, query, 0, query.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.engine;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL14;
+import org.lwjgl.opengl.GL30;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Offscreen copy of the last composed GUI frame. The root layout renders into the cache
+ * only when something has changed, idle frames cost a single textured quad.
+ * The cache is shared by the roots, the one drawn last owns it.
+ * @since 1.5.2
+ */
+public class FrameCache {
+
+    // the core is shared by LWJGL 2 and 3 versions, which name the buffer variants of glGet differently
+    private static final MethodHandle GET_INTEGERS = findGetter("glGetIntegerv", "glGetInteger", IntBuffer.class);
+    private static final MethodHandle GET_FLOATS = findGetter("glGetFloatv", "glGetFloat", FloatBuffer.class);
+
+    private static final FrameCache instance = new FrameCache();
+
+    public static FrameCache getInstance() {
+        return instance;
+    }
+
+    // LWJGL 2 requires 16 elements for any glGet
+    private final IntBuffer viewport = GLAllocation.createDirectIntBuffer(16);
+    private final FloatBuffer clearColor = GLAllocation.createDirectFloatBuffer(16);
+    private final int[] blend = new int[4];
+
+    private int framebuffer = -1;
+    private int texture = -1;
+    private int depthBuffer = -1;
+    private int width;
+    private int height;
+
+    private int previousFramebuffer;
+    private Object owner;
+
+    private FrameCache() {}
+
+    /**
+     * @return whether the cache holds the frame of the given owner matching the current viewport
+     */
+    public boolean isValid(Object owner) {
+        if (this.owner != owner || framebuffer < 0) {
+            return false;
+        }
+        getIntegers(GL11.GL_VIEWPORT, viewport);
+        return viewport.get(2) == width && viewport.get(3) == height;
+    }
+
+    /**
+     * Redirects the rendering into the cache, the previous content is dropped
+     * @param owner the root the frame is drawn for
+     */
+    public void begin(Object owner) {
+        getIntegers(GL11.GL_VIEWPORT, viewport);
+        if (framebuffer < 0 || viewport.get(2) != width || viewport.get(3) != height) {
+            allocate(viewport.get(2), viewport.get(3));
+        }
+        this.owner = owner;
+        previousFramebuffer = GL11.glGetInteger(GL30.GL_FRAMEBUFFER_BINDING);
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, framebuffer);
+        GL11.glViewport(0, 0, width, height);
+
+        getFloats(GL11.GL_COLOR_CLEAR_VALUE, clearColor);
+        GL11.glClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+        GL11.glClear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT);
+        GL11.glClearColor(clearColor.get(0), clearColor.get(1), clearColor.get(2), clearColor.get(3));
+
+        // keeps the alpha accumulated, so the cached frame is premultiplied
+        saveBlend();
+        GL14.glBlendFuncSeparate(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA, GL11.GL_ONE, GL11.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /**
+     * Restores the rendering into the framebuffer bound before {@link #begin(Object)}
+     */
+    public void end() {
+        restoreBlend();
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, previousFramebuffer);
+        GL11.glViewport(viewport.get(0), viewport.get(1), viewport.get(2), viewport.get(3));
+    }
+
+    /**
+     * Draws the cached frame stretched over the given area, which should match the whole view
+     */
+    public void draw(int x, int y, int width, int height, float zLevel) {
+        int previousTexture = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+        boolean blending = GL11.glIsEnabled(GL11.GL_BLEND);
+        saveBlend();
+        GL11.glEnable(GL11.GL_BLEND);
+        GL11.glBlendFunc(GL11.GL_ONE, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+        GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.enableTexture();
+
+        // the texture origin is the bottom left corner
+        GraphicsEngine.begin(GL11.GL_QUADS, VertexFormat.POSITION_TEX)
+            .pos(x, y + height, zLevel).tex(0.0F, 0.0F).endVertex()
+            .pos(x + width, y + height, zLevel).tex(1.0F, 0.0F).endVertex()
+            .pos(x + width, y, zLevel).tex(1.0F, 1.0F).endVertex()
+            .pos(x, y, zLevel).tex(0.0F, 1.0F).endVertex()
+        .draw();
+
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, previousTexture);
+        restoreBlend();
+        if (!blending) {
+            GL11.glDisable(GL11.GL_BLEND);
+        }
+    }
+
+    /**
+     * Forces the next frame to be drawn into the cache again
+     */
+    public void invalidate() {
+        owner = null;
+    }
+
+    public void destroy() {
+        if (framebuffer >= 0) {
+            GL30.glDeleteFramebuffers(framebuffer);
+            GL11.glDeleteTextures(texture);
+            GL30.glDeleteRenderbuffers(depthBuffer);
+            framebuffer = texture = depthBuffer = -1;
+        }
+        owner = null;
+    }
+
+    private void allocate(int width, int height) {
+        destroy();
+        this.width = width;
+        this.height = height;
+
+        int boundTexture = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+        texture = GL11.glGenTextures();
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, width, height, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, boundTexture);
+
+        int boundRenderbuffer = GL11.glGetInteger(GL30.GL_RENDERBUFFER_BINDING);
+        depthBuffer = GL30.glGenRenderbuffers();
+        GL30.glBindRenderbuffer(GL30.GL_RENDERBUFFER, depthBuffer);
+        GL30.glRenderbufferStorage(GL30.GL_RENDERBUFFER, GL30.GL_DEPTH24_STENCIL8, width, height);
+        GL30.glBindRenderbuffer(GL30.GL_RENDERBUFFER, boundRenderbuffer);
+
+        int boundFramebuffer = GL11.glGetInteger(GL30.GL_FRAMEBUFFER_BINDING);
+        framebuffer = GL30.glGenFramebuffers();
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, framebuffer);
+        GL30.glFramebufferTexture2D(GL30.GL_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL11.GL_TEXTURE_2D, texture, 0);
+        GL30.glFramebufferRenderbuffer(GL30.GL_FRAMEBUFFER, GL30.GL_DEPTH_STENCIL_ATTACHMENT, GL30.GL_RENDERBUFFER, depthBuffer);
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, boundFramebuffer);
+    }
+
+    private static MethodHandle findGetter(String name, String legacyName, Class<?> buffer) {
+        MethodType type = MethodType.methodType(void.class, int.class, buffer);
+        try {
+            return MethodHandles.publicLookup().findStatic(GL11.class, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            try {
+                return MethodHandles.publicLookup().findStatic(GL11.class, legacyName, type);
+            } catch (NoSuchMethodException | IllegalAccessException legacy) {
+                throw new IllegalStateException("Unsupported LWJGL version, no " + name + " found", legacy);
+            }
+        }
+    }
+
+    private static void getIntegers(int name, IntBuffer result) {
+        try {
+            GET_INTEGERS.invokeExact(name, result);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to get GL state " + name, t);
+        }
+    }
+
+    private static void getFloats(int name, FloatBuffer result) {
+        try {
+            GET_FLOATS.invokeExact(name, result);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to get GL state " + name, t);
+        }
+    }
+
+    private void saveBlend() {
+        blend[0] = GL11.glGetInteger(GL14.GL_BLEND_SRC_RGB);
+        blend[1] = GL11.glGetInteger(GL14.GL_BLEND_DST_RGB);
+        blend[2] = GL11.glGetInteger(GL14.GL_BLEND_SRC_ALPHA);
+        blend[3] = GL11.glGetInteger(GL14.GL_BLEND_DST_ALPHA);
+    }
+
+    private void restoreBlend() {
+        GL14.glBlendFuncSeparate(blend[0], blend[1], blend[2], blend[3]);
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.event;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.IScrollable;
+import com.github.stannismod.gext.api.event.IEventHandler;
+import com.github.stannismod.gext.api.event.UIEvent;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.utils.Keyboard;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Dispatches the input to the components under the cursor instead of broadcasting it
+ * through the whole tree. The hit path is resolved using the spatial indices of the layouts,
+ * so the dispatch cost depends on the depth of the tree, not on the amount of components.</p>
+ *
+ * <p>Every event goes through the capture phase from the root down to the target, the target phase
+ * and the bubble phase back to the root. Components receive it in {@link IGraphicsComponent#handleEvent(UIEvent)},
+ * additional handlers can be registered with {@link #addListener(IGraphicsComponent, UIEvent.Type, IEventHandler, boolean)}.
+ * The cursor movement also produces {@link UIEvent.Type#MOUSE_ENTER} and {@link UIEvent.Type#MOUSE_LEAVE}
+ * for the components whose hover state changed.</p>
+ *
+ * <p>Key events follow the path of the component focused by the {@link FocusManager}, the press focuses
+ * the deepest focusable component under the cursor. Tab and Shift+Tab move the focus and aren't delivered.
+ * While the root has an active context menu,
+ * the mouse input is passed to the root the legacy way, since the menu isn't a part of the content.</p>
+ *
+ * @since 1.5.2
+ */
+public class EventRouter {
+
+    private final BasicLayout<?> root;
+    private final FocusManager focus;
+    private final Map<IGraphicsComponent, Listeners> listeners = new WeakHashMap<>();
+
+    private final HitPath path = new HitPath();
+    private final HitPath pressed = new HitPath();
+    private final HitPath focused = new HitPath();
+    private HitPath hovered = new HitPath();
+    private HitPath spare = new HitPath();
+    /** Modifier keys of the event being dispatched */
+    private int modifiers;
+
+    public EventRouter(@NotNull BasicLayout<?> root) {
+        this.root = root;
+        this.focus = new FocusManager(root);
+    }
+
+    public @NotNull FocusManager getFocusManager() {
+        return focus;
+    }
+
+    public @NotNull BasicLayout<?> getRoot() {
+        return root;
+    }
+
+    /**
+     * Registers the handler called when the event of the given type goes through the component
+     * @param capture whether the handler is called at the capture phase instead of the bubble one.
+     *                At the target phase capture handlers are called first.
+     */
+    public void addListener(@NotNull IGraphicsComponent component, @NotNull UIEvent.Type type,
+                            @NotNull IEventHandler handler, boolean capture) {
+        listeners.computeIfAbsent(component, c -> new Listeners()).get(type, capture).add(handler);
+    }
+
+    public void addListener(@NotNull IGraphicsComponent component, @NotNull UIEvent.Type type, @NotNull IEventHandler handler) {
+        addListener(component, type, handler, false);
+    }
+
+    public boolean removeListener(@NotNull IGraphicsComponent component, @NotNull UIEvent.Type type,
+                                  @NotNull IEventHandler handler, boolean capture) {
+        Listeners registered = listeners.get(component);
+        return registered != null && registered.get(type, capture).remove(handler);
+    }
+
+    public void removeListeners(@NotNull IGraphicsComponent component) {
+        listeners.remove(component);
+    }
+
+    /**
+     * @return the components under the cursor after the last move, from the root to the deepest one
+     */
+    public List<IGraphicsComponent> getHovered() {
+        return new ArrayList<>(hovered.nodes);
+    }
+
+    /**
+     * @return the component which received the last press, the drags are routed to
+     */
+    public @NotNull IGraphicsComponent getPressed() {
+        validate(pressed);
+        return pressed.size() > 0 ? pressed.target() : root;
+    }
+
+    /**
+     * Forgets the pressed and the hovered components, e.g. when the root is shown again. The focus is kept.
+     * @since 1.5.2
+     */
+    public void reset() {
+        pressed.clear();
+        hovered.clear();
+    }
+
+    // All coordinates below are relative to the root frame
+
+    public void mousePressed(int x, int y, int button) {
+        modifiers = Keyboard.getModifiers();
+        if (root.hasActiveMenu()) {
+            root.onMousePressed(x, y, button);
+            return;
+        }
+        resolve(path, x, y);
+        pressed.copyFrom(path);
+        updateFocus();
+        dispatch(path, new UIEvent(UIEvent.Type.MOUSE_PRESSED, path.nodes, path.xs, path.ys, button, 0, 0, 0, '\0', 0, modifiers));
+    }
+
+    public void mouseReleased(int x, int y, int button) {
+        modifiers = Keyboard.getModifiers();
+        if (root.hasActiveMenu()) {
+            root.onMouseReleased(x, y, button);
+            return;
+        }
+        resolve(path, x, y);
+        dispatch(path, new UIEvent(UIEvent.Type.MOUSE_RELEASED, path.nodes, path.xs, path.ys, button, 0, 0, 0, '\0', 0, modifiers));
+    }
+
+    public void mouseMoved(int x, int y) {
+        modifiers = Keyboard.getModifiers();
+        if (root.hasActiveMenu()) {
+            root.onHover(x, y);
+            return;
+        }
+        resolve(spare, x, y);
+        updateHover();
+        dispatch(hovered, new UIEvent(UIEvent.Type.MOUSE_MOVED, hovered.nodes, hovered.xs, hovered.ys, 0, 0, 0, 0, '\0', 0, modifiers));
+    }
+
+    /**
+     * Drags are delivered to the path of the last pressed component, so it keeps receiving them
+     * when the cursor leaves its frame
+     */
+    public void mouseDragged(int x, int y, int button, double xAmount, double yAmount) {
+        modifiers = Keyboard.getModifiers();
+        resolve(spare, x, y);
+        updateHover();
+        HitPath target = hovered;
+        if (validate(pressed) > 0) {
+            relocate(pressed, x, y);
+            target = pressed;
+        }
+        dispatch(target, new UIEvent(UIEvent.Type.MOUSE_DRAGGED, target.nodes, target.xs, target.ys, button, 0, xAmount, yAmount, '\0', 0, modifiers));
+    }
+
+    public void mouseScrolled(int x, int y, double amount) {
+        modifiers = Keyboard.getModifiers();
+        resolve(path, x, y);
+        dispatch(path, new UIEvent(UIEvent.Type.MOUSE_SCROLLED, path.nodes, path.xs, path.ys, 0, amount, 0, 0, '\0', 0, modifiers));
+    }
+
+    public void keyPressed(char typedChar, int keyCode) {
+        modifiers = Keyboard.getModifiers();
+        if (keyCode == Keyboard.KEY_TAB && !root.hasActiveMenu()) {
+            if ((modifiers & UIEvent.MOD_SHIFT) != 0) {
+                focus.focusPrevious();
+            } else {
+                focus.focusNext();
+            }
+            return;
+        }
+        List<IGraphicsComponent> nodes = focus.getFocusPath();
+        focused.clear();
+        for (int i = 0; i < nodes.size(); i++) {
+            focused.add(nodes.get(i), 0, 0);
+        }
+        dispatch(focused, new UIEvent(UIEvent.Type.KEY_PRESSED, focused.nodes, focused.xs, focused.ys, 0, 0, 0, 0, typedChar, keyCode, modifiers));
+    }
+
+    /**
+     * Moves the focus to the deepest focusable component of the pressed path or clears it
+     */
+    private void updateFocus() {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (path.nodes.get(i).isFocusable()) {
+                focus.requestFocus(path.nodes.get(i));
+                return;
+            }
+        }
+        focus.clearFocus();
+    }
+
+    /**
+     * Delivers the event to all components of its path, honoring the propagation stop
+     */
+    private void dispatch(HitPath path, UIEvent event) {
+        List<IGraphicsComponent> nodes = path.nodes;
+        int target = nodes.size() - 1;
+        for (int i = 0; i < target && !event.isPropagationStopped(); i++) {
+            event.moveTo(i, UIEvent.Phase.CAPTURE);
+            notify(nodes.get(i), event, true);
+            nodes.get(i).handleEvent(event);
+        }
+        if (!event.isPropagationStopped()) {
+            deliver(nodes.get(target), event, target);
+        }
+        for (int i = target - 1; i >= 0 && !event.isPropagationStopped(); i--) {
+            event.moveTo(i, UIEvent.Phase.BUBBLE);
+            notify(nodes.get(i), event, false);
+            nodes.get(i).handleEvent(event);
+        }
+    }
+
+    private void deliver(IGraphicsComponent component, UIEvent event, int index) {
+        event.moveTo(index, UIEvent.Phase.TARGET);
+        notify(component, event, true);
+        notify(component, event, false);
+        component.handleEvent(event);
+    }
+
+    private void notify(IGraphicsComponent component, UIEvent event, boolean capture) {
+        Listeners registered = listeners.get(component);
+        if (registered == null) {
+            return;
+        }
+        List<IEventHandler> handlers = registered.find(event.getType(), capture);
+        if (handlers != null) {
+            for (int i = 0; i < handlers.size(); i++) {
+                handlers.get(i).handle(event);
+            }
+        }
+    }
+
+    /**
+     * Compares the freshly resolved path in {@link #spare} with the hovered one and sends
+     * leave events deepest first, then enter events outermost first
+     */
+    private void updateHover() {
+        int common = 0;
+        int limit = Math.min(hovered.size(), spare.size());
+        while (common < limit && hovered.nodes.get(common) == spare.nodes.get(common)) {
+            common++;
+        }
+        for (int i = hovered.size() - 1; i >= common; i--) {
+            deliver(hovered.nodes.get(i), new UIEvent(UIEvent.Type.MOUSE_LEAVE, hovered.nodes.subList(0, i + 1),
+                    hovered.xs, hovered.ys, 0, 0, 0, 0, '\0', 0, modifiers), i);
+        }
+        for (int i = common; i < spare.size(); i++) {
+            deliver(spare.nodes.get(i), new UIEvent(UIEvent.Type.MOUSE_ENTER, spare.nodes.subList(0, i + 1),
+                    spare.xs, spare.ys, 0, 0, 0, 0, '\0', 0, modifiers), i);
+        }
+        HitPath previous = hovered;
+        hovered = spare;
+        spare = previous;
+    }
+
+    /**
+     * Walks down from the root choosing the topmost visible component under the cursor at each level
+     */
+    private void resolve(HitPath path, int x, int y) {
+        path.clear();
+        path.add(root, x, y);
+        IGraphicsComponent node = root;
+        while (node instanceof BasicLayout) {
+            int contentX = x;
+            int contentY = y;
+            if (node instanceof IScrollable) {
+                contentX += ((IScrollable) node).getScrollHorizontal();
+                contentY += ((IScrollable) node).getScrollVertical();
+            }
+            IGraphicsComponent top = topmost((BasicLayout<?>) node, contentX, contentY);
+            if (top == null) {
+                break;
+            }
+            x = contentX - top.getX();
+            y = contentY - top.getY();
+            path.add(top, x, y);
+            node = top;
+        }
+    }
+
+    private IGraphicsComponent topmost(BasicLayout<?> layout, int x, int y) {
+        List<? extends IGraphicsComponent> hits = layout.getComponentsAt(x, y);
+        for (int i = hits.size() - 1; i >= 0; i--) {
+            if (hits.get(i).visible()) {
+                return hits.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recomputes the local coordinates along the existing path
+     */
+    private void relocate(HitPath path, int x, int y) {
+        path.xs[0] = x;
+        path.ys[0] = y;
+        for (int i = 1; i < path.size(); i++) {
+            IGraphicsComponent parent = path.nodes.get(i - 1);
+            IGraphicsComponent child = path.nodes.get(i);
+            if (parent instanceof IScrollable) {
+                x += ((IScrollable) parent).getScrollHorizontal();
+                y += ((IScrollable) parent).getScrollVertical();
+            }
+            x -= child.getX();
+            y -= child.getY();
+            path.xs[i] = x;
+            path.ys[i] = y;
+        }
+    }
+
+    /**
+     * Cuts the path at the first component which was removed from its layout since the path was resolved
+     * @return the remaining length
+     */
+    private int validate(HitPath path) {
+        if (path.size() > 0 && path.nodes.get(0) != root) {
+            path.clear();
+        }
+        for (int i = 1; i < path.size(); i++) {
+            IGraphicsComponent parent = path.nodes.get(i - 1);
+            IGraphicsComponent child = path.nodes.get(i);
+            if (child.getParent() != parent || parent instanceof BasicLayout && !((BasicLayout<?>) parent).hasChild(child)) {
+                path.truncate(i);
+                break;
+            }
+        }
+        return path.size();
+    }
+
+    private static final class HitPath {
+
+        private final List<IGraphicsComponent> nodes = new ArrayList<>();
+        private int[] xs = new int[8];
+        private int[] ys = new int[8];
+
+        private int size() {
+            return nodes.size();
+        }
+
+        private IGraphicsComponent target() {
+            return nodes.get(nodes.size() - 1);
+        }
+
+        private void add(IGraphicsComponent component, int x, int y) {
+            int index = nodes.size();
+            if (index == xs.length) {
+                xs = Arrays.copyOf(xs, index * 2);
+                ys = Arrays.copyOf(ys, index * 2);
+            }
+            nodes.add(component);
+            xs[index] = x;
+            ys[index] = y;
+        }
+
+        private void truncate(int size) {
+            nodes.subList(size, nodes.size()).clear();
+        }
+
+        private void clear() {
+            nodes.clear();
+        }
+
+        private void copyFrom(HitPath other) {
+            clear();
+            for (int i = 0; i < other.size(); i++) {
+                add(other.nodes.get(i), other.xs[i], other.ys[i]);
+            }
+        }
+    }
+
+    private static final class Listeners {
+
+        private final Map<UIEvent.Type, List<IEventHandler>> capture = new EnumMap<>(UIEvent.Type.class);
+        private final Map<UIEvent.Type, List<IEventHandler>> bubble = new EnumMap<>(UIEvent.Type.class);
+
+        private List<IEventHandler> get(UIEvent.Type type, boolean capture) {
+            return (capture ? this.capture : bubble).computeIfAbsent(type, t -> new ArrayList<>());
+        }
+
+        private List<IEventHandler> find(UIEvent.Type type, boolean capture) {
+            return (capture ? this.capture : bubble).get(type);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.event;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Tracks the component holding the keyboard focus within the root. The key events are delivered
+ * only along the path from the root to the focused component, so the cost of a keystroke
+ * depends on the depth of the tree, not on the amount of components.</p>
+ *
+ * <p>Only the components returning {@code true} from {@link IGraphicsComponent#isFocusable()} can be focused.
+ * The traversal order of {@link #focusNext()} and {@link #focusPrevious()} is the rendering order
+ * of the content, nested layouts are traversed in place.</p>
+ *
+ * @since 1.5.2
+ */
+public class FocusManager {
+
+    private final BasicLayout<?> root;
+    private IGraphicsComponent focused;
+
+    public FocusManager(@NotNull BasicLayout<?> root) {
+        this.root = root;
+    }
+
+    /**
+     * @return the focused component or {@code null} if there is no one or it was removed from the root
+     */
+    public @Nullable IGraphicsComponent getFocused() {
+        if (focused != null && !isAttached(focused)) {
+            IGraphicsComponent lost = focused;
+            focused = null;
+            lost.onFocusChanged(false);
+        }
+        return focused;
+    }
+
+    public boolean hasFocus(@NotNull IGraphicsComponent component) {
+        return getFocused() == component;
+    }
+
+    /**
+     * Moves the focus to the component, notifying the previous focus owner
+     * @param component the component to focus, {@code null} to clear the focus
+     * @return false if the component can't be focused or isn't in the root
+     */
+    public boolean requestFocus(@Nullable IGraphicsComponent component) {
+        if (component != null && (!component.isFocusable() || !isAttached(component))) {
+            return false;
+        }
+        IGraphicsComponent previous = getFocused();
+        if (previous == component) {
+            return true;
+        }
+        focused = component;
+        if (previous != null) {
+            previous.onFocusChanged(false);
+        }
+        if (component != null) {
+            component.onFocusChanged(true);
+        }
+        return true;
+    }
+
+    public void clearFocus() {
+        requestFocus(null);
+    }
+
+    /**
+     * Moves the focus to the next focusable component, wrapping around
+     * @return false if there is nothing to focus
+     */
+    public boolean focusNext() {
+        return traverse(1);
+    }
+
+    /**
+     * Moves the focus to the previous focusable component, wrapping around
+     * @return false if there is nothing to focus
+     */
+    public boolean focusPrevious() {
+        return traverse(-1);
+    }
+
+    /**
+     * @return the components from the root to the focused one, only the root if nothing is focused
+     */
+    public @NotNull List<IGraphicsComponent> getFocusPath() {
+        List<IGraphicsComponent> path = new ArrayList<>();
+        IGraphicsComponent component = getFocused();
+        if (component != null) {
+            for (; component != root; component = component.getParent()) {
+                path.add(component);
+            }
+        }
+        path.add(root);
+        Collections.reverse(path);
+        return path;
+    }
+
+    private boolean traverse(int step) {
+        List<IGraphicsComponent> order = new ArrayList<>();
+        collect(root, order);
+        if (order.isEmpty()) {
+            return false;
+        }
+        int index = order.indexOf(getFocused());
+        if (index < 0) {
+            index = step > 0 ? 0 : order.size() - 1;
+        } else {
+            index = Math.floorMod(index + step, order.size());
+        }
+        return requestFocus(order.get(index));
+    }
+
+    private void collect(IGraphicsComponent component, List<IGraphicsComponent> order) {
+        if (!component.visible()) {
+            return;
+        }
+        if (component != root && component.isFocusable()) {
+            order.add(component);
+        }
+        if (component instanceof BasicLayout) {
+            List<? extends IGraphicsComponent> children = ((BasicLayout<?>) component).getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                collect(children.get(i), order);
+            }
+        }
+    }
+
+    /**
+     * @return whether every layout on the way to the root still contains the component
+     */
+    private boolean isAttached(IGraphicsComponent component) {
+        while (component != root) {
+            IGraphicsComponent parent = component.getParent();
+            if (!(parent instanceof BasicLayout) || parent == component || !((BasicLayout<?>) parent).hasChild(component)) {
+                return false;
+            }
+            component = parent;
+        }
+        return true;
+    }
+}
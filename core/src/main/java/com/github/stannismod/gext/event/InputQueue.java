@@ -0,0 +1,251 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.event;
+
+import com.github.stannismod.gext.utils.Keyboard;
+import com.github.stannismod.gext.utils.Redraw;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Collects the raw input of a root between frames and dispatches it once per frame,
+ * e.g. right before rendering. The platform can produce dozens of cursor events per frame,
+ * so consecutive moves, drags of the same button and scrolls are merged into one event:
+ * the latest position is kept and the distances are summed.</p>
+ *
+ * <p>Presses, releases and keys are never merged, so the order of the transitions is kept.
+ * Events are stored in a ring of primitive arrays, which grows only if the input of one frame doesn't fit.</p>
+ *
+ * @since 1.5.2
+ */
+public class InputQueue {
+
+    private static final int PRESSED = 0;
+    private static final int RELEASED = 1;
+    private static final int MOVED = 2;
+    private static final int DRAGGED = 3;
+    private static final int SCROLLED = 4;
+    private static final int KEY = 5;
+
+    private int[] types;
+    private int[] xs;
+    private int[] ys;
+    /** Mouse button or key code */
+    private int[] codes;
+    /** Scroll amount or X distance of the drag */
+    private double[] firstAmounts;
+    /** Y distance of the drag */
+    private double[] secondAmounts;
+    private char[] chars;
+    private int head;
+    private int size;
+
+    public InputQueue() {
+        this(64);
+    }
+
+    /**
+     * @param capacity the initial amount of events stored, rounded up to a power of two
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int rounded = Integer.highestOneBit(capacity);
+        allocate(rounded < capacity ? rounded << 1 : rounded);
+    }
+
+    public void mousePressed(int x, int y, int button) {
+        push(PRESSED, x, y, button, 0, 0, '\0');
+    }
+
+    public void mouseReleased(int x, int y, int button) {
+        push(RELEASED, x, y, button, 0, 0, '\0');
+    }
+
+    public void mouseMoved(int x, int y) {
+        int last = last();
+        if (last >= 0 && types[last] == MOVED) {
+            xs[last] = x;
+            ys[last] = y;
+        } else {
+            push(MOVED, x, y, 0, 0, 0, '\0');
+        }
+    }
+
+    public void mouseDragged(int x, int y, int button, double xAmount, double yAmount) {
+        int last = last();
+        if (last >= 0 && types[last] == DRAGGED && codes[last] == button) {
+            xs[last] = x;
+            ys[last] = y;
+            firstAmounts[last] += xAmount;
+            secondAmounts[last] += yAmount;
+        } else {
+            push(DRAGGED, x, y, button, xAmount, yAmount, '\0');
+        }
+    }
+
+    public void mouseScrolled(int x, int y, double amount) {
+        int last = last();
+        if (last >= 0 && types[last] == SCROLLED) {
+            xs[last] = x;
+            ys[last] = y;
+            firstAmounts[last] += amount;
+        } else {
+            push(SCROLLED, x, y, 0, amount, 0, '\0');
+        }
+    }
+
+    public void keyPressed(char typedChar, int keyCode) {
+        push(KEY, 0, 0, keyCode, 0, 0, typedChar);
+    }
+
+    /**
+     * @return the amount of events waiting for dispatch
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = size = 0;
+    }
+
+    /**
+     * Dispatches all queued events in their order. Events queued by the handlers
+     * are dispatched in the same call. The keyboard state is captured once for all of them,
+     * see {@link Keyboard#snapshot()}. The input requests the GUI to be redrawn, see {@link Redraw}.
+     * @return the amount of dispatched events
+     */
+    public int flush(@NotNull EventRouter router) {
+        if (size == 0) {
+            return 0;
+        }
+        Redraw.request();
+        boolean captured = !Keyboard.isSnapshot();
+        if (captured) {
+            Keyboard.snapshot();
+        }
+        try {
+            return dispatch(router);
+        } finally {
+            if (captured) {
+                Keyboard.release();
+            }
+        }
+    }
+
+    private int dispatch(EventRouter router) {
+        int dispatched = 0;
+        while (size > 0) {
+            int index = head;
+            int type = types[index];
+            int x = xs[index];
+            int y = ys[index];
+            int code = codes[index];
+            double first = firstAmounts[index];
+            double second = secondAmounts[index];
+            char typedChar = chars[index];
+            head = (head + 1) & (types.length - 1);
+            size--;
+            switch (type) {
+                case PRESSED:
+                    router.mousePressed(x, y, code);
+                    break;
+                case RELEASED:
+                    router.mouseReleased(x, y, code);
+                    break;
+                case MOVED:
+                    router.mouseMoved(x, y);
+                    break;
+                case DRAGGED:
+                    router.mouseDragged(x, y, code, first, second);
+                    break;
+                case SCROLLED:
+                    router.mouseScrolled(x, y, first);
+                    break;
+                default:
+                    router.keyPressed(typedChar, code);
+                    break;
+            }
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    private int last() {
+        return size == 0 ? -1 : (head + size - 1) & (types.length - 1);
+    }
+
+    private void push(int type, int x, int y, int code, double first, double second, char typedChar) {
+        if (size == types.length) {
+            grow();
+        }
+        int index = (head + size) & (types.length - 1);
+        types[index] = type;
+        xs[index] = x;
+        ys[index] = y;
+        codes[index] = code;
+        firstAmounts[index] = first;
+        secondAmounts[index] = second;
+        chars[index] = typedChar;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        types = new int[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        codes = new int[capacity];
+        firstAmounts = new double[capacity];
+        secondAmounts = new double[capacity];
+        chars = new char[capacity];
+    }
+
+    /**
+     * Doubles the ring unwrapping it, so the head is moved to zero
+     */
+    private void grow() {
+        int capacity = types.length;
+        int tail = capacity - head;
+        int[] oldTypes = types;
+        int[] oldXs = xs;
+        int[] oldYs = ys;
+        int[] oldCodes = codes;
+        double[] oldFirst = firstAmounts;
+        double[] oldSecond = secondAmounts;
+        char[] oldChars = chars;
+        allocate(capacity * 2);
+        unwrap(oldTypes, types, tail);
+        unwrap(oldXs, xs, tail);
+        unwrap(oldYs, ys, tail);
+        unwrap(oldCodes, codes, tail);
+        unwrap(oldFirst, firstAmounts, tail);
+        unwrap(oldSecond, secondAmounts, tail);
+        unwrap(oldChars, chars, tail);
+        head = 0;
+    }
+
+    private void unwrap(Object from, Object to, int tail) {
+        System.arraycopy(from, head, to, 0, tail);
+        System.arraycopy(from, 0, to, tail, head);
+    }
+}
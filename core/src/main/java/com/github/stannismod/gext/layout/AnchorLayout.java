@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Pins the edges of the children to the edges of the container.</p>
+ *
+ * <p>A child anchored to both opposite edges is stretched between them, a child anchored to one
+ * edge keeps its preferred size along that axis. Children not anchored along an axis keep
+ * their own position on it.</p>
+ *
+ * @since 1.5.2
+ */
+public class AnchorLayout implements LayoutManager {
+
+    /** The edge isn't anchored */
+    public static final int NONE = Integer.MIN_VALUE;
+    private static final int[] FREE = {NONE, NONE, NONE, NONE};
+
+    private final Map<IGraphicsComponent, int[]> anchors = new IdentityHashMap<>();
+
+    /**
+     * Sets the distances from the child edges to the container edges, {@link #NONE} for the free ones.
+     * The container should be relaid with {@link LayoutHost#requestLayout()} to apply the change.
+     */
+    public void setAnchors(@NotNull IGraphicsComponent child, int left, int top, int right, int bottom) {
+        anchors.put(child, new int[] {left, top, right, bottom});
+    }
+
+    @Override
+    public void onChildRemoved(@NotNull IGraphicsComponent child) {
+        anchors.remove(child);
+    }
+
+    @Override
+    public @NotNull Size measure(@NotNull LayoutContext context, int maxWidth, int maxHeight) {
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        int width = 0;
+        int height = 0;
+        for (int i = 0; i < children.size(); i++) {
+            IGraphicsComponent child = children.get(i);
+            Size size = context.measure(child, maxWidth, maxHeight);
+            int[] edges = anchors.get(child);
+            if (edges == null) {
+                edges = FREE;
+            }
+            width = Math.max(width, extent(edges[0], edges[2], child.getX(), size.getWidth()));
+            height = Math.max(height, extent(edges[1], edges[3], child.getY(), size.getHeight()));
+        }
+        return new Size(width, height);
+    }
+
+    @Override
+    public void arrange(@NotNull LayoutContext context, int width, int height) {
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            IGraphicsComponent child = children.get(i);
+            int[] edges = anchors.get(child);
+            if (edges == null) {
+                continue;
+            }
+            Size size = context.measure(child, width, height);
+            int childWidth = length(edges[0], edges[2], width, size.getWidth());
+            int childHeight = length(edges[1], edges[3], height, size.getHeight());
+            context.place(child,
+                    position(edges[0], edges[2], width, childWidth, child.getX()),
+                    position(edges[1], edges[3], height, childHeight, child.getY()),
+                    childWidth, childHeight);
+        }
+    }
+
+    private static int extent(int start, int end, int position, int length) {
+        if (start == NONE && end == NONE) {
+            return position + length;
+        }
+        return (start != NONE ? start : 0) + length + (end != NONE ? end : 0);
+    }
+
+    private static int length(int start, int end, int available, int preferred) {
+        if (start != NONE && end != NONE) {
+            return Math.max(0, available - start - end);
+        }
+        return preferred;
+    }
+
+    private static int position(int start, int end, int available, int length, int current) {
+        if (start != NONE) {
+            return start;
+        }
+        if (end != NONE) {
+            return available - end - length;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Places the children in a single row or column.</p>
+ *
+ * <p>Children take their measured size along the main axis. The free space is shared between
+ * the children with positive grow factor, or distributed according to {@link Justify} if there
+ * are none. When the content doesn't fit, children are shrunk proportionally to their size.</p>
+ *
+ * @since 1.5.2
+ */
+public class FlexLayout implements LayoutManager {
+
+    public enum Direction {
+        ROW, COLUMN
+    }
+
+    /**
+     * Distribution of the free space along the main axis
+     */
+    public enum Justify {
+        START, CENTER, END, SPACE_BETWEEN
+    }
+
+    /**
+     * Placement of the children along the cross axis
+     */
+    public enum Cross {
+        START, CENTER, END, STRETCH
+    }
+
+    private final Direction direction;
+    private int gap;
+    private Justify justify = Justify.START;
+    private Cross cross = Cross.START;
+
+    private final Map<IGraphicsComponent, Float> grow = new IdentityHashMap<>();
+
+    public FlexLayout(@NotNull Direction direction) {
+        this(direction, 0);
+    }
+
+    public FlexLayout(@NotNull Direction direction, int gap) {
+        this.direction = direction;
+        setGap(gap);
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getGap() {
+        return gap;
+    }
+
+    public void setGap(int gap) {
+        if (gap < 0) {
+            throw new IllegalArgumentException("Gap can't be negative: " + gap);
+        }
+        this.gap = gap;
+    }
+
+    public Justify getJustify() {
+        return justify;
+    }
+
+    public void setJustify(@NotNull Justify justify) {
+        this.justify = justify;
+    }
+
+    public Cross getCross() {
+        return cross;
+    }
+
+    public void setCross(@NotNull Cross cross) {
+        this.cross = cross;
+    }
+
+    public float getGrow(@NotNull IGraphicsComponent child) {
+        return grow.getOrDefault(child, 0.0F);
+    }
+
+    /**
+     * Sets the share of the free space the child takes. The container should be relaid
+     * with {@link LayoutHost#requestLayout()} to apply the change.
+     */
+    public void setGrow(@NotNull IGraphicsComponent child, float factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("Grow factor can't be negative: " + factor);
+        }
+        if (factor == 0) {
+            grow.remove(child);
+        } else {
+            grow.put(child, factor);
+        }
+    }
+
+    @Override
+    public void onChildRemoved(@NotNull IGraphicsComponent child) {
+        grow.remove(child);
+    }
+
+    @Override
+    public @NotNull Size measure(@NotNull LayoutContext context, int maxWidth, int maxHeight) {
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        int main = 0;
+        int crossSize = 0;
+        for (int i = 0; i < children.size(); i++) {
+            Size size = context.measure(children.get(i), maxWidth, maxHeight);
+            main += main(size);
+            crossSize = Math.max(crossSize, cross(size));
+        }
+        if (!children.isEmpty()) {
+            main += gap * (children.size() - 1);
+        }
+        return direction == Direction.ROW ? new Size(main, crossSize) : new Size(crossSize, main);
+    }
+
+    @Override
+    public void arrange(@NotNull LayoutContext context, int width, int height) {
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        int count = children.size();
+        if (count == 0) {
+            return;
+        }
+        int mainSize = direction == Direction.ROW ? width : height;
+        int crossSize = direction == Direction.ROW ? height : width;
+
+        int[] lengths = new int[count];
+        int[] crossLengths = new int[count];
+        int total = 0;
+        float totalGrow = 0;
+        for (int i = 0; i < count; i++) {
+            IGraphicsComponent child = children.get(i);
+            // the main axis is unbounded, overflow is resolved by shrinking below
+            Size size = direction == Direction.ROW
+                    ? context.measure(child, Integer.MAX_VALUE, height)
+                    : context.measure(child, width, Integer.MAX_VALUE);
+            lengths[i] = main(size);
+            crossLengths[i] = cross(size);
+            total += lengths[i];
+            totalGrow += getGrow(child);
+        }
+
+        int free = mainSize - total - gap * (count - 1);
+        int offset = 0;
+        int spacing = 0;
+        int spacingRemainder = 0;
+        if (free > 0 && totalGrow > 0) {
+            growChildren(children, lengths, free, totalGrow);
+        } else if (free < 0 && total > 0) {
+            shrinkChildren(lengths, -free, total);
+        } else if (free > 0) {
+            switch (justify) {
+                case CENTER:
+                    offset = free / 2;
+                    break;
+                case END:
+                    offset = free;
+                    break;
+                case SPACE_BETWEEN:
+                    if (count > 1) {
+                        spacing = free / (count - 1);
+                        spacingRemainder = free % (count - 1);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        int position = offset;
+        for (int i = 0; i < count; i++) {
+            int length = cross == Cross.STRETCH ? crossSize : Math.min(crossLengths[i], crossSize);
+            int crossPosition;
+            switch (cross) {
+                case CENTER:
+                    crossPosition = (crossSize - length) / 2;
+                    break;
+                case END:
+                    crossPosition = crossSize - length;
+                    break;
+                default:
+                    crossPosition = 0;
+                    break;
+            }
+            if (direction == Direction.ROW) {
+                context.place(children.get(i), position, crossPosition, lengths[i], length);
+            } else {
+                context.place(children.get(i), crossPosition, position, length, lengths[i]);
+            }
+            position += lengths[i] + gap + spacing + (i < spacingRemainder ? 1 : 0);
+        }
+    }
+
+    private void growChildren(List<? extends IGraphicsComponent> children, int[] lengths, int free, float totalGrow) {
+        int given = 0;
+        int last = -1;
+        for (int i = 0; i < lengths.length; i++) {
+            float factor = getGrow(children.get(i));
+            if (factor > 0) {
+                int extra = (int) (free * factor / totalGrow);
+                lengths[i] += extra;
+                given += extra;
+                last = i;
+            }
+        }
+        // rounding remainder goes to the last growing child
+        lengths[last] += free - given;
+    }
+
+    private static void shrinkChildren(int[] lengths, int excess, int total) {
+        // the gaps alone may overflow, the children can't be shrunk below zero anyway
+        excess = Math.min(excess, total);
+        int taken = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            if (lengths[i] > 0) {
+                int cut = Math.min(lengths[i], (int) ((long) excess * lengths[i] / total));
+                lengths[i] -= cut;
+                taken += cut;
+            }
+        }
+        // rounding remainder is taken from the last children
+        for (int i = lengths.length - 1; i >= 0 && taken < excess; i--) {
+            int cut = Math.min(lengths[i], excess - taken);
+            lengths[i] -= cut;
+            taken += cut;
+        }
+    }
+
+    private int main(Size size) {
+        return direction == Direction.ROW ? size.getWidth() : size.getHeight();
+    }
+
+    private int cross(Size size) {
+        return direction == Direction.ROW ? size.getHeight() : size.getWidth();
+    }
+}
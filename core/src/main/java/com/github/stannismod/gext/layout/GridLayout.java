@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Places the children into the cells of a grid with the fixed amount of columns.</p>
+ *
+ * <p>Children without an explicit cell flow row by row in the rendering order. A column is as wide
+ * as its widest child, a row is as tall as its tallest child; children spanning several tracks
+ * widen the last of them if needed. The space left in the container is shared equally between
+ * the tracks, and every child fills its cell.</p>
+ *
+ * @since 1.5.2
+ */
+public class GridLayout implements LayoutManager {
+
+    private final int columns;
+    private int horizontalGap;
+    private int verticalGap;
+
+    private final Map<IGraphicsComponent, int[]> cells = new IdentityHashMap<>();
+
+    public GridLayout(int columns) {
+        this(columns, 0, 0);
+    }
+
+    public GridLayout(int columns, int horizontalGap, int verticalGap) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Grid should have at least one column: " + columns);
+        }
+        if (horizontalGap < 0 || verticalGap < 0) {
+            throw new IllegalArgumentException("Gaps can't be negative");
+        }
+        this.columns = columns;
+        this.horizontalGap = horizontalGap;
+        this.verticalGap = verticalGap;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getHorizontalGap() {
+        return horizontalGap;
+    }
+
+    public int getVerticalGap() {
+        return verticalGap;
+    }
+
+    /**
+     * Pins the child to the given cell. The container should be relaid
+     * with {@link LayoutHost#requestLayout()} to apply the change.
+     */
+    public void setCell(@NotNull IGraphicsComponent child, int column, int row, int columnSpan, int rowSpan) {
+        if (column < 0 || row < 0 || columnSpan <= 0 || rowSpan <= 0 || column + columnSpan > columns) {
+            throw new IllegalArgumentException("Illegal cell " + column + ", " + row + " with span "
+                    + columnSpan + "x" + rowSpan + " for " + columns + " columns");
+        }
+        cells.put(child, new int[] {column, row, columnSpan, rowSpan});
+    }
+
+    public void setCell(@NotNull IGraphicsComponent child, int column, int row) {
+        setCell(child, column, row, 1, 1);
+    }
+
+    @Override
+    public void onChildRemoved(@NotNull IGraphicsComponent child) {
+        cells.remove(child);
+    }
+
+    @Override
+    public @NotNull Size measure(@NotNull LayoutContext context, int maxWidth, int maxHeight) {
+        Tracks tracks = computeTracks(context, maxWidth, maxHeight);
+        return new Size(sum(tracks.widths, horizontalGap), sum(tracks.heights, verticalGap));
+    }
+
+    @Override
+    public void arrange(@NotNull LayoutContext context, int width, int height) {
+        Tracks tracks = computeTracks(context, width, height);
+        stretch(tracks.widths, width - sum(tracks.widths, horizontalGap));
+        stretch(tracks.heights, height - sum(tracks.heights, verticalGap));
+
+        int[] xs = offsets(tracks.widths, horizontalGap);
+        int[] ys = offsets(tracks.heights, verticalGap);
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            int[] cell = tracks.cells[i];
+            int x = xs[cell[0]];
+            int y = ys[cell[1]];
+            int cellWidth = xs[cell[0] + cell[2] - 1] + tracks.widths[cell[0] + cell[2] - 1] - x;
+            int cellHeight = ys[cell[1] + cell[3] - 1] + tracks.heights[cell[1] + cell[3] - 1] - y;
+            context.place(children.get(i), x, y, cellWidth, cellHeight);
+        }
+    }
+
+    private Tracks computeTracks(LayoutContext context, int maxWidth, int maxHeight) {
+        List<? extends IGraphicsComponent> children = context.getChildren();
+        int[][] placed = new int[children.size()][];
+        Size[] sizes = new Size[children.size()];
+        int rows = 0;
+        int flow = 0;
+        for (int i = 0; i < children.size(); i++) {
+            IGraphicsComponent child = children.get(i);
+            int[] cell = cells.get(child);
+            if (cell == null) {
+                cell = new int[] {flow % columns, flow / columns, 1, 1};
+                flow++;
+            }
+            placed[i] = cell;
+            sizes[i] = context.measure(child, maxWidth, maxHeight);
+            rows = Math.max(rows, cell[1] + cell[3]);
+        }
+
+        int[] widths = new int[columns];
+        int[] heights = new int[rows];
+        // single-cell children define the tracks first, so the spanning ones add only what's missing
+        for (int i = 0; i < placed.length; i++) {
+            int[] cell = placed[i];
+            if (cell[2] == 1) {
+                widths[cell[0]] = Math.max(widths[cell[0]], sizes[i].getWidth());
+            }
+            if (cell[3] == 1) {
+                heights[cell[1]] = Math.max(heights[cell[1]], sizes[i].getHeight());
+            }
+        }
+        for (int i = 0; i < placed.length; i++) {
+            int[] cell = placed[i];
+            if (cell[2] > 1) {
+                int span = sum(widths, cell[0], cell[2], horizontalGap);
+                widths[cell[0] + cell[2] - 1] += Math.max(0, sizes[i].getWidth() - span);
+            }
+            if (cell[3] > 1) {
+                int span = sum(heights, cell[1], cell[3], verticalGap);
+                heights[cell[1] + cell[3] - 1] += Math.max(0, sizes[i].getHeight() - span);
+            }
+        }
+        return new Tracks(widths, heights, placed);
+    }
+
+    private static void stretch(int[] tracks, int free) {
+        if (free <= 0 || tracks.length == 0) {
+            return;
+        }
+        for (int i = 0; i < tracks.length; i++) {
+            tracks[i] += free / tracks.length + (i < free % tracks.length ? 1 : 0);
+        }
+    }
+
+    private static int[] offsets(int[] tracks, int gap) {
+        int[] offsets = new int[tracks.length];
+        int offset = 0;
+        for (int i = 0; i < tracks.length; i++) {
+            offsets[i] = offset;
+            offset += tracks[i] + gap;
+        }
+        return offsets;
+    }
+
+    private static int sum(int[] tracks, int gap) {
+        return sum(tracks, 0, tracks.length, gap);
+    }
+
+    private static int sum(int[] tracks, int from, int count, int gap) {
+        if (count == 0) {
+            return 0;
+        }
+        int sum = gap * (count - 1);
+        for (int i = from; i < from + count; i++) {
+            sum += tracks[i];
+        }
+        return sum;
+    }
+
+    private static final class Tracks {
+
+        private final int[] widths;
+        private final int[] heights;
+        private final int[][] cells;
+
+        private Tracks(int[] widths, int[] heights, int[][] cells) {
+            this.widths = widths;
+            this.heights = heights;
+            this.cells = cells;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The view of a container given to the {@link LayoutManager}
+ * @since 1.5.2
+ */
+public interface LayoutContext {
+
+    /**
+     * @return the children in the rendering order
+     */
+    @NotNull List<? extends IGraphicsComponent> getChildren();
+
+    /**
+     * Measures the child. Nested containers with their own layout manager report their content size,
+     * which is cached until their content changes. Other components report their preferred size,
+     * e.g. the last size set outside of the layout pass.
+     */
+    @NotNull Size measure(@NotNull IGraphicsComponent child, int maxWidth, int maxHeight);
+
+    /**
+     * Sets the frame of the child without invalidating the layout of this container
+     */
+    void place(@NotNull IGraphicsComponent child, int x, int y, int width, int height);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A container which can be positioned by the layout engine
+ * @since 1.5.2
+ */
+public interface LayoutHost {
+
+    @Nullable LayoutManager getLayoutManager();
+
+    /**
+     * @return the size of the content within the given limits, cached until the content changes
+     */
+    @NotNull Size measure(int maxWidth, int maxHeight);
+
+    /**
+     * Invalidates the cached measurements of this container and its ancestors and schedules
+     * the arrange pass to the next update
+     */
+    void requestLayout();
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Positions the children of a container in two passes.</p>
+ *
+ * <p>The measure pass computes the size the content wants within the given limits, the arrange
+ * pass places the children into the final size of the container. Both passes access the children
+ * only through the {@link LayoutContext}, which caches measurements of the nested containers.</p>
+ *
+ * <p>Per-child constraints (grow factors, grid cells, anchors) are held by the manager itself,
+ * so one manager instance shouldn't be shared between containers.</p>
+ *
+ * @see FlexLayout
+ * @see GridLayout
+ * @see AnchorLayout
+ * @since 1.5.2
+ */
+public interface LayoutManager {
+
+    /**
+     * @param maxWidth the width limit, {@link Integer#MAX_VALUE} if unbounded
+     * @param maxHeight the height limit, {@link Integer#MAX_VALUE} if unbounded
+     * @return the size the content wants
+     */
+    @NotNull Size measure(@NotNull LayoutContext context, int maxWidth, int maxHeight);
+
+    /**
+     * Places the children into the container of the given size
+     */
+    void arrange(@NotNull LayoutContext context, int width, int height);
+
+    /**
+     * Called when the child leaves the container, so its constraints can be dropped
+     */
+    default void onChildRemoved(@NotNull IGraphicsComponent child) {}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Layout state of a single container.</p>
+ *
+ * <p>Keeps the preferred sizes of the children, e.g. the sizes they had before the layout
+ * pass resized them, and the measurement of the container itself. The measurement is cached
+ * for the last limits and stays valid until {@link #invalidate()}, so a change deep in the tree
+ * costs a re-measure only along the path to the root.</p>
+ *
+ * @since 1.5.2
+ */
+public final class LayoutNode implements LayoutContext {
+
+    private final List<? extends IGraphicsComponent> children;
+    private Map<IGraphicsComponent, Size> preferred = new IdentityHashMap<>();
+
+    private LayoutManager manager;
+
+    private Size measured;
+    private int measuredMaxWidth;
+    private int measuredMaxHeight;
+
+    private boolean requested;
+    private boolean arranging;
+
+    public LayoutNode(@NotNull List<? extends IGraphicsComponent> children) {
+        this.children = children;
+    }
+
+    public @Nullable LayoutManager getManager() {
+        return manager;
+    }
+
+    public void setManager(@Nullable LayoutManager manager) {
+        this.manager = manager;
+        invalidate();
+    }
+
+    /**
+     * @return whether the arrange pass is pending
+     */
+    public boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * Schedules the arrange pass without dropping the measurement
+     */
+    public void request() {
+        requested = true;
+    }
+
+    /**
+     * @return whether the arrange pass is running now. Geometry changes made in this state
+     * come from the layout itself and shouldn't invalidate it.
+     */
+    public boolean isArranging() {
+        return arranging;
+    }
+
+    /**
+     * Drops the cached measurement and schedules the arrange pass
+     * @return whether the measurement was cached, e.g. whether the parent could depend on it
+     */
+    public boolean invalidate() {
+        boolean cached = measured != null;
+        measured = null;
+        requested = true;
+        return cached;
+    }
+
+    /**
+     * @return the content size within the given limits or {@code null} if there's no layout manager
+     */
+    public @Nullable Size measure(int maxWidth, int maxHeight) {
+        if (manager == null) {
+            return null;
+        }
+        if (measured == null || measuredMaxWidth != maxWidth || measuredMaxHeight != maxHeight) {
+            measured = manager.measure(this, maxWidth, maxHeight);
+            measuredMaxWidth = maxWidth;
+            measuredMaxHeight = maxHeight;
+        }
+        return measured;
+    }
+
+    /**
+     * Runs the arrange pass if there's a layout manager and clears the request
+     */
+    public void arrange(int width, int height) {
+        requested = false;
+        if (manager == null) {
+            return;
+        }
+        arranging = true;
+        try {
+            manager.arrange(this, width, height);
+        } finally {
+            arranging = false;
+        }
+    }
+
+    public void onChildAdded(@NotNull IGraphicsComponent child) {
+        preferred.put(child, new Size(child.getWidth(), child.getHeight()));
+    }
+
+    /**
+     * Remembers the new size of the child as preferred one. Should be called only for changes
+     * made outside of the arrange pass.
+     */
+    public void onChildResized(@NotNull IGraphicsComponent child) {
+        Size size = preferred.get(child);
+        if (size != null && (size.getWidth() != child.getWidth() || size.getHeight() != child.getHeight())) {
+            preferred.put(child, new Size(child.getWidth(), child.getHeight()));
+        }
+    }
+
+    public void onChildRemoved(@NotNull IGraphicsComponent child) {
+        preferred.remove(child);
+        if (manager != null) {
+            manager.onChildRemoved(child);
+        }
+    }
+
+    /**
+     * Exchanges the preferred sizes of the children with the other node, when the hosts exchange their children.
+     * The layout managers aren't notified, the caller should invalidate the nodes with managers.
+     */
+    public void swapPreferred(@NotNull LayoutNode other) {
+        Map<IGraphicsComponent, Size> preferred = this.preferred;
+        this.preferred = other.preferred;
+        other.preferred = preferred;
+    }
+
+    public void clear() {
+        if (manager != null) {
+            for (IGraphicsComponent child : preferred.keySet()) {
+                manager.onChildRemoved(child);
+            }
+        }
+        preferred.clear();
+    }
+
+    public @NotNull Size getPreferredSize(@NotNull IGraphicsComponent child) {
+        Size size = preferred.get(child);
+        return size != null ? size : new Size(child.getWidth(), child.getHeight());
+    }
+
+    @Override
+    public @NotNull List<? extends IGraphicsComponent> getChildren() {
+        return children;
+    }
+
+    @Override
+    public @NotNull Size measure(@NotNull IGraphicsComponent child, int maxWidth, int maxHeight) {
+        if (child instanceof LayoutHost && ((LayoutHost) child).getLayoutManager() != null) {
+            return ((LayoutHost) child).measure(maxWidth, maxHeight);
+        }
+        Size size = getPreferredSize(child);
+        if (size.getWidth() <= maxWidth && size.getHeight() <= maxHeight) {
+            return size;
+        }
+        return new Size(Math.min(size.getWidth(), maxWidth), Math.min(size.getHeight(), maxHeight));
+    }
+
+    @Override
+    public void place(@NotNull IGraphicsComponent child, int x, int y, int width, int height) {
+        if (child.getX() != x) {
+            child.setX(x);
+        }
+        if (child.getY() != y) {
+            child.setY(y);
+        }
+        if (child.getWidth() != width) {
+            child.setWidth(width);
+        }
+        if (child.getHeight() != height) {
+            child.setHeight(height);
+        }
+    }
+}
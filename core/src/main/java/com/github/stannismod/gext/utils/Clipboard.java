@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.api.adapter.IClipboard;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Static access point to the {@link IClipboard} passed to GExt.
+ * @since 1.5.2
+ */
+public final class Clipboard {
+
+    private static IClipboard clipboard;
+
+    public static void setClipboard(IClipboard clipboard) {
+        Clipboard.clipboard = clipboard;
+    }
+
+    public static IClipboard getClipboard() {
+        return clipboard;
+    }
+
+    public static CompletableFuture<String> getContents() {
+        return clipboard.getContents();
+    }
+
+    public static CompletableFuture<Void> setContents(String text) {
+        return clipboard.setContents(text);
+    }
+}
@@ -43,6 +43,14 @@ public class FrameStack {
         stack.push(frame);
     }
 
+    /**
+     * @return the clipping frame currently applied or {@code null} if clipping isn't applied
+     * @since 1.5.2
+     */
+    public Rectangle2D current() {
+        return stack.peekFirst();
+    }
+
     private static Rectangle2D normalize(Rectangle2D frame) {
         frame.setFrame(
                 Math.max(0, (int) frame.getX()),
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.api.adapter.IClipboard;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link IClipboard} backed by GLFW window clipboard.
+ * <p>GLFW allows clipboard access only from the main thread, which is the render thread
+ * in GExt, so returned futures are already completed. Unlike AWT, GLFW clipboard
+ * doesn't require any heavy initialization.</p>
+ * @since 1.5.2
+ */
+public class GLFWClipboard implements IClipboard {
+
+    private final long window;
+
+    public GLFWClipboard(long window) {
+        this.window = window;
+    }
+
+    @Override
+    public CompletableFuture<String> getContents() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            result.complete(GLFW.glfwGetClipboardString(window));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> setContents(final String text) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            GLFW.glfwSetClipboardString(window, text);
+            result.complete(null);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
@@ -17,6 +17,11 @@
 package com.github.stannismod.gext.utils;
 
 import com.github.stannismod.gext.api.adapter.IKeyboard;
+import com.github.stannismod.gext.api.event.UIEvent;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 public final class Keyboard {
 
@@ -149,6 +154,11 @@ public final class Keyboard {
     public static final int KEY_SHIFT = KEY_CONTROL - 1;
 
     private static IKeyboard keyboard;
+    /** Keys polled since the snapshot was taken, indexed by the key codes */
+    private static long[] polled = new long[0];
+    /** States of the polled keys */
+    private static long[] states = new long[0];
+    private static boolean snapshot;
 
     public static void setKeyboard(IKeyboard keyboard) {
         Keyboard.keyboard = keyboard;
@@ -200,6 +210,8 @@ public final class Keyboard {
         KEY_BACKSLASH     = keyboard.getKey("BACKSLASH");
         KEY_RBRACKET      = keyboard.getKey("RIGHT_BRACKET");
         KEY_GRAVE_ACCENT  = keyboard.getKey("GRAVE_ACCENT");
+        KEY_WORLD_1       = optionalKey(keyboard, "WORLD_1");
+        KEY_WORLD_2       = optionalKey(keyboard, "WORLD_2");
         
         KEY_ESCAPE        = keyboard.getKey("ESCAPE");
         KEY_ENTER         = keyboard.getKey("ENTER");
@@ -218,6 +230,7 @@ public final class Keyboard {
         KEY_CAPS_LOCK     = keyboard.getKey("CAPS_LOCK");
         KEY_SCROLL_LOCK   = keyboard.getKey("SCROLL_LOCK");
         KEY_NUM_LOCK      = keyboard.getKey("NUM_LOCK");
+        KEY_PRINT_SCREEN  = optionalKey(keyboard, "PRINT_SCREEN");
         KEY_PAUSE         = keyboard.getKey("PAUSE");
         KEY_F1            = keyboard.getKey("F1");
         KEY_F2            = keyboard.getKey("F2");
@@ -238,6 +251,22 @@ public final class Keyboard {
         KEY_F17           = keyboard.getKey("F17");
         KEY_F18           = keyboard.getKey("F18");
         KEY_F19           = keyboard.getKey("F19");
+        KEY_F20           = optionalKey(keyboard, "F20");
+        KEY_F21           = optionalKey(keyboard, "F21");
+        KEY_F22           = optionalKey(keyboard, "F22");
+        KEY_F23           = optionalKey(keyboard, "F23");
+        KEY_F24           = optionalKey(keyboard, "F24");
+        KEY_F25           = optionalKey(keyboard, "F25");
+        KEY_KP_0          = optionalKey(keyboard, "KP_0");
+        KEY_KP_1          = optionalKey(keyboard, "KP_1");
+        KEY_KP_2          = optionalKey(keyboard, "KP_2");
+        KEY_KP_3          = optionalKey(keyboard, "KP_3");
+        KEY_KP_4          = optionalKey(keyboard, "KP_4");
+        KEY_KP_5          = optionalKey(keyboard, "KP_5");
+        KEY_KP_6          = optionalKey(keyboard, "KP_6");
+        KEY_KP_7          = optionalKey(keyboard, "KP_7");
+        KEY_KP_8          = optionalKey(keyboard, "KP_8");
+        KEY_KP_9          = optionalKey(keyboard, "KP_9");
         KEY_KP_DECIMAL    = keyboard.getKey("KP_DECIMAL");
         KEY_KP_DIVIDE     = keyboard.getKey("KP_DIVIDE");
         KEY_KP_MULTIPLY   = keyboard.getKey("KP_MULTIPLY");
@@ -248,20 +277,114 @@ public final class Keyboard {
         KEY_LSHIFT        = keyboard.getKey("LEFT_SHIFT");
         KEY_LCONTROL      = keyboard.getKey("LEFT_CONTROL");
         KEY_LALT          = keyboard.getKey("LEFT_ALT");
+        KEY_LSUPER        = optionalKey(keyboard, "LEFT_SUPER");
         KEY_RSHIFT        = keyboard.getKey("RIGHT_SHIFT");
         KEY_RCONTROL      = keyboard.getKey("RIGHT_CONTROL");
         KEY_RALT          = keyboard.getKey("RIGHT_ALT");
+        KEY_RSUPER        = optionalKey(keyboard, "RIGHT_SUPER");
+        KEY_MENU          = optionalKey(keyboard, "MENU");
+        allocateStates();
+    }
+
+    /**
+     * @return the code of the key which may be absent on the platform, or -1 if it's absent
+     */
+    private static int optionalKey(IKeyboard keyboard, String name) {
+        try {
+            return keyboard.getKey(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static void allocateStates() {
+        int max = 0;
+        for (Field field : Keyboard.class.getFields()) {
+            if (field.getType() != int.class || Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
+            try {
+                max = Math.max(max, field.getInt(null));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        polled = new long[(max >> 6) + 1];
+        states = new long[polled.length];
+        snapshot = false;
+    }
+
+    /**
+     * Freezes the state of the keyboard. Until {@link #release()} is called, each key is polled
+     * on its first {@link #isKeyDown(int)} only, the later calls return the same state.
+     * So the frames which don't query the keyboard don't reach the platform at all.
+     * The snapshot is taken by the input queue of the root for each frame with input.
+     * @since 1.5.2
+     */
+    public static void snapshot() {
+        Arrays.fill(polled, 0L);
+        snapshot = true;
+    }
+
+    /**
+     * Switches {@link #isKeyDown(int)} back to polling the platform
+     * @since 1.5.2
+     */
+    public static void release() {
+        snapshot = false;
+    }
+
+    /**
+     * @since 1.5.2
+     */
+    public static boolean isSnapshot() {
+        return snapshot;
     }
 
     public static boolean isKeyDown(int key) {
         switch (key) {
             case KEY_CONTROL:
-                return keyboard.isKeyDown(Keyboard.KEY_LCONTROL) || keyboard.isKeyDown(Keyboard.KEY_RCONTROL);
+                return test(Keyboard.KEY_LCONTROL) || test(Keyboard.KEY_RCONTROL);
             case KEY_SHIFT:
-                return keyboard.isKeyDown(Keyboard.KEY_LSHIFT) || keyboard.isKeyDown(Keyboard.KEY_RSHIFT);
+                return test(Keyboard.KEY_LSHIFT) || test(Keyboard.KEY_RSHIFT);
             default:
-                return keyboard.isKeyDown(key);
+                return test(key);
+        }
+    }
+
+    /**
+     * @return the held modifier keys as the combination of {@link UIEvent} {@code MOD_*} flags
+     * @since 1.5.2
+     */
+    public static int getModifiers() {
+        int modifiers = 0;
+        if (isKeyDown(KEY_SHIFT)) {
+            modifiers |= UIEvent.MOD_SHIFT;
+        }
+        if (isKeyDown(KEY_CONTROL)) {
+            modifiers |= UIEvent.MOD_CONTROL;
+        }
+        if (test(KEY_LALT) || test(KEY_RALT)) {
+            modifiers |= UIEvent.MOD_ALT;
+        }
+        return modifiers;
+    }
+
+    private static boolean test(int key) {
+        if (!snapshot || key <= 0 || key >> 6 >= states.length) {
+            return keyboard.isKeyDown(key);
+        }
+        int word = key >> 6;
+        long bit = 1L << key;
+        if ((polled[word] & bit) == 0) {
+            polled[word] |= bit;
+            if (keyboard.isKeyDown(key)) {
+                states[word] |= bit;
+            } else {
+                states[word] &= ~bit;
+            }
         }
+        return (states[word] & bit) != 0;
     }
 
     public static boolean isKeysDown(int... keys) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.utils;
+
+/**
+ * Global redraw requests used by the layouts rendering on demand.
+ * Any visible change of the GUI bumps the version, so the root knows its last composed frame is stale.
+ * Animated components, which change with the time only, schedule the deadline of their next frame instead.
+ * Intended to be used from the render thread.
+ * @see com.github.stannismod.gext.components.container.BasicLayout#setRenderOnDemand(boolean)
+ * @since 1.5.2
+ */
+public final class Redraw {
+
+    private static long version;
+    private static long deadline = Long.MAX_VALUE;
+
+    private Redraw() {}
+
+    /**
+     * Requests the GUI to be redrawn on the next frame
+     */
+    public static void request() {
+        version++;
+    }
+
+    /**
+     * Requests the GUI to be redrawn when the given time comes.
+     * Only the earliest deadline is kept, the later ones are requested again while the frame is drawn.
+     * @param time the time in milliseconds of the {@link com.github.stannismod.gext.animation.Animator} clock
+     */
+    public static void requestAt(long time) {
+        if (time < deadline) {
+            deadline = time;
+        }
+    }
+
+    public static long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the earliest requested deadline or {@link Long#MAX_VALUE} if there's none
+     */
+    public static long getDeadline() {
+        return deadline;
+    }
+
+    public static boolean isDue(long now) {
+        return deadline <= now;
+    }
+
+    /**
+     * Drops the scheduled deadline before the frame is drawn.
+     * Components still animated schedule their next frames during the drawing.
+     */
+    public static void resetDeadline() {
+        deadline = Long.MAX_VALUE;
+    }
+}
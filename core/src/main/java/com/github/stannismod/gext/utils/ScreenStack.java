@@ -0,0 +1,248 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.IRootLayout;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * <p>Keeps the root layouts of the closed screens and the navigation history.</p>
+ *
+ * <p>A closed screen stores its layout with its {@link IRootLayout#cacheKey()}, the screen opened
+ * with the same key restores the layout with all its state instead of building a new one.
+ * The layouts are evicted in the least recently used order once their estimated size,
+ * the amount of the components, exceeds the budget. The layouts are held softly, so the cache
+ * gives them up under memory pressure, and the cache should be cleared once the world is unloaded,
+ * as the handlers of the layouts may reference it, see {@link #clear()}.</p>
+ *
+ * <p>Only the screens with a cache key are recorded in the history. The history holds the screens
+ * weakly, so it never keeps a closed screen with its world alive by itself.</p>
+ *
+ * @since 1.5.2
+ */
+public class ScreenStack {
+
+    public static final int DEFAULT_BUDGET = 20000;
+    public static final int MAX_HISTORY = 16;
+
+    private static final ScreenStack instance = new ScreenStack(DEFAULT_BUDGET);
+
+    public static ScreenStack getInstance() {
+        return instance;
+    }
+
+    private final Map<Object, Entry> cache = new LinkedHashMap<>(16, 0.75F, true);
+    private final Deque<WeakReference<IRootLayout>> history = new ArrayDeque<>();
+    private int budget;
+    private int used;
+
+    public ScreenStack(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Caches the layout of the closed screen, replacing the one cached with the same key
+     * @param key the cache key, nothing is cached if {@code null}
+     */
+    public void store(@Nullable Object key, @NotNull BasicLayout<IGraphicsComponent> layout) {
+        if (key == null) {
+            return;
+        }
+        evict(key);
+        int size = estimate(layout);
+        cache.put(key, new Entry(layout, size));
+        used += size;
+        trim();
+    }
+
+    /**
+     * Takes the cached layout out of the cache, so it's never shared by two screens.
+     * The layout is resized to the current view if needed.
+     * @return the restored layout or {@code null} if there's nothing cached with the given key
+     */
+    public @Nullable BasicLayout<IGraphicsComponent> restore(@Nullable Object key, int width, int height) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = cache.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        used -= entry.size;
+        BasicLayout<IGraphicsComponent> layout = entry.layout.get();
+        if (layout == null) {
+            // collected under memory pressure
+            return null;
+        }
+        if (layout.getWidth() != width || layout.getHeight() != height) {
+            layout.onResize(width, height);
+        }
+        layout.getEventRouter().reset();
+        Redraw.request();
+        return layout;
+    }
+
+    public boolean isCached(@Nullable Object key) {
+        purge();
+        return key != null && cache.containsKey(key);
+    }
+
+    /**
+     * @return whether a layout was cached with the given key
+     */
+    public boolean evict(@Nullable Object key) {
+        Entry entry = key == null ? null : cache.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        used -= entry.size;
+        return true;
+    }
+
+    public void clearCache() {
+        cache.clear();
+        used = 0;
+    }
+
+    /**
+     * Forgets all the cached layouts and the history.
+     * Called once the client world is unloaded.
+     */
+    public void clear() {
+        clearCache();
+        clearHistory();
+    }
+
+    public int getCachedCount() {
+        purge();
+        return cache.size();
+    }
+
+    /**
+     * @return the estimated size of the cached layouts, in components
+     */
+    public int getUsed() {
+        purge();
+        return used;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public void setBudget(int budget) {
+        this.budget = budget;
+        trim();
+    }
+
+    private void purge() {
+        Iterator<Entry> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.layout.get() == null) {
+                used -= entry.size;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void trim() {
+        Iterator<Entry> iterator = cache.values().iterator();
+        while (used > budget && iterator.hasNext()) {
+            used -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return the amount of the components in the tree of the given layout, including the layout itself
+     */
+    public static int estimate(@NotNull BasicLayout<?> layout) {
+        int size = 1;
+        List<? extends IGraphicsComponent> children = layout.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            IGraphicsComponent child = children.get(i);
+            size += child instanceof BasicLayout ? estimate((BasicLayout<?>) child) : 1;
+        }
+        return size;
+    }
+
+    /**
+     * Records the opened screen in the history, reopening the current screen doesn't change it.
+     * The oldest screens are forgotten after {@link #MAX_HISTORY} entries.
+     * @param screen the opened screen, ignored if it has no {@link IRootLayout#cacheKey()}
+     */
+    public void push(@NotNull IRootLayout screen) {
+        if (screen.cacheKey() == null || current() == screen) {
+            return;
+        }
+        history.removeIf(entry -> entry.get() == screen);
+        history.addFirst(new WeakReference<>(screen));
+        if (history.size() > MAX_HISTORY) {
+            history.removeLast();
+        }
+    }
+
+    /**
+     * Leaves the current screen
+     * @return the previous screen to be displayed or {@code null} if the history is empty
+     */
+    public @Nullable IRootLayout back() {
+        history.pollFirst();
+        return current();
+    }
+
+    public @Nullable IRootLayout current() {
+        while (!history.isEmpty()) {
+            IRootLayout screen = history.peekFirst().get();
+            if (screen != null) {
+                return screen;
+            }
+            // collected
+            history.pollFirst();
+        }
+        return null;
+    }
+
+    public int getHistorySize() {
+        history.removeIf(entry -> entry.get() == null);
+        return history.size();
+    }
+
+    public void clearHistory() {
+        history.clear();
+    }
+
+    private static final class Entry {
+
+        private final SoftReference<BasicLayout<IGraphicsComponent>> layout;
+        private final int size;
+
+        private Entry(BasicLayout<IGraphicsComponent> layout, int size) {
+            this.layout = new SoftReference<>(layout);
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Uniform grid over the frames of layout components, used to find the components under the cursor
+ * without testing each of them.</p>
+ *
+ * <p>Every component is registered in all cells its frame covers. The components covering too many cells
+ * are kept aside and tested on each query, so a single large background doesn't bloat the grid.
+ * The index doesn't track the components itself, {@link #update(IGraphicsComponent)} should be called
+ * when the frame of a component changes.</p>
+ *
+ * @since 1.5.2
+ */
+public class SpatialIndex<T extends IGraphicsComponent> {
+
+    public static final int DEFAULT_CELL_SIZE = 32;
+    private static final int MAX_CELLS = 256;
+
+    private final int cellSize;
+    private final Comparator<? super T> order;
+    // cells with linear probing, an empty slot has null list
+    private long[] cellKeys = new long[64];
+    private Object[] cellLists = new Object[64];
+    private int cellCount;
+    private List<T> oversized = new ArrayList<>();
+    /** Registered cell range of every component: minX, minY, maxX, maxY. Oversized ones are mapped to {@code null} */
+    private Map<T, int[]> ranges = new IdentityHashMap<>();
+
+    public SpatialIndex(@NotNull Comparator<? super T> order) {
+        this(DEFAULT_CELL_SIZE, order);
+    }
+
+    public SpatialIndex(int cellSize, @NotNull Comparator<? super T> order) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size should be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.order = order;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return ranges.size();
+    }
+
+    public boolean contains(IGraphicsComponent component) {
+        return ranges.containsKey(component);
+    }
+
+    public void put(@NotNull T component) {
+        if (ranges.containsKey(component)) {
+            remove(component);
+        }
+        int minX = Math.floorDiv(component.getX(), cellSize);
+        int minY = Math.floorDiv(component.getY(), cellSize);
+        // frame edges are inclusive, see IGraphicsComponent#intersects
+        int maxX = Math.floorDiv(component.getX() + Math.max(component.getWidth(), 0), cellSize);
+        int maxY = Math.floorDiv(component.getY() + Math.max(component.getHeight(), 0), cellSize);
+
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS) {
+            oversized.add(component);
+            ranges.put(component, null);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                List<T> cell = getCell(key(x, y));
+                if (cell == null) {
+                    cell = new ArrayList<>(4);
+                    putCell(key(x, y), cell);
+                }
+                cell.add(component);
+            }
+        }
+        ranges.put(component, new int[] {minX, minY, maxX, maxY});
+    }
+
+    public void remove(IGraphicsComponent component) {
+        if (!ranges.containsKey(component)) {
+            return;
+        }
+        int[] range = ranges.remove(component);
+        if (range == null) {
+            oversized.remove(component);
+            return;
+        }
+        for (int x = range[0]; x <= range[2]; x++) {
+            for (int y = range[1]; y <= range[3]; y++) {
+                int slot = findCell(key(x, y));
+                List<T> cell = cellList(slot);
+                cell.remove(component);
+                if (cell.isEmpty()) {
+                    deleteCell(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-registers the component if it's indexed, does nothing otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public void update(IGraphicsComponent component) {
+        if (ranges.containsKey(component)) {
+            put((T) component);
+        }
+    }
+
+    /**
+     * Exchanges the indexed components with the other index in O(1). The order of each index is kept.
+     * @throws IllegalArgumentException if the indices have different cell sizes
+     * @since 1.5.2
+     */
+    public void swap(@NotNull SpatialIndex<T> other) {
+        if (other.cellSize != cellSize) {
+            throw new IllegalArgumentException("Cell sizes differ: " + cellSize + " and " + other.cellSize);
+        }
+        long[] cellKeys = this.cellKeys;
+        this.cellKeys = other.cellKeys;
+        other.cellKeys = cellKeys;
+        Object[] cellLists = this.cellLists;
+        this.cellLists = other.cellLists;
+        other.cellLists = cellLists;
+        int cellCount = this.cellCount;
+        this.cellCount = other.cellCount;
+        other.cellCount = cellCount;
+        List<T> oversized = this.oversized;
+        this.oversized = other.oversized;
+        other.oversized = oversized;
+        Map<T, int[]> ranges = this.ranges;
+        this.ranges = other.ranges;
+        other.ranges = ranges;
+    }
+
+    public void clear() {
+        Arrays.fill(cellLists, null);
+        cellCount = 0;
+        oversized.clear();
+        ranges.clear();
+    }
+
+    /**
+     * @return the components which {@link IGraphicsComponent#intersects(int, int) intersect} the given point,
+     * in the index order
+     */
+    public List<T> query(int x, int y) {
+        List<T> hits = new ArrayList<>();
+        query(x, y, hits);
+        return hits;
+    }
+
+    /**
+     * Adds the components which {@link IGraphicsComponent#intersects(int, int) intersect} the given point
+     * to {@code hits} in the index order. Doesn't allocate, so can be used on every frame.
+     */
+    public void query(int x, int y, List<T> hits) {
+        int start = hits.size();
+        List<T> cell = getCell(key(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize)));
+        if (cell != null) {
+            for (int i = 0; i < cell.size(); i++) {
+                T component = cell.get(i);
+                if (component.intersects(x, y)) {
+                    hits.add(component);
+                }
+            }
+        }
+        for (int i = 0; i < oversized.size(); i++) {
+            T component = oversized.get(i);
+            if (component.intersects(x, y)) {
+                hits.add(component);
+            }
+        }
+        if (start == 0) {
+            hits.sort(order);
+        } else if (hits.size() - start > 1) {
+            hits.subList(start, hits.size()).sort(order);
+        }
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private List<T> getCell(long key) {
+        int slot = findCell(key);
+        return slot < 0 ? null : cellList(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> cellList(int slot) {
+        return (List<T>) cellLists[slot];
+    }
+
+    private int findCell(long key) {
+        int mask = cellKeys.length - 1;
+        for (int slot = hash(key) & mask; cellLists[slot] != null; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void putCell(long key, List<T> cell) {
+        if ((cellCount + 1) * 2 > cellKeys.length) {
+            long[] oldKeys = cellKeys;
+            Object[] oldLists = cellLists;
+            cellKeys = new long[oldKeys.length * 2];
+            cellLists = new Object[oldKeys.length * 2];
+            cellCount = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldLists[slot] != null) {
+                    insertCell(oldKeys[slot], oldLists[slot]);
+                }
+            }
+        }
+        insertCell(key, cell);
+    }
+
+    private void insertCell(long key, Object cell) {
+        int mask = cellKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (cellLists[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        cellKeys[slot] = key;
+        cellLists[slot] = cell;
+        cellCount++;
+    }
+
+    /**
+     * Removes the cell and shifts back the following cells of its probe chain
+     */
+    private void deleteCell(int slot) {
+        int mask = cellKeys.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (cellLists[next] == null) {
+                break;
+            }
+            int home = hash(cellKeys[next]) & mask;
+            boolean stays = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!stays) {
+                cellKeys[slot] = cellKeys[next];
+                cellLists[slot] = cellLists[next];
+                slot = next;
+            }
+        }
+        cellLists[slot] = null;
+        cellCount--;
+    }
+}
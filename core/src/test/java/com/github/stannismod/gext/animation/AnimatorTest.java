@@ -0,0 +1,115 @@
+package com.github.stannismod.gext.animation;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.utils.Redraw;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnimatorTest extends BaseTest {
+
+    private final VirtualClock clock = new VirtualClock(1000);
+    private final Animator animator = new Animator(clock);
+    private float value;
+
+    @Test
+    public void testTween() {
+        Tween tween = animator.start(Tween.of(v -> value = v, 0, 100, 200));
+        assertTrue(tween.isScheduled());
+        assertEquals(clock.now(), animator.getNextFrameTime());
+
+        assertTrue(animator.tick());
+        assertEquals(0, value, 1e-6);
+        clock.advance(50);
+        assertTrue(animator.tick());
+        assertEquals(25, value, 1e-6);
+        clock.advance(250);
+        assertFalse(animator.tick());
+        assertEquals(100, value, 1e-6);
+
+        assertFalse(tween.isScheduled());
+        assertTrue(animator.isIdle());
+        assertEquals(Long.MAX_VALUE, animator.getNextFrameTime());
+    }
+
+    @Test
+    public void testDelayedTweens() {
+        List<String> finished = new ArrayList<>();
+        animator.start(Tween.of(v -> {}, 0, 1, 100).delay(500).onFinish(() -> finished.add("late")));
+        animator.start(Tween.of(v -> {}, 0, 1, 100).delay(200).onFinish(() -> finished.add("early")));
+        assertEquals(2, animator.size());
+        assertEquals(1200, animator.getNextFrameTime());
+
+        // nothing is started yet, so nothing is done
+        long version = Redraw.getVersion();
+        assertFalse(animator.tick());
+        assertEquals(version, Redraw.getVersion());
+
+        clock.set(1250);
+        assertTrue(animator.tick());
+        assertEquals(clock.now(), animator.getNextFrameTime());
+        clock.set(1300);
+        assertFalse(animator.tick());
+        assertEquals(1500, animator.getNextFrameTime());
+        clock.set(2000);
+        assertFalse(animator.tick());
+        assertFalse(animator.tick());
+
+        assertEquals(2, finished.size());
+        assertEquals("early", finished.get(0));
+        assertEquals("late", finished.get(1));
+    }
+
+    @Test
+    public void testCancel() {
+        boolean[] finished = new boolean[1];
+        Tween tween = Tween.of(v -> value = v, 0, 100, 100).onFinish(() -> finished[0] = true);
+        animator.start(tween);
+        clock.advance(50);
+        animator.tick();
+        assertTrue(animator.cancel(tween));
+        assertFalse(animator.cancel(tween));
+        clock.advance(100);
+        animator.tick();
+        assertEquals(50, value, 1e-6);
+        assertFalse(finished[0]);
+        assertTrue(animator.isIdle());
+
+        // restarting keeps a single schedule
+        animator.start(tween);
+        animator.start(tween);
+        assertEquals(1, animator.size());
+    }
+
+    @Test
+    public void testCancelWhileTicking() {
+        Tween[] other = new Tween[1];
+        animator.start(Tween.of(v -> animator.cancel(other[0]), 0, 1, 100));
+        other[0] = animator.start(Tween.of(v -> value = v, 0, 100, 100));
+        clock.advance(50);
+        assertTrue(animator.tick());
+        assertEquals(1, animator.size());
+        assertEquals(0, value, 1e-6);
+    }
+
+    @Test
+    public void testEasing() {
+        Tween tween = animator.start(Tween.of(v -> value = v, 0, 100, 100).easing(Easing.QUAD_IN));
+        clock.advance(50);
+        animator.tick();
+        assertEquals(25, value, 1e-6);
+        assertEquals(100, tween.valueAt(clock.now() + 50), 1e-6);
+
+        for (Easing easing : new Easing[] {Easing.LINEAR, Easing.QUAD_IN, Easing.QUAD_OUT, Easing.QUAD_IN_OUT}) {
+            assertEquals(0, easing.apply(0), 1e-6);
+            assertEquals(1, easing.apply(1), 1e-6);
+        }
+    }
+
+    @Test
+    public void testVirtualClock() {
+        assertThrows(IllegalArgumentException.class, () -> clock.set(0));
+        assertThrows(IllegalArgumentException.class, () -> Tween.of(v -> {}, 0, 1, -1));
+    }
+}
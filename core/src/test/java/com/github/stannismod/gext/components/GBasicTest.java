@@ -76,6 +76,25 @@ public class GBasicTest extends BaseTest {
         assert component.getAbsoluteY() - component.getY() == layout.getAbsoluteY();
     }
 
+    @ParameterizedTest
+    @MethodSource("componentsToTest")
+    void testNestedAbsolutePosition(IGraphicsComponent component) {
+        IGraphicsLayout<IGraphicsComponent> outer = Graphics.panel().placeAt(2, 3).build();
+        IGraphicsLayout<IGraphicsComponent> inner = Graphics.panel().placeAt(5, 7).build();
+        outer.addComponent(inner);
+        inner.addComponent(component);
+        assertEquals(2 + 5 + component.getX(), component.getAbsoluteX());
+
+        outer.setX(100);
+        outer.setY(200);
+        assertEquals(100 + 5 + component.getX(), component.getAbsoluteX());
+        assertEquals(200 + 7 + component.getY(), component.getAbsoluteY());
+        assertEquals(component.getAbsoluteX(), component.getAbsoluteFrame().x);
+
+        inner.setX(0);
+        assertEquals(100 + component.getX(), component.getAbsoluteX());
+    }
+
     @ParameterizedTest
     @MethodSource("componentsToTest")
     void testGetWidth(IGraphicsComponent component) {
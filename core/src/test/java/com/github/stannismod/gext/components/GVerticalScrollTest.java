@@ -1,5 +1,8 @@
 package com.github.stannismod.gext.components;
 
+import com.github.stannismod.gext.animation.Animator;
+import com.github.stannismod.gext.animation.Clock;
+import com.github.stannismod.gext.animation.VirtualClock;
 import com.github.stannismod.gext.api.IGraphicsComponent;
 import com.github.stannismod.gext.api.IGraphicsLayout;
 import com.github.stannismod.gext.api.IScrollable;
@@ -25,4 +28,39 @@ public class GVerticalScrollTest extends GScrollBasicTest{
         component.setTarget((IScrollable) target);
         assert component.shouldRenderBar();
     }
+
+    @Test
+    public void testSmoothScrolling() {
+        VirtualClock clock = new VirtualClock();
+        Animator animator = Animator.getInstance();
+        animator.setClock(clock);
+        try {
+            GPanel<IGraphicsComponent> target = Graphics.panel().placeAt(0, 0).size(10, 10).build();
+            target.addComponent(Graphics.button().placeAt(0, 0).size(10, 100).build());
+            GVerticalScroll scroll = Controls.verticalScroll().scrollDuration(100).build();
+            scroll.setTarget(target);
+
+            scroll.scrollTo(80);
+            assertTrue(scroll.isScrolling());
+            animator.tick();
+            assertEquals(0, target.getScrollVertical());
+            clock.advance(50);
+            animator.tick();
+            int halfway = target.getScrollVertical();
+            assertTrue(halfway > 40 && halfway < 80);
+            clock.advance(50);
+            animator.tick();
+            assertEquals(80, target.getScrollVertical());
+            assertFalse(scroll.isScrolling());
+
+            GVerticalScroll instant = Controls.verticalScroll().scrollDuration(0).build();
+            instant.setTarget(target);
+            instant.scrollTo(10);
+            assertFalse(instant.isScrolling());
+            assertEquals(10, target.getScrollVertical());
+        } finally {
+            animator.clear();
+            animator.setClock(Clock.SYSTEM);
+        }
+    }
 }
@@ -29,11 +29,21 @@ import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.menu.ContextMenuBase;
 import com.github.stannismod.gext.menu.ContextMenuList;
 import com.github.stannismod.gext.menu.GContextMenu;
+import com.github.stannismod.gext.utils.Alignment;
+import com.github.stannismod.gext.utils.Handles;
 import com.github.stannismod.gext.utils.LayoutContent;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class BasicLayoutTest extends BaseTest {
@@ -125,4 +135,262 @@ public class BasicLayoutTest extends BaseTest {
         layout.setActiveMenu(menu);
         assertEquals(menu, layout.getActiveMenu());
     }
+
+    @Test
+    public void testVisibleComponents() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).placeAt(10, 10).build();
+        IGraphicsComponent inside = Graphics.button().size(10, 10).placeAt(0, 0).setClipping(true).build();
+        IGraphicsComponent outside = Graphics.button().size(10, 10).placeAt(200, 200).setClipping(true).build();
+        IGraphicsComponent unclipped = Graphics.label().text("label").placeAt(300, 300).build();
+        layout.addComponent(inside);
+        layout.addComponent(outside);
+        layout.addComponent(unclipped);
+
+        Rectangle clip = new Rectangle(10, 10, 100, 100);
+        Collection<IGraphicsComponent> visible = layout.getVisibleComponents(clip);
+        assertEquals(2, visible.size());
+        assertTrue(visible.contains(inside));
+        assertTrue(visible.contains(unclipped));
+
+        outside.setX(50);
+        outside.setY(50);
+        visible = layout.getVisibleComponents(clip);
+        assertEquals(3, visible.size());
+        assertTrue(visible.contains(outside));
+
+        visible = layout.getVisibleComponents(new Rectangle(80, 80, 100, 100));
+        assertFalse(visible.contains(inside));
+        assertEquals(3, layout.getVisibleComponents(null).size());
+    }
+
+    @Test
+    public void testComponentsAt() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(1000, 1000).build();
+        for (int i = 0; i < 5000; i++) {
+            layout.addComponent("slot" + i, Graphics.button().size(16, 16).placeAt(i % 50 * 20, i / 50 * 20).build());
+        }
+        IGraphicsComponent background = Graphics.button().size(1000, 1000).placeAt(0, 0).build();
+        layout.addComponent(-1, "background", background);
+
+        List<IGraphicsComponent> hits = layout.getComponentsAt(45, 25);
+        assertEquals(2, hits.size());
+        assertEquals(background, hits.get(0));
+        assertEquals(layout.getComponent("slot52"), hits.get(1));
+        assertEquals(1, layout.getComponentsAt(58, 25).size());
+
+        IGraphicsComponent moved = layout.getComponent("slot0");
+        moved.setX(50);
+        moved.setY(30);
+        assertFalse(layout.getComponentsAt(5, 5).contains(moved));
+        assertTrue(layout.getComponentsAt(55, 35).contains(moved));
+
+        layout.removeComponent("slot52");
+        assertEquals(1, layout.getComponentsAt(45, 25).size());
+        layout.clear();
+        assertTrue(layout.getComponentsAt(45, 25).isEmpty());
+    }
+
+    @Test
+    public void testInvalidationPropagation() {
+        BasicLayout<IGraphicsComponent> root = Graphics.layout().size(100, 100).build();
+        BasicLayout<IGraphicsComponent> inner = Graphics.layout().size(50, 50).build();
+        IGraphicsComponent nested = Graphics.label().build();
+        IGraphicsComponent sibling = Graphics.label().build();
+        IGraphicsComponent other = Graphics.label().build();
+        inner.addComponent("nested", nested);
+        inner.addComponent("sibling", sibling);
+        root.addComponent("inner", inner);
+        root.addComponent("other", other);
+        root.update();
+        assertFalse(root.needUpdate());
+        assertFalse(root.pollsUpdates());
+        assertFalse(inner.needUpdate());
+
+        List<IGraphicsComponent> updated = new ArrayList<>();
+        nested.addListener(updated::add);
+        sibling.addListener(updated::add);
+        other.addListener(updated::add);
+
+        nested.markDirty();
+        assertTrue(inner.needUpdate());
+        assertTrue(root.needUpdate());
+        root.update();
+        assertEquals(1, updated.size());
+        assertEquals(nested, updated.get(0));
+        assertFalse(root.needUpdate());
+        assertFalse(nested.needUpdate());
+
+        // clean tree isn't visited at all
+        root.update();
+        assertEquals(1, updated.size());
+
+        // removed components don't invalidate the former parent
+        root.removeComponent("other");
+        root.update();
+        other.markDirty();
+        assertFalse(root.needUpdate());
+    }
+
+    @Test
+    public void testBatch() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).build();
+        layout.addComponent(1, "existing", Graphics.label().build());
+        layout.beginUpdate();
+        assertTrue(layout.isUpdating());
+        // descending depths would shift the whole content on every insertion
+        for (int i = 0; i < 20000; i++) {
+            layout.addComponent(-i, "c" + i, Graphics.label().build());
+        }
+        layout.batch(() -> layout.removeComponent("c5"));
+        assertTrue(layout.isUpdating());
+        IGraphicsComponent replacement = Graphics.label().build();
+        layout.addComponent(-7, "c7", replacement);
+        assertEquals(replacement, layout.getComponent("c7"));
+        layout.endUpdate();
+        assertFalse(layout.isUpdating());
+        assertThrows(IllegalStateException.class, layout::endUpdate);
+
+        assertEquals(20000, layout.size());
+        List<IGraphicsComponent> order = layout.getVisibleComponents(null);
+        assertEquals(layout.getComponent("c19999"), order.get(0));
+        assertEquals(layout.getComponent("existing"), order.get(order.size() - 1));
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(order.get(i - 1).getDepth() <= order.get(i).getDepth());
+        }
+        // the replacement goes after the components of the same depth
+        assertEquals(replacement, order.get(order.indexOf(layout.getComponent("c8")) + 1));
+
+        List<IGraphicsComponent> more = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            IGraphicsComponent component = Graphics.label().build();
+            component.setDepth(i % 3);
+            more.add(component);
+        }
+        layout.addComponents(more);
+        assertEquals(20100, layout.size());
+        assertEquals(2, layout.getVisibleComponents(null).get(layout.size() - 1).getDepth());
+    }
+
+    @Test
+    public void testGeneratedIDs() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).build();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 50000; i++) {
+            IGraphicsComponent component = Graphics.label().build();
+            String id = layout.addComponent(component);
+            assertEquals(Handles.toID(component.getHandle()), id);
+            assertEquals('#', id.charAt(0));
+            assertTrue(ids.add(id));
+        }
+        assertEquals(50000, layout.size());
+
+        // a component with the same ID isn't confused with the child
+        IGraphicsComponent stranger = Graphics.label().build();
+        IGraphicsComponent sibling = Graphics.label().build();
+        layout.addComponent("shared", sibling);
+        stranger.setID("shared");
+        stranger.setParent(layout);
+        layout.update();
+        stranger.markDirty();
+        assertFalse(layout.needUpdate());
+        sibling.markDirty();
+        assertTrue(layout.needUpdate());
+    }
+
+    @Test
+    public void testRenderingOrder() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).build();
+        IGraphicsComponent first = Graphics.label().build();
+        IGraphicsComponent second = Graphics.label().build();
+        IGraphicsComponent top = Graphics.label().build();
+        IGraphicsComponent bottom = Graphics.label().build();
+        layout.addComponent("z", first);
+        layout.addComponent(5, "b", top);
+        layout.addComponent("a", second);
+        layout.addComponent(-5, "c", bottom);
+
+        List<IGraphicsComponent> order = layout.getVisibleComponents(null);
+        assertEquals(4, order.size());
+        assertEquals(bottom, order.get(0));
+        assertEquals(first, order.get(1));
+        assertEquals(second, order.get(2));
+        assertEquals(top, order.get(3));
+
+        IGraphicsComponent replacement = Graphics.label().build();
+        layout.addComponent("z", replacement);
+        assertEquals(4, layout.size());
+        assertEquals(replacement, layout.getComponent("z"));
+        assertEquals(replacement, order.get(2));
+
+        for (int i = 0; i < 1000; i++) {
+            layout.addComponent("o" + i, Graphics.label().build());
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            layout.removeComponent("o" + i);
+        }
+        assertEquals(504, layout.size());
+        assertEquals(layout.getComponent("o1"), order.get(3));
+        assertEquals(top, order.get(503));
+        assertNull(layout.getComponent("o0"));
+    }
+
+    @Test
+    public void testResizeKeepsContent() {
+        BasicLayout<IGraphicsComponent> root = Graphics.layout().size(100, 100).build();
+        GPanel<IGraphicsComponent> panel = Graphics.panel().size(20, 20).alignment(Alignment.CENTER).build();
+        IGraphicsComponent button = Graphics.button().placeAt(5, 5).size(10, 10).build();
+        root.addComponent("panel", panel);
+        panel.addComponent("button", button);
+        root.update();
+        assertEquals(40, panel.getX());
+        assertEquals(40, panel.getY());
+
+        root.onResize(200, 300);
+        assertEquals(200, root.getWidth());
+        assertEquals(300, root.getHeight());
+        assertSame(panel, root.getComponent("panel"));
+        assertSame(button, panel.getComponent("button"));
+        assertTrue(root.needUpdate());
+
+        root.update();
+        assertEquals(90, panel.getX());
+        assertEquals(140, panel.getY());
+        assertEquals(95, button.getAbsoluteX());
+        assertFalse(panel.needUpdate());
+    }
+
+    @Test
+    public void testDetach() {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).build();
+        IGraphicsComponent front = Graphics.button().placeAt(10, 10).size(10, 10).build();
+        IGraphicsComponent back = Graphics.button().placeAt(10, 10).size(10, 10).build();
+        IGraphicsComponent centered = Graphics.button().size(20, 20).alignment(Alignment.CENTER).build();
+        layout.addComponent(1, "front", front);
+        layout.addComponent(0, "back", back);
+        layout.addComponent("centered", centered);
+        layout.update();
+
+        BasicLayout.Detached<IGraphicsComponent> detached = layout.detach();
+        assertTrue(layout.isEmpty());
+        assertNull(layout.getComponent("front"));
+        assertTrue(layout.getComponentsAt(15, 15).isEmpty());
+        assertEquals(3, detached.size());
+        assertSame(layout, front.getParent());
+
+        layout.addComponent("other", Graphics.label().build());
+        layout.onResize(200, 200);
+        layout.attach(detached);
+        assertEquals(0, detached.size());
+        assertNull(layout.getComponent("other"));
+        assertSame(front, layout.getComponent("front"));
+        assertEquals(Arrays.asList(back, centered, front), layout.getChildren());
+        assertEquals(Arrays.asList(back, front), layout.getComponentsAt(15, 15));
+        // realigned to the new size
+        layout.update();
+        assertEquals(90, centered.getX());
+
+        BasicLayout<IGraphicsComponent> other = Graphics.layout().size(100, 100).build();
+        assertThrows(IllegalArgumentException.class, () -> other.attach(layout.detach()));
+        assertThrows(UnsupportedOperationException.class, () -> Graphics.list().build().detach());
+    }
 }
@@ -5,6 +5,8 @@ import com.github.stannismod.gext.components.GSelector;
 import com.github.stannismod.gext.components.Graphics;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class GListTest extends BasicLayoutTest {
 
     @Test
@@ -74,4 +76,75 @@ public class GListTest extends BasicLayoutTest {
         get = list.removeByIndex(1);
         assertEquals(component1, get);
     }
+
+    @Test
+    public void testInsertComponent() {
+        GList<IGraphicsComponent> list = Graphics.list().interval(2).build();
+        for (int i = 0; i < 5; i++) {
+            list.addComponent("o" + i, Graphics.button().size(10, 10).build());
+        }
+        IGraphicsComponent inserted = Graphics.button().size(10, 20).build();
+        list.insertComponent(2, "inserted", inserted);
+        assertEquals(2, list.indexOf("inserted"));
+        assertEquals(3, list.indexOf("o2"));
+        assertEquals(24, inserted.getY());
+        assertEquals(24 + 22, list.getByIndex(3).getY());
+        assertEquals(6 * 12 + 10 - 2, list.getContentHeight());
+
+        assertEquals(2, list.getIndexAt(30));
+        assertEquals(3, list.getIndexAt(46));
+        assertEquals(5, list.getIndexAt(1000));
+        assertEquals(0, list.getIndexAt(-10));
+
+        inserted.setHeight(30);
+        assertEquals(24 + 32, list.getOffset(3));
+        list.removeComponent("o0");
+        assertEquals(1, list.indexOf("inserted"));
+        assertEquals(12, list.getByIndex(1).getY());
+        assertEquals(-1, list.indexOf("o0"));
+    }
+
+    @Test
+    public void testReplaceComponent() {
+        GList<IGraphicsComponent> list = Graphics.list().build();
+        for (int i = 0; i < 3; i++) {
+            list.addComponent("o" + i, Graphics.button().size(10, 10).build());
+        }
+        // the replaced component goes to the end
+        IGraphicsComponent replacement = Graphics.button().size(10, 10).build();
+        list.addComponent("o2", replacement);
+        assertEquals(3, list.size());
+        assertEquals(2, list.indexOf("o2"));
+        assertSame(replacement, list.getComponent("o2"));
+        list.addComponent("o0", list.getComponent("o0"));
+        assertEquals(2, list.indexOf("o0"));
+        assertEquals(0, list.indexOf("o1"));
+
+        // the index is valid before the replaced component is removed
+        list.insertComponent(3, "o1", Graphics.button().size(10, 10).build());
+        assertEquals(2, list.indexOf("o1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insertComponent(4, "o1", replacement));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    public void testLargeList() {
+        GList<IGraphicsComponent> list = Graphics.list().size(100, 100).setSelector(new GSelector()).build();
+        for (int i = 0; i < 50000; i++) {
+            list.insertComponent(0, "o" + i, Graphics.button().size(10, 10).build());
+        }
+        assertEquals(0, list.indexOf("o49999"));
+        assertEquals(49999, list.indexOf("o0"));
+        assertEquals(499990, list.getOffset(49999));
+        assertEquals(25000, list.getIndexAt(250005));
+
+        list.removeByIndex(0);
+        assertEquals(0, list.indexOf("o49998"));
+        list.scrollToIndex(49000);
+        assertEquals(490000, list.getScrollVertical());
+        List<IGraphicsComponent> hits = list.getComponentsAt(5, 490005);
+        assertEquals(1, hits.size());
+        assertEquals(list.getByIndex(49000), hits.get(0));
+        assertEquals(490000, hits.get(0).getY());
+    }
 }
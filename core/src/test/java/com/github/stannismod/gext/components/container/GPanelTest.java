@@ -43,4 +43,49 @@ public class GPanelTest extends BasicLayoutTest{
         assert panel.getContentHeight() == 15;
     }
 
+    @Test
+    public void testContentBoundsTracking() {
+        GPanel<IGraphicsComponent> panel = Graphics.panel().placeAt(0, 0).size(10, 10).build();
+        GButton button1 = Graphics.button().placeAt(5, 5).size(10, 10).build();
+        GButton button2 = Graphics.button().placeAt(-20, 30).size(10, 10).build();
+        panel.addComponent("b1", button1);
+        panel.addComponent("b2", button2);
+        assertEquals(35, panel.getContentWidth());
+        assertEquals(40, panel.getContentHeight());
+
+        button2.setX(50);
+        assertEquals(60, panel.getContentWidth());
+        button2.setHeight(20);
+        assertEquals(50, panel.getContentHeight());
+
+        panel.removeComponent("b2");
+        assertEquals(15, panel.getContentWidth());
+        assertEquals(15, panel.getContentHeight());
+        panel.clear();
+        assertEquals(0, panel.getContentWidth());
+    }
+
+    @Test
+    public void testRemoveManyComponents() {
+        GPanel<IGraphicsComponent> panel = Graphics.panel().placeAt(0, 0).size(10, 10).build();
+        for (int i = 0; i < 10000; i++) {
+            panel.addComponent("b" + i, Graphics.button().placeAt(i % 100 * 10, i / 100 * 10).size(10, 10).build());
+        }
+        assertEquals(1000, panel.getContentHeight());
+        for (int i = 9999; i >= 100; i--) {
+            panel.removeComponent("b" + i);
+        }
+        assertEquals(1000, panel.getContentWidth());
+        assertEquals(10, panel.getContentHeight());
+    }
+
+    @Test
+    public void testScrollClampedOnResize() {
+        GPanel<IGraphicsComponent> panel = Graphics.panel().placeAt(0, 0).size(10, 10).build();
+        panel.addComponent(Graphics.button().placeAt(0, 0).size(10, 50).build());
+        panel.setScrollVertical(40);
+        panel.onResize(10, 30);
+        panel.update();
+        assertEquals(20, panel.getScrollVertical());
+    }
 }
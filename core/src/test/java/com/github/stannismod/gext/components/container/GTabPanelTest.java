@@ -2,10 +2,17 @@ package com.github.stannismod.gext.components.container;
 
 import com.github.stannismod.gext.api.IGraphicsComponent;
 import com.github.stannismod.gext.api.IGraphicsLayout;
+import com.github.stannismod.gext.components.GBasic;
 import com.github.stannismod.gext.components.GSelector;
 import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.utils.Alignment;
+import com.github.stannismod.gext.utils.Bound;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 public class GTabPanelTest extends GListTest {
 
     @Test
@@ -65,4 +72,113 @@ public class GTabPanelTest extends GListTest {
         panel.setDeselectionEnabled(false);
         assert !panel.isDeselectionEnabled();
     }
+
+    @Test
+    public void testWarmPages() {
+        GPanel<IGraphicsComponent> target = Graphics.panel().size(100, 100).build();
+        IGraphicsComponent first = Graphics.label().build();
+        IGraphicsComponent second = Graphics.label().build();
+        IGraphicsComponent third = Graphics.label().build();
+        third.setDepth(-1);
+        GTabPanel<IGraphicsComponent, IGraphicsComponent> panel = Graphics.tabPanel()
+                .target(target).putContent("a", first).putContent("a", third).putContent("b", second).build();
+        assertEquals(0, panel.getCachedCount());
+
+        panel.select("a");
+        assertEquals(2, target.size());
+        // the content is put into the target directly
+        assertSame(first, target.getComponent(first.getID()));
+        assertSame(target, first.getParent());
+        assertEquals(Arrays.asList(third, first), target.getChildren());
+
+        panel.select("b");
+        assertNull(target.getComponent(first.getID()));
+        assertSame(second, target.getComponent(second.getID()));
+        assertEquals(2, panel.getCachedCount());
+
+        panel.select("a");
+        assertSame(first, target.getComponent(first.getID()));
+        assertEquals(2, target.size());
+
+        panel.onDeselect(first);
+        assertTrue(target.isEmpty());
+        assertEquals(2, panel.getCachedCount());
+    }
+
+    @Test
+    public void testSwapPages() {
+        GPanel<IGraphicsComponent> target = Graphics.panel().size(100, 100).build();
+        Counted first = new Counted();
+        Counted second = new Counted();
+        GTabPanel<IGraphicsComponent, IGraphicsComponent> panel = Graphics.tabPanel()
+                .target(target).putContent("a", first).putContent("b", second).build();
+
+        panel.select("a");
+        panel.select("b");
+        panel.select("a");
+        panel.select("b");
+        // the pages are swapped as is
+        assertEquals(1, first.parents);
+        assertEquals(1, second.parents);
+        assertSame(second, target.getComponent(second.getID()));
+        assertEquals(Arrays.asList(second), target.getComponentsAt(5, 5));
+
+        // the content put into the target stays with the tab
+        IGraphicsComponent extra = Graphics.label().build();
+        target.addComponent("extra", extra);
+        panel.select("a");
+        assertNull(target.getComponent("extra"));
+        panel.select("b");
+        assertSame(extra, target.getComponent("extra"));
+    }
+
+    @Test
+    public void testCacheLimit() {
+        GPanel<IGraphicsComponent> target = Graphics.panel().size(100, 100).build();
+        GTabPanel<IGraphicsComponent, IGraphicsComponent> panel = Graphics.tabPanel().target(target).cacheLimit(2)
+                .putContent("tab0", Graphics.label().build())
+                .putContent("tab1", Graphics.label().build())
+                .putContent("tab2", Graphics.label().build())
+                .putContent("tab3", Graphics.label().build())
+                .build();
+
+        panel.select("tab0");
+        panel.select("tab1");
+        panel.select("tab0");
+        panel.select("tab2");
+        assertEquals(2, panel.getCachedCount());
+        // tab1 is the least recently selected one
+        panel.select("tab0");
+        assertEquals(2, panel.getCachedCount());
+
+        panel.select("tab3");
+        panel.setCacheLimit(1);
+        assertEquals(1, panel.getCachedCount());
+        panel.select("tab0");
+        assertEquals(1, panel.getCachedCount());
+        assertEquals(1, target.size());
+
+        panel.clearCache();
+        assertEquals(1, panel.getCachedCount());
+    }
+
+    private static class Counted extends GBasic {
+
+        private int parents;
+
+        private Counted() {
+            super(0, 0, 10, 10, true, null, null, Bound.LEFT_TOP, Alignment.FIXED, 0, 0, new ArrayList<>());
+        }
+
+        @Override
+        public void setParent(@NotNull IGraphicsLayout<? extends IGraphicsComponent> parent) {
+            super.setParent(parent);
+            parents++;
+        }
+
+        @Override
+        public void draw(int mouseX, int mouseY, float partialTicks) {
+
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.github.stannismod.gext.components.container;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IListAdapter;
+import com.github.stannismod.gext.components.GLabel;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.utils.GInitializationException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+public class GVirtualListTest extends BaseTest {
+
+    private static class LabelAdapter implements IListAdapter<GLabel> {
+
+        private int count;
+        private String prefix = "item ";
+        private int created;
+
+        private LabelAdapter(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public int getViewType(int position) {
+            return position % 10 == 0 ? 1 : 0;
+        }
+
+        @Override
+        public @NotNull GLabel create(int viewType) {
+            created++;
+            return Graphics.label().build();
+        }
+
+        @Override
+        public void bind(@NotNull GLabel view, int position) {
+            view.setText(prefix + position);
+        }
+    }
+
+    private GVirtualList<GLabel> create(LabelAdapter adapter) {
+        return Graphics.<GLabel>virtualList().size(100, 100).adapter(adapter).itemHeight(10).overscan(1).build();
+    }
+
+    @Test
+    public void testMaterializesViewport() {
+        LabelAdapter adapter = new LabelAdapter(100000);
+        GVirtualList<GLabel> list = create(adapter);
+        assertEquals(0, list.getFirstVisiblePosition());
+        assertEquals(11, list.getLastVisiblePosition());
+        assertEquals(11, list.getViewCount());
+        assertEquals(11, list.getContent().getContent().size());
+        assertEquals(100000 * 10, list.getContentHeight());
+        assertEquals("item 5", list.getView(5).getText());
+        assertEquals(50, list.getView(5).getY());
+        assertEquals(5, list.getPosition(list.getView(5)));
+    }
+
+    @Test
+    public void testRecycling() {
+        LabelAdapter adapter = new LabelAdapter(100000);
+        GVirtualList<GLabel> list = create(adapter);
+        for (int i = 0; i < 5000; i++) {
+            list.addScrollVertical(7);
+        }
+        assertEquals(12, list.getViewCount());
+        // rows are reused rather than created per scrolled position
+        assertTrue(adapter.created <= 15);
+        int first = list.getFirstVisiblePosition();
+        assertEquals(35000 / 10 - 1, first);
+        assertEquals("item " + (first + 1), list.getView(first + 1).getText());
+        assertEquals((first + 1) * 10, list.getView(first + 1).getY());
+        assertNull(list.getView(0));
+
+        list.scrollToPosition(99995);
+        assertEquals(100000, list.getLastVisiblePosition());
+        assertEquals("item 99999", list.getView(99999).getText());
+    }
+
+    @Test
+    public void testDataChanged() {
+        LabelAdapter adapter = new LabelAdapter(5);
+        GVirtualList<GLabel> list = create(adapter);
+        assertEquals(5, list.getViewCount());
+        adapter.count = 3;
+        adapter.prefix = "changed ";
+        list.notifyDataChanged();
+        assertEquals(3, list.getViewCount());
+        assertEquals("changed 2", list.getView(2).getText());
+        assertNull(list.getView(3));
+    }
+
+    @Test
+    public void testBuilder() {
+        assertThrows(GInitializationException.class, () -> Graphics.virtualList().size(100, 100).itemHeight(10).build());
+        assertThrows(GInitializationException.class, () -> Graphics.virtualList().itemHeight(0));
+        assertThrows(GInitializationException.class,
+                () -> Graphics.<GLabel>virtualList().adapter(new LabelAdapter(1)).itemHeight(10).setWrapContent().build());
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.components.Graphics;
+import org.junit.jupiter.api.Test;
+
+public class GLogPanelTest extends BaseTest {
+
+    @Test
+    public void testLineBudget() {
+        GLogPanel panel = Graphics.logPanel().size(200, 80).capacity(100).lineBudget(10).build();
+        for (int i = 0; i < 25; i++) {
+            panel.log("line " + i);
+        }
+        assertTrue(panel.checkUpdates());
+        panel.update();
+        assertEquals(10, panel.getLinesCount());
+        assertEquals(15, panel.getPendingCount());
+        panel.update();
+        panel.update();
+        assertEquals(25, panel.getLinesCount());
+        assertFalse(panel.checkUpdates());
+        assertEquals("line 0", panel.getLine(0));
+        assertEquals("line 24", panel.getLine(24));
+    }
+
+    @Test
+    public void testCapacity() {
+        GLogPanel panel = Graphics.logPanel().size(200, 80).capacity(10).lineBudget(4).build();
+        for (int i = 0; i < 25; i++) {
+            panel.log("line " + i);
+        }
+        while (panel.checkUpdates()) {
+            panel.update();
+        }
+        assertEquals(10, panel.getLinesCount());
+        assertEquals("line 15", panel.getLine(0));
+        assertEquals("line 24", panel.getLine(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> panel.getLine(10));
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        GLogPanel panel = Graphics.logPanel().size(200, 80).capacity(10000).build();
+        Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    panel.log("message " + j);
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        while (panel.checkUpdates()) {
+            panel.update();
+        }
+        assertEquals(8000, panel.getLinesCount());
+        assertEquals(0, panel.getPendingCount());
+    }
+
+    @Test
+    public void testAutoScroll() {
+        GLogPanel panel = Graphics.logPanel().size(200, 80).build();
+        for (int i = 0; i < 100; i++) {
+            panel.log("line " + i);
+        }
+        panel.update();
+        assertEquals(panel.getScrollable(), panel.getScrollVertical());
+        assertTrue(panel.isStickToBottom());
+
+        panel.setScrollVertical(0);
+        assertFalse(panel.isStickToBottom());
+        panel.log("new line");
+        panel.update();
+        assertEquals(0, panel.getScrollVertical());
+
+        panel.setScrollVertical(Integer.MAX_VALUE);
+        assertTrue(panel.isStickToBottom());
+        panel.log("another line");
+        panel.update();
+        assertEquals(panel.getScrollable(), panel.getScrollVertical());
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.adapter.IClipboard;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.utils.Clipboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+public class GTextBoxTest extends BaseTest {
+
+    private GTextBox create() {
+        GTextBox textBox = Graphics.textBox().size(200, 200).build();
+        textBox.setText(Arrays.asList("first", "second"));
+        return textBox;
+    }
+
+    @Test
+    public void testInsertAndDeleteText() {
+        GTextBox textBox = create();
+        textBox.insertText(0, 2, "ab\ncd");
+        assertEquals(Arrays.asList("fiab", "cdrst", "second"), textBox.getText());
+        assertEquals("ab\ncd", textBox.deleteText(0, 2, 1, 2));
+        assertEquals(Arrays.asList("first", "second"), textBox.getText());
+        assertEquals("st\nsec", textBox.deleteText(0, 3, 1, 3));
+        assertEquals(Arrays.asList("firond"), textBox.getText());
+    }
+
+    @Test
+    public void testUndoRedo() {
+        GTextBox textBox = create();
+        assertFalse(textBox.undo());
+
+        textBox.insertText(0, 5, "!");
+        textBox.getHistory().recordInsert(0, 5, "!");
+        textBox.getHistory().recordInsert(0, 6, "?");
+        textBox.insertText(0, 6, "?");
+        textBox.getHistory().recordDelete(1, 0, textBox.deleteText(1, 0, 1, 3));
+        assertEquals(Arrays.asList("first!?", "ond"), textBox.getText());
+
+        assertTrue(textBox.undo());
+        assertEquals(Arrays.asList("first!?", "second"), textBox.getText());
+        assertTrue(textBox.undo());
+        assertEquals(Arrays.asList("first", "second"), textBox.getText());
+        assertFalse(textBox.undo());
+
+        assertTrue(textBox.redo());
+        assertEquals(Arrays.asList("first!?", "second"), textBox.getText());
+        assertTrue(textBox.redo());
+        assertEquals(Arrays.asList("first!?", "ond"), textBox.getText());
+        assertFalse(textBox.redo());
+    }
+
+    @Test
+    public void testHistoryCoalescing() {
+        EditHistory history = new EditHistory();
+        history.recordInsert(0, 0, "a");
+        history.recordInsert(0, 1, "b");
+        assertEquals(1, history.size());
+        history.seal();
+        history.recordInsert(0, 2, "c");
+        assertEquals(2, history.size());
+        history.recordDelete(0, 2, "c");
+        history.recordDelete(0, 1, "b");
+        assertEquals(3, history.size());
+    }
+
+    @Test
+    public void testHistoryBudget() {
+        EditHistory history = new EditHistory(1000);
+        for (int i = 0; i < 100; i++) {
+            history.recordInsert(i, 0, "\n");
+        }
+        assertTrue(history.getBytes() <= 1000);
+        assertTrue(history.size() < 100);
+        assertTrue(history.canUndo());
+
+        history.setByteBudget(0);
+        assertEquals(0, history.size());
+        assertThrows(IllegalArgumentException.class, () -> history.setByteBudget(-1));
+    }
+
+    @Test
+    public void testGetSelectedText() {
+        GTextBox textBox = create();
+        textBox.getText().add("third");
+        Selection selection = textBox.selection;
+        selection.setStartXPos(2);
+        selection.setStartYPos(0);
+        selection.setEndXPos(3);
+        selection.setEndYPos(0);
+        assertEquals("r", textBox.getSelectedText());
+
+        String separator = System.lineSeparator();
+        selection.setEndYPos(1);
+        assertEquals("rst" + separator + "sec", textBox.getSelectedText());
+        selection.setEndYPos(2);
+        assertEquals("rst" + separator + "second" + separator + "thi", textBox.getSelectedText());
+    }
+
+    @Test
+    public void testChunkedPaste() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("line of the pasted text ").append(i).append("\r\n");
+        }
+        String pasted = content.toString();
+        setClipboard(pasted);
+
+        GTextBox textBox = Graphics.textBox().size(200, 200).wrap().build();
+        textBox.setText(Arrays.asList("first", "second"));
+        textBox.pasteFromBuffer();
+        assertTrue(textBox.isPasting());
+        int frames = 0;
+        while (textBox.isPasting()) {
+            textBox.update();
+            frames++;
+        }
+        assertEquals((pasted.length() - 1) / GTextBox.PASTE_CHUNK_SIZE + 1, frames);
+        assertEquals(102, textBox.getLinesCount());
+        assertEquals("line of the pasted text 0", textBox.getText().get(0));
+        assertEquals("first", textBox.getText().get(100));
+
+        assertTrue(textBox.undo());
+        assertEquals(Arrays.asList("first", "second"), textBox.getText());
+    }
+
+    @Test
+    public void testPasteLimits() {
+        setClipboard("0123456789012345\nab\ncd\nef\ngh");
+        GTextBox textBox = Graphics.textBox().size(50, 40).build();
+        textBox.setText(Arrays.asList("first", "second"));
+        assertEquals(5, textBox.getMaxLines());
+
+        textBox.pasteFromBuffer();
+        textBox.update();
+        assertFalse(textBox.isPasting());
+        assertEquals(Arrays.asList("0123456789", "012345", "abfirst", "second"), textBox.getText());
+
+        assertTrue(textBox.undo());
+        assertEquals(Arrays.asList("first", "second"), textBox.getText());
+    }
+
+    private static void setClipboard(String content) {
+        Clipboard.setClipboard(new IClipboard() {
+            @Override
+            public CompletableFuture<String> getContents() {
+                return CompletableFuture.completedFuture(content);
+            }
+
+            @Override
+            public CompletableFuture<Void> setContents(final String text) {
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+    }
+}
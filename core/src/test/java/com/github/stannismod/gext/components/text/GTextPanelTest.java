@@ -0,0 +1,95 @@
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.components.Graphics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GTextPanelTest extends BaseTest {
+
+    private GTextPanel create(int lines) {
+        List<String> text = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            text.add("Line number " + i + " of the document");
+        }
+        GTextPanel panel = Graphics.textPanel().size(200, 100).build();
+        panel.setText(text);
+        return panel;
+    }
+
+    private void awaitIndex(GTextPanel panel) throws InterruptedException {
+        for (int i = 0; i < 1000 && !panel.isSearchIndexReady(); i++) {
+            Thread.sleep(5);
+        }
+        assertTrue(panel.isSearchIndexReady());
+    }
+
+    @Test
+    public void testFindNext() throws InterruptedException {
+        GTextPanel panel = create(100000);
+        panel.setSearchQuery("NUMBER 4999");
+        awaitIndex(panel);
+
+        assertTrue(panel.findNext());
+        assertEquals(4999, panel.selection.startYPos());
+        assertEquals(5, panel.selection.startXPos());
+        assertEquals(16, panel.selection.endXPos());
+
+        assertTrue(panel.findNext());
+        assertEquals(49990, panel.selection.startYPos());
+        assertEquals(49990, panel.selection.endYPos());
+        assertTrue(panel.getScrollVertical() > 0);
+        for (int i = 0; i < 10; i++) {
+            panel.findNext();
+        }
+        // wrapped around
+        assertEquals(4999, panel.selection.startYPos());
+    }
+
+    @Test
+    public void testFindPrevious() throws InterruptedException {
+        GTextPanel panel = create(1000);
+        panel.setSearchQuery("of the");
+        awaitIndex(panel);
+
+        assertTrue(panel.findPrevious());
+        assertEquals(999, panel.selection.startYPos());
+        assertTrue(panel.findPrevious());
+        assertEquals(998, panel.selection.startYPos());
+        assertTrue(panel.findNext());
+        assertEquals(999, panel.selection.startYPos());
+    }
+
+    @Test
+    public void testIndexFollowsEdits() throws InterruptedException {
+        GTextPanel panel = create(1000);
+        panel.setSearchQuery("needle");
+        awaitIndex(panel);
+        assertFalse(panel.findNext());
+
+        panel.insertText(500, 0, "first\nneedle ");
+        assertTrue(panel.findNext());
+        assertEquals(501, panel.selection.startYPos());
+        assertEquals(0, panel.selection.startXPos());
+
+        panel.deleteText(500, 0, 501, 7);
+        assertFalse(panel.findNext());
+        assertEquals("Line number 500 of the document", panel.getText().get(500));
+
+        panel.getText().set(700, "a needle");
+        assertTrue(panel.findNext());
+        assertEquals(700, panel.selection.startYPos());
+        assertEquals(2, panel.selection.startXPos());
+    }
+
+    @Test
+    public void testSearchWithoutQuery() {
+        GTextPanel panel = create(10);
+        assertFalse(panel.findNext());
+        panel.setSearchQuery("");
+        assertNull(panel.getSearchQuery());
+        assertFalse(panel.findPrevious());
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.stannismod.gext.components.text;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.components.Graphics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MappedTextTest extends BaseTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedText open(String content) throws IOException, InterruptedException {
+        Path file = dir.resolve("text.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        MappedText text = new MappedText(file);
+        for (int i = 0; i < 1000 && !text.isIndexed(); i++) {
+            Thread.sleep(5);
+        }
+        assertTrue(text.isIndexed());
+        assertFalse(text.isCancelled());
+        return text;
+    }
+
+    private static void awaitSearch(GTextPanel panel) throws InterruptedException {
+        for (int i = 0; i < 1000 && panel.isSearching(); i++) {
+            Thread.sleep(5);
+        }
+        assertFalse(panel.isSearching());
+    }
+
+    @Test
+    public void testLines() throws IOException, InterruptedException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            content.append("line ").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        try (MappedText text = open(content.toString())) {
+            assertEquals(100000, text.size());
+            assertEquals("line 0", text.get(0));
+            assertEquals("line 63", text.get(63));
+            assertEquals("line 64", text.get(64));
+            assertEquals("line 99999", text.get(99999));
+            assertEquals("line 12345", text.get(12345));
+            assertThrows(IndexOutOfBoundsException.class, () -> text.get(100000));
+        }
+    }
+
+    @Test
+    public void testLastLine() throws IOException, InterruptedException {
+        try (MappedText text = open("first\n\nпоследняя")) {
+            assertEquals(3, text.size());
+            assertEquals("", text.get(1));
+            assertEquals("последняя", text.get(2));
+        }
+        try (MappedText text = open("")) {
+            assertEquals(1, text.size());
+            assertEquals("", text.get(0));
+        }
+    }
+
+    @Test
+    public void testPanelSource() throws IOException, InterruptedException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        try (MappedText text = open(content.toString())) {
+            GTextPanel panel = Graphics.textPanel().size(200, 80).build();
+            panel.setTextSource(text);
+            assertTrue(panel.isMapped());
+            assertEquals(1000, panel.getLinesCount());
+            assertEquals(0, panel.getFirstVisibleLine());
+            assertTrue(panel.getLastVisibleLine() < 20);
+
+            panel.setSearchQuery("LINE 500");
+            // the mapped text is searched in background
+            assertFalse(panel.findNext());
+            awaitSearch(panel);
+            assertEquals(500, panel.selection.startYPos());
+            assertTrue(panel.getFirstVisibleLine() > 400);
+            assertTrue(panel.getLastVisibleLine() > 500);
+
+            assertFalse(panel.findPrevious());
+            awaitSearch(panel);
+            assertEquals(500, panel.selection.startYPos());
+            assertEquals(0, panel.selection.startXPos());
+            // wraps around the file
+            panel.setSearchQuery("line 0");
+            assertFalse(panel.findNext());
+            awaitSearch(panel);
+            assertEquals(0, panel.selection.startYPos());
+
+            panel.setSearchQuery("missing");
+            panel.findNext();
+            awaitSearch(panel);
+            assertEquals(0, panel.selection.startYPos());
+
+            panel.setText("plain");
+            assertFalse(panel.isMapped());
+
+            GTextBox textBox = Graphics.textBox().size(200, 80).build();
+            assertThrows(UnsupportedOperationException.class, () -> textBox.setTextSource(text));
+            assertFalse(textBox.isMapped());
+        }
+    }
+}
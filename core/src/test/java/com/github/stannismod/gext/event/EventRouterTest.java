@@ -0,0 +1,190 @@
+package com.github.stannismod.gext.event;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.event.UIEvent;
+import com.github.stannismod.gext.components.GBasic;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.components.container.GPanel;
+import com.github.stannismod.gext.utils.Alignment;
+import com.github.stannismod.gext.utils.Bound;
+import com.github.stannismod.gext.testapp.LWJGL3Keyboard;
+import com.github.stannismod.gext.testapp.VirtualKeyboard;
+import com.github.stannismod.gext.utils.Keyboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EventRouterTest extends BaseTest {
+
+    private BasicLayout<IGraphicsComponent> root;
+    private GPanel<IGraphicsComponent> panel;
+    private IGraphicsComponent button;
+    private IGraphicsComponent sibling;
+    private EventRouter router;
+    private final VirtualKeyboard keyboard = new VirtualKeyboard();
+    private final List<String> log = new ArrayList<>();
+
+    @AfterEach
+    public void restore() {
+        Keyboard.setKeyboard(new LWJGL3Keyboard(0));
+    }
+
+    @BeforeEach
+    public void setup() {
+        Keyboard.setKeyboard(keyboard);
+        root = Graphics.layout().size(200, 200).build();
+        panel = Graphics.panel().placeAt(50, 50).size(100, 100).build();
+        button = Graphics.button().placeAt(10, 10).size(20, 20).build();
+        sibling = Graphics.button().placeAt(160, 160).size(20, 20).build();
+        panel.addComponent("button", button);
+        root.addComponent("panel", panel);
+        root.addComponent("sibling", sibling);
+        router = root.getEventRouter();
+        log.clear();
+    }
+
+    private void record(IGraphicsComponent component, String name, UIEvent.Type type) {
+        router.addListener(component, type, e -> log.add(name + " " + e.getPhase() + " " + e.getX() + "," + e.getY()), true);
+        router.addListener(component, type, e -> log.add(name + " " + e.getPhase()), false);
+    }
+
+    @Test
+    public void testPhases() {
+        record(root, "root", UIEvent.Type.MOUSE_PRESSED);
+        record(panel, "panel", UIEvent.Type.MOUSE_PRESSED);
+        record(button, "button", UIEvent.Type.MOUSE_PRESSED);
+        record(sibling, "sibling", UIEvent.Type.MOUSE_PRESSED);
+
+        router.mousePressed(65, 65, 0);
+        assertEquals(Arrays.asList(
+                "root CAPTURE 65,65",
+                "panel CAPTURE 15,15",
+                "button TARGET 5,5",
+                "button TARGET",
+                "panel BUBBLE",
+                "root BUBBLE"), log);
+        assertEquals(button, router.getPressed());
+
+        log.clear();
+        router.mousePressed(5, 5, 0);
+        assertEquals(Arrays.asList("root TARGET 5,5", "root TARGET"), log);
+        assertEquals(root, router.getPressed());
+    }
+
+    @Test
+    public void testStopPropagation() {
+        record(button, "button", UIEvent.Type.MOUSE_RELEASED);
+        record(root, "root", UIEvent.Type.MOUSE_RELEASED);
+        router.addListener(panel, UIEvent.Type.MOUSE_RELEASED, UIEvent::stopPropagation, true);
+        router.addListener(panel, UIEvent.Type.MOUSE_RELEASED, e -> log.add("panel " + e.getPhase()), true);
+
+        router.mouseReleased(65, 65, 0);
+        // handlers of the component which stopped the event are still called
+        assertEquals(Arrays.asList("root CAPTURE 65,65", "panel CAPTURE"), log);
+
+        router.removeListeners(panel);
+        log.clear();
+        router.mouseReleased(65, 65, 0);
+        assertEquals(4, log.size());
+    }
+
+    @Test
+    public void testHover() {
+        for (IGraphicsComponent component : Arrays.asList(root, panel, button, sibling)) {
+            router.addListener(component, UIEvent.Type.MOUSE_ENTER, e -> log.add("enter " + e.getTarget().getX()));
+            router.addListener(component, UIEvent.Type.MOUSE_LEAVE, e -> log.add("leave " + e.getTarget().getX()));
+        }
+        router.mouseMoved(65, 65);
+        assertEquals(Arrays.asList("enter 0", "enter 50", "enter 10"), log);
+        assertEquals(Arrays.asList(root, panel, button), router.getHovered());
+
+        log.clear();
+        router.mouseMoved(70, 70);
+        assertTrue(log.isEmpty());
+
+        router.mouseMoved(165, 165);
+        assertEquals(Arrays.asList("leave 10", "leave 50", "enter 160"), log);
+    }
+
+    @Test
+    public void testKeysFollowFocus() {
+        Field first = new Field(40, 40);
+        Field second = new Field(0, 0);
+        panel.addComponent(1, "first", first);
+        root.addComponent(1, "second", second);
+        record(first, "first", UIEvent.Type.KEY_PRESSED);
+        record(second, "second", UIEvent.Type.KEY_PRESSED);
+        record(button, "button", UIEvent.Type.KEY_PRESSED);
+        FocusManager focus = router.getFocusManager();
+
+        router.mousePressed(100, 100, 0);
+        assertEquals(first, focus.getFocused());
+        assertTrue(first.focused);
+        router.keyPressed('a', 30);
+        assertEquals(Arrays.asList("first TARGET 0,0", "first TARGET"), log);
+
+        // non-focusable components don't take the focus
+        router.mousePressed(65, 65, 0);
+        assertNull(focus.getFocused());
+        assertFalse(first.focused);
+        log.clear();
+        router.keyPressed('a', 30);
+        assertTrue(log.isEmpty());
+
+        // the traversal follows the rendering order
+        assertTrue(focus.focusNext());
+        assertEquals(first, focus.getFocused());
+        assertTrue(focus.focusNext());
+        assertEquals(second, focus.getFocused());
+        assertFalse(first.focused);
+        assertTrue(focus.focusNext());
+        assertEquals(first, focus.getFocused());
+        assertTrue(focus.focusPrevious());
+        assertEquals(second, focus.getFocused());
+        assertEquals(Arrays.asList(root, second), focus.getFocusPath());
+
+        assertFalse(focus.requestFocus(button));
+        root.removeComponent("second");
+        assertNull(focus.getFocused());
+        assertFalse(second.focused);
+        assertFalse(focus.requestFocus(second));
+    }
+
+    @Test
+    public void testScrolledContent() {
+        panel.setScrollVertical(10);
+        record(button, "button", UIEvent.Type.MOUSE_SCROLLED);
+        router.mouseScrolled(65, 55, 1.0);
+        assertEquals(Arrays.asList("button TARGET 5,5", "button TARGET"), log);
+    }
+
+    private static class Field extends GBasic {
+
+        private boolean focused;
+
+        private Field(int x, int y) {
+            super(x, y, 50, 20, true, null, null, Bound.LEFT_TOP, Alignment.FIXED, 0, 0, new ArrayList<>());
+        }
+
+        @Override
+        public boolean isFocusable() {
+            return true;
+        }
+
+        @Override
+        public void onFocusChanged(boolean focused) {
+            this.focused = focused;
+        }
+
+        @Override
+        public void draw(int mouseX, int mouseY, float partialTicks) {
+
+        }
+    }
+}
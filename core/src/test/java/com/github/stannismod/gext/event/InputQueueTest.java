@@ -0,0 +1,131 @@
+package com.github.stannismod.gext.event;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.event.UIEvent;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.testapp.LWJGL3Keyboard;
+import com.github.stannismod.gext.testapp.VirtualKeyboard;
+import com.github.stannismod.gext.utils.Keyboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class InputQueueTest extends BaseTest {
+
+    private EventRouter router;
+    private final VirtualKeyboard keyboard = new VirtualKeyboard();
+    private final List<String> log = new ArrayList<>();
+
+    @AfterEach
+    public void restore() {
+        Keyboard.setKeyboard(new LWJGL3Keyboard(0));
+    }
+
+    @BeforeEach
+    public void setup() {
+        Keyboard.setKeyboard(keyboard);
+        BasicLayout<IGraphicsComponent> root = Graphics.layout().size(200, 200).build();
+        router = root.getEventRouter();
+        log.clear();
+        router.addListener(root, UIEvent.Type.MOUSE_PRESSED, e -> log.add("press " + e.getButton()));
+        router.addListener(root, UIEvent.Type.MOUSE_RELEASED, e -> log.add("release " + e.getButton()));
+        router.addListener(root, UIEvent.Type.MOUSE_MOVED, e -> log.add("move " + e.getX() + "," + e.getY()));
+        router.addListener(root, UIEvent.Type.MOUSE_DRAGGED,
+                e -> log.add("drag " + e.getX() + "," + e.getY() + " " + e.getXAmount() + "," + e.getYAmount()));
+        router.addListener(root, UIEvent.Type.MOUSE_SCROLLED, e -> log.add("scroll " + e.getAmount()));
+        router.addListener(root, UIEvent.Type.KEY_PRESSED, e -> log.add("key " + e.getTypedChar()));
+    }
+
+    @Test
+    public void testCoalescing() {
+        InputQueue queue = new InputQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.mouseMoved(i, i);
+        }
+        queue.mousePressed(99, 99, 0);
+        for (int i = 0; i < 10; i++) {
+            queue.mouseDragged(100 + i, 99, 0, 1, 0);
+        }
+        queue.mouseDragged(110, 100, 1, 0, 1);
+        queue.mouseReleased(110, 100, 0);
+        queue.mouseScrolled(110, 100, 1);
+        queue.mouseScrolled(110, 100, 2);
+        queue.keyPressed('a', 30);
+        queue.keyPressed('a', 30);
+        assertEquals(8, queue.size());
+
+        assertEquals(8, queue.flush(router));
+        assertTrue(queue.isEmpty());
+        assertEquals(Arrays.asList(
+                "move 99,99",
+                "press 0",
+                "drag 109,99 10.0,0.0",
+                "drag 110,100 0.0,1.0",
+                "release 0",
+                "scroll 3.0",
+                "key a",
+                "key a"), log);
+        assertEquals(0, queue.flush(router));
+    }
+
+    @Test
+    public void testTransitionsKeepOrder() {
+        InputQueue queue = new InputQueue(2);
+        for (int i = 0; i < 5; i++) {
+            queue.mousePressed(0, 0, i);
+            queue.mouseReleased(0, 0, i);
+        }
+        queue.flush(router);
+        queue.mousePressed(0, 0, 7);
+        // wrapping the ring around before it grows
+        for (int i = 0; i < 3; i++) {
+            queue.mouseReleased(0, 0, 8 + i);
+        }
+        queue.flush(router);
+        assertEquals(Arrays.asList(
+                "press 0", "release 0", "press 1", "release 1", "press 2", "release 2",
+                "press 3", "release 3", "press 4", "release 4",
+                "press 7", "release 8", "release 9", "release 10"), log);
+        assertThrows(IllegalArgumentException.class, () -> new InputQueue(0));
+    }
+
+    @Test
+    public void testKeyboardSnapshot() {
+        InputQueue queue = new InputQueue();
+        keyboard.hold(Keyboard.KEY_LCONTROL);
+        List<Integer> polls = new ArrayList<>();
+        router.addListener(router.getRoot(), UIEvent.Type.KEY_PRESSED, e -> {
+            assertTrue(e.isControlDown());
+            assertFalse(e.isShiftDown());
+            assertTrue(Keyboard.isKeyDown(Keyboard.KEY_CONTROL));
+            polls.add(keyboard.getPolls());
+        });
+        queue.keyPressed('v', 0);
+        queue.keyPressed('v', 0);
+        queue.flush(router);
+        assertFalse(Keyboard.isSnapshot());
+        assertEquals(2, polls.size());
+        // the handlers don't reach the platform
+        assertEquals(polls.get(0), polls.get(1));
+    }
+
+    @Test
+    public void testMouseFlushPollsModifiersOnly() {
+        InputQueue queue = new InputQueue();
+        for (int i = 0; i < 10; i++) {
+            queue.mouseMoved(i, i);
+            queue.mousePressed(i, i, 0);
+            queue.mouseReleased(i, i, 0);
+        }
+        int polls = keyboard.getPolls();
+        queue.flush(router);
+        // shift, control and alt on both sides, once per flush
+        assertEquals(polls + 6, keyboard.getPolls());
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import org.junit.jupiter.api.Test;
+
+import static com.github.stannismod.gext.layout.AnchorLayout.NONE;
+
+public class AnchorLayoutTest extends BaseTest {
+
+    @Test
+    public void testAnchors() {
+        AnchorLayout anchors = new AnchorLayout();
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 80).layoutManager(anchors).build();
+        IGraphicsComponent stretched = Graphics.button().size(10, 10).build();
+        IGraphicsComponent corner = Graphics.button().size(20, 10).build();
+        IGraphicsComponent free = Graphics.button().placeAt(7, 9).size(5, 5).build();
+        layout.addComponent(0, "stretched", stretched);
+        layout.addComponent(1, "corner", corner);
+        layout.addComponent(2, "free", free);
+        anchors.setAnchors(stretched, 5, 5, 5, NONE);
+        anchors.setAnchors(corner, NONE, NONE, 10, 10);
+        layout.requestLayout();
+        layout.update();
+
+        assertEquals(5, stretched.getX());
+        assertEquals(90, stretched.getWidth());
+        assertEquals(10, stretched.getHeight());
+        assertEquals(70, corner.getX());
+        assertEquals(60, corner.getY());
+        assertEquals(7, free.getX());
+        assertEquals(9, free.getY());
+
+        layout.setWidth(200);
+        layout.update();
+        assertEquals(190, stretched.getWidth());
+        assertEquals(170, corner.getX());
+        assertEquals(new Size(30, 20), layout.measure(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+}
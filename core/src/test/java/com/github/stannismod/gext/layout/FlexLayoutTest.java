@@ -0,0 +1,167 @@
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+public class FlexLayoutTest extends BaseTest {
+
+    private static IGraphicsComponent box(int width, int height) {
+        return Graphics.button().size(width, height).build();
+    }
+
+    @Test
+    public void testGrow() {
+        FlexLayout flex = new FlexLayout(FlexLayout.Direction.ROW, 10);
+        BasicLayout<IGraphicsComponent> row = Graphics.layout().size(200, 50).layoutManager(flex).build();
+        IGraphicsComponent fixed = box(40, 20);
+        IGraphicsComponent first = box(20, 20);
+        IGraphicsComponent second = box(20, 30);
+        row.addComponent(0, "a", fixed);
+        row.addComponent(1, "b", first);
+        row.addComponent(2, "c", second);
+        flex.setGrow(first, 1);
+        flex.setGrow(second, 3);
+        row.update();
+
+        // 200 - 80 of content - 20 of gaps
+        assertEquals(40, fixed.getWidth());
+        assertEquals(20 + 25, first.getWidth());
+        assertEquals(20 + 75, second.getWidth());
+        assertEquals(50, first.getX());
+        assertEquals(105, second.getX());
+        assertEquals(30, second.getHeight());
+        assertEquals(new Size(100, 30), row.measure(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        // preferred sizes survive the grow, so narrowing shrinks the children back
+        row.setWidth(100);
+        row.update();
+        assertEquals(40, fixed.getWidth());
+        assertEquals(20, first.getWidth());
+        assertEquals(20, second.getWidth());
+        assertFalse(row.isLayoutRequested());
+    }
+
+    @Test
+    public void testJustifyAndCross() {
+        FlexLayout flex = new FlexLayout(FlexLayout.Direction.COLUMN);
+        flex.setJustify(FlexLayout.Justify.SPACE_BETWEEN);
+        flex.setCross(FlexLayout.Cross.STRETCH);
+        BasicLayout<IGraphicsComponent> column = Graphics.layout().size(60, 100).layoutManager(flex).build();
+        IGraphicsComponent top = box(10, 20);
+        IGraphicsComponent bottom = box(30, 20);
+        column.addComponent(0, "top", top);
+        column.addComponent(1, "bottom", bottom);
+        column.update();
+        assertEquals(0, top.getY());
+        assertEquals(80, bottom.getY());
+        assertEquals(60, top.getWidth());
+        assertEquals(60, bottom.getWidth());
+
+        flex.setJustify(FlexLayout.Justify.CENTER);
+        flex.setCross(FlexLayout.Cross.END);
+        column.requestLayout();
+        column.update();
+        assertEquals(30, top.getY());
+        assertEquals(50, bottom.getY());
+        assertEquals(50, top.getX());
+        assertEquals(30, bottom.getX());
+    }
+
+    @Test
+    public void testShrink() {
+        BasicLayout<IGraphicsComponent> row = Graphics.layout().size(50, 10)
+                .layoutManager(new FlexLayout(FlexLayout.Direction.ROW)).build();
+        IGraphicsComponent first = box(60, 10);
+        IGraphicsComponent second = box(40, 10);
+        row.addComponent(0, "first", first);
+        row.addComponent(1, "second", second);
+        row.update();
+        assertEquals(30, first.getWidth());
+        assertEquals(20, second.getWidth());
+        assertEquals(30, second.getX());
+    }
+
+    @Test
+    public void testGapsOverflow() {
+        BasicLayout<IGraphicsComponent> row = Graphics.layout().size(5, 10)
+                .layoutManager(new FlexLayout(FlexLayout.Direction.ROW, 10)).build();
+        for (int i = 0; i < 3; i++) {
+            row.addComponent(i, "box" + i, box(2, 10));
+        }
+        row.update();
+        for (IGraphicsComponent child : row.getChildren()) {
+            assertEquals(0, child.getWidth());
+        }
+    }
+
+    @Test
+    public void testMeasureCaching() {
+        CountingLayout outerManager = new CountingLayout(new FlexLayout(FlexLayout.Direction.COLUMN));
+        CountingLayout firstManager = new CountingLayout(new FlexLayout(FlexLayout.Direction.ROW));
+        CountingLayout secondManager = new CountingLayout(new FlexLayout(FlexLayout.Direction.ROW));
+        BasicLayout<IGraphicsComponent> outer = Graphics.layout().size(200, 200).layoutManager(outerManager).build();
+        BasicLayout<IGraphicsComponent> first = Graphics.layout().layoutManager(firstManager).build();
+        BasicLayout<IGraphicsComponent> second = Graphics.layout().layoutManager(secondManager).build();
+        outer.addComponent(0, "first", first);
+        outer.addComponent(1, "second", second);
+        for (int i = 0; i < 3; i++) {
+            first.addComponent(i, "box" + i, box(10, 10));
+            second.addComponent(i, "box" + i, box(20, 15));
+        }
+        outer.update();
+        assertEquals(30, first.getWidth());
+        assertEquals(10, first.getHeight());
+        assertEquals(60, second.getWidth());
+        assertEquals(15, second.getHeight());
+        assertEquals(10, second.getY());
+        assertEquals(1, outerManager.arranges);
+        assertEquals(1, firstManager.measures);
+        assertEquals(1, secondManager.measures);
+
+        // nothing changed, no layout work
+        outer.update();
+        assertEquals(1, outerManager.arranges);
+
+        // many mutations in one frame, one relayout, the clean sibling isn't re-measured
+        for (int i = 3; i < 10; i++) {
+            first.addComponent(i, "box" + i, box(10, 12));
+        }
+        assertTrue(outer.needUpdate());
+        assertTrue(outer.isLayoutRequested());
+        outer.update();
+        assertEquals(2, outerManager.arranges);
+        assertEquals(2, firstManager.measures);
+        assertEquals(1, secondManager.measures);
+        assertEquals(100, first.getWidth());
+        assertEquals(12, first.getHeight());
+        assertEquals(12, second.getY());
+        assertEquals(100, first.getComponent("box9").getX() + 10);
+    }
+
+    private static class CountingLayout implements LayoutManager {
+
+        private final LayoutManager delegate;
+        private int measures;
+        private int arranges;
+
+        private CountingLayout(LayoutManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public @NotNull Size measure(@NotNull LayoutContext context, int maxWidth, int maxHeight) {
+            measures++;
+            return delegate.measure(context, maxWidth, maxHeight);
+        }
+
+        @Override
+        public void arrange(@NotNull LayoutContext context, int width, int height) {
+            arranges++;
+            delegate.arrange(context, width, height);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.stannismod.gext.layout;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import org.junit.jupiter.api.Test;
+
+public class GridLayoutTest extends BaseTest {
+
+    @Test
+    public void testFlowAndSpans() {
+        GridLayout grid = new GridLayout(2, 5, 5);
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(0, 0).layoutManager(grid).build();
+        IGraphicsComponent a = Graphics.button().size(20, 10).build();
+        IGraphicsComponent b = Graphics.button().size(30, 15).build();
+        IGraphicsComponent c = Graphics.button().size(10, 10).build();
+        IGraphicsComponent wide = Graphics.button().size(70, 20).build();
+        layout.addComponent(0, "a", a);
+        layout.addComponent(1, "b", b);
+        layout.addComponent(2, "c", c);
+        layout.addComponent(3, "wide", wide);
+        grid.setCell(wide, 0, 2, 2, 1);
+        layout.requestLayout();
+
+        // columns 20 and 30 + 5 gap, widened to 70 by the spanning child
+        assertEquals(new Size(70, 15 + 10 + 20 + 10), layout.measure(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        layout.setWidth(70);
+        layout.setHeight(55);
+        layout.update();
+        assertEquals(0, a.getX());
+        assertEquals(25, b.getX());
+        assertEquals(45, b.getWidth());
+        assertEquals(15, b.getHeight());
+        assertEquals(0, c.getX());
+        assertEquals(20, c.getY());
+        assertEquals(20, c.getWidth());
+        assertEquals(35, wide.getY());
+        assertEquals(70, wide.getWidth());
+
+        assertThrows(IllegalArgumentException.class, () -> grid.setCell(a, 1, 0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GridLayout(0));
+    }
+}
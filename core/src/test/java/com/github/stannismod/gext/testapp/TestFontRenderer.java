@@ -40,6 +40,11 @@ public class TestFontRenderer implements IFontRenderer {
 
     @Override
     public @NotNull List<String> listTextToWidth(@NotNull final String text, final int width) {
-        return new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        int perLine = Math.max(1, width / 5);
+        for (int i = 0; i < text.length(); i += perLine) {
+            lines.add(text.substring(i, Math.min(text.length(), i + perLine)));
+        }
+        return lines;
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Stanislav Batalenkov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.stannismod.gext.testapp;
+
+import com.github.stannismod.gext.api.adapter.IKeyboard;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keyboard without a window: the keys are held programmatically and the polls are counted
+ */
+public class VirtualKeyboard implements IKeyboard {
+
+    private final LWJGL3Keyboard names = new LWJGL3Keyboard(0);
+    private final Set<Integer> held = new HashSet<>();
+    private int polls;
+
+    public void hold(int key) {
+        held.add(key);
+    }
+
+    public void release(int key) {
+        held.remove(key);
+    }
+
+    public int getPolls() {
+        return polls;
+    }
+
+    @Override
+    public boolean isKeyDown(final int key) {
+        polls++;
+        return held.contains(key);
+    }
+
+    @Override
+    public int getKey(final String name) {
+        return names.getKey(name);
+    }
+}
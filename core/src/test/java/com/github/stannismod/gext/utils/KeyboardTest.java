@@ -0,0 +1,82 @@
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.event.UIEvent;
+import com.github.stannismod.gext.testapp.LWJGL3Keyboard;
+import com.github.stannismod.gext.testapp.VirtualKeyboard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+public class KeyboardTest extends BaseTest {
+
+    private VirtualKeyboard keyboard;
+
+    @BeforeEach
+    public void setup() {
+        keyboard = new VirtualKeyboard();
+        Keyboard.setKeyboard(keyboard);
+    }
+
+    @AfterEach
+    public void restore() {
+        Keyboard.setKeyboard(new LWJGL3Keyboard(0));
+    }
+
+    @Test
+    public void testSnapshot() {
+        keyboard.hold(Keyboard.KEY_LSHIFT);
+        keyboard.hold(Keyboard.KEY_V);
+        int polls = keyboard.getPolls();
+        Keyboard.snapshot();
+        assertTrue(Keyboard.isSnapshot());
+        // the keys are polled on demand
+        assertEquals(polls, keyboard.getPolls());
+        assertTrue(Keyboard.isKeyDown(Keyboard.KEY_V));
+        assertEquals(polls + 1, keyboard.getPolls());
+        assertTrue(Keyboard.isKeyDown(Keyboard.KEY_SHIFT));
+        assertFalse(Keyboard.isKeyDown(Keyboard.KEY_CONTROL));
+        assertFalse(Keyboard.isKeyDown(Keyboard.KEY_Z));
+        assertEquals(UIEvent.MOD_SHIFT, Keyboard.getModifiers());
+        polls = keyboard.getPolls();
+
+        assertTrue(Keyboard.isKeyDown(Keyboard.KEY_SHIFT));
+        assertTrue(Keyboard.isKeyDown(Keyboard.KEY_V));
+        assertFalse(Keyboard.isKeyDown(Keyboard.KEY_CONTROL));
+        assertFalse(Keyboard.isKeyDown(Keyboard.KEY_Z));
+        assertEquals(UIEvent.MOD_SHIFT, Keyboard.getModifiers());
+        assertEquals(polls, keyboard.getPolls());
+
+        // the snapshot isn't affected by the later changes
+        keyboard.release(Keyboard.KEY_V);
+        assertTrue(Keyboard.isKeyDown(Keyboard.KEY_V));
+        Keyboard.release();
+        assertFalse(Keyboard.isKeyDown(Keyboard.KEY_V));
+        assertEquals(polls + 1, keyboard.getPolls());
+    }
+
+    @Test
+    public void testAllKeysAssigned() throws IllegalAccessException {
+        Set<Integer> keys = new HashSet<>();
+        for (Field field : Keyboard.class.getFields()) {
+            if (field.getType() == int.class && !Modifier.isFinal(field.getModifiers())) {
+                int key = field.getInt(null);
+                assertTrue(key > 0, field.getName());
+                assertTrue(keys.add(key), field.getName());
+            }
+        }
+    }
+
+    @Test
+    public void testModifiers() {
+        assertEquals(0, Keyboard.getModifiers());
+        keyboard.hold(Keyboard.KEY_RCONTROL);
+        keyboard.hold(Keyboard.KEY_LALT);
+        assertEquals(UIEvent.MOD_CONTROL | UIEvent.MOD_ALT, Keyboard.getModifiers());
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.GLabel;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.components.container.GPanel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedrawTest extends BaseTest {
+
+    private long version;
+
+    private boolean redrawRequested() {
+        long current = Redraw.getVersion();
+        boolean requested = current != version;
+        version = current;
+        return requested;
+    }
+
+    @AfterEach
+    public void reset() {
+        Redraw.resetDeadline();
+    }
+
+    @Test
+    public void testDeadline() {
+        Redraw.resetDeadline();
+        assertEquals(Long.MAX_VALUE, Redraw.getDeadline());
+        Redraw.requestAt(1500);
+        Redraw.requestAt(2000);
+        assertEquals(1500, Redraw.getDeadline());
+        Redraw.requestAt(1000);
+        assertEquals(1000, Redraw.getDeadline());
+
+        assertFalse(Redraw.isDue(999));
+        assertTrue(Redraw.isDue(1000));
+        Redraw.resetDeadline();
+        assertFalse(Redraw.isDue(1000));
+    }
+
+    @Test
+    public void testChangesRequestRedraw() {
+        BasicLayout<IGraphicsComponent> root = Graphics.layout().size(300, 300).build();
+        GPanel<IGraphicsComponent> panel = Graphics.panel().size(100, 100).placeAt(50, 50).build();
+        GLabel label = Graphics.label().text("label").placeAt(10, 10).build();
+
+        redrawRequested();
+        root.addComponent(panel);
+        assertTrue(redrawRequested());
+        panel.addComponent(label);
+        assertTrue(redrawRequested());
+
+        label.setX(20);
+        assertTrue(redrawRequested());
+        label.setVisibility(false);
+        assertTrue(redrawRequested());
+        label.markDirty();
+        assertTrue(redrawRequested());
+        panel.setScrollVertical(10);
+        assertTrue(redrawRequested());
+
+        assertFalse(redrawRequested());
+    }
+
+    @Test
+    public void testRenderOnDemand() {
+        BasicLayout<IGraphicsComponent> root = Graphics.layout().size(300, 300).build();
+        assertFalse(root.isRenderOnDemand());
+        root.setRenderOnDemand(true);
+        assertTrue(root.isRenderOnDemand());
+        // nothing is composed yet
+        assertTrue(root.needsRedraw(0, 0));
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.stannismod.gext.utils;
+
+import com.github.stannismod.gext.BaseTest;
+import com.github.stannismod.gext.api.IGraphicsComponent;
+import com.github.stannismod.gext.api.IGraphicsLayout;
+import com.github.stannismod.gext.api.IRootLayout;
+import com.github.stannismod.gext.components.Graphics;
+import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.components.container.GPanel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScreenStackTest extends BaseTest {
+
+    private BasicLayout<IGraphicsComponent> create(int components) {
+        BasicLayout<IGraphicsComponent> layout = Graphics.layout().size(100, 100).build();
+        for (int i = 0; i < components; i++) {
+            layout.addComponent("c" + i, Graphics.button().size(10, 10).build());
+        }
+        return layout;
+    }
+
+    @Test
+    public void testRestore() {
+        ScreenStack stack = new ScreenStack(100);
+        BasicLayout<IGraphicsComponent> layout = create(0);
+        GPanel<IGraphicsComponent> panel = Graphics.panel().size(50, 50).build();
+        panel.addComponent(Graphics.button().size(10, 200).build());
+        layout.addComponent("panel", panel);
+        panel.setScrollVertical(30);
+
+        stack.store("inventory", layout);
+        assertTrue(stack.isCached("inventory"));
+        assertEquals(3, stack.getUsed());
+        assertNull(stack.restore("other", 100, 100));
+
+        assertSame(layout, stack.restore("inventory", 200, 150));
+        assertFalse(stack.isCached("inventory"));
+        assertEquals(0, stack.getUsed());
+        assertSame(panel, layout.getComponent("panel"));
+        assertEquals(30, panel.getScrollVertical());
+        assertEquals(200, layout.getWidth());
+        assertEquals(150, layout.getHeight());
+        // taken out, so it's never shared
+        assertNull(stack.restore("inventory", 200, 150));
+
+        stack.store(null, layout);
+        assertEquals(0, stack.getCachedCount());
+    }
+
+    @Test
+    public void testBudget() {
+        ScreenStack stack = new ScreenStack(24);
+        stack.store("a", create(9));
+        stack.store("b", create(9));
+        assertEquals(20, stack.getUsed());
+        // a becomes the most recently used one
+        assertTrue(stack.isCached("a"));
+        stack.restore("a", 100, 100);
+        stack.store("a", create(9));
+        stack.store("c", create(4));
+        assertFalse(stack.isCached("b"));
+        assertTrue(stack.isCached("a"));
+        assertTrue(stack.isCached("c"));
+        assertEquals(15, stack.getUsed());
+
+        stack.store("c", create(0));
+        assertEquals(11, stack.getUsed());
+        stack.setBudget(5);
+        assertEquals(1, stack.getCachedCount());
+        assertTrue(stack.isCached("c"));
+        stack.clearCache();
+        assertEquals(0, stack.getUsed());
+    }
+
+    @Test
+    public void testClear() {
+        ScreenStack stack = new ScreenStack(100);
+        Screen screen = new Screen("chest");
+        stack.push(screen);
+        stack.store("chest", create(2));
+        stack.clear();
+        assertFalse(stack.isCached("chest"));
+        assertEquals(0, stack.getUsed());
+        assertNull(stack.current());
+    }
+
+    @Test
+    public void testHistory() {
+        ScreenStack stack = new ScreenStack(100);
+        IRootLayout first = new Screen("first");
+        IRootLayout second = new Screen("second");
+        IRootLayout third = new Screen("third");
+        // the screens without a cache key aren't recorded
+        stack.push(new Screen(null));
+        assertEquals(0, stack.getHistorySize());
+        stack.push(first);
+        stack.push(second);
+        stack.push(second);
+        stack.push(third);
+        assertEquals(3, stack.getHistorySize());
+        assertSame(third, stack.current());
+
+        assertSame(second, stack.back());
+        // the screen displayed again records itself
+        stack.push(second);
+        assertEquals(2, stack.getHistorySize());
+        stack.push(first);
+        assertEquals(2, stack.getHistorySize());
+        assertSame(second, stack.back());
+        assertNull(stack.back());
+        assertNull(stack.back());
+
+        // the history holds the screens weakly
+        List<IRootLayout> screens = new ArrayList<>();
+        for (int i = 0; i < ScreenStack.MAX_HISTORY + 5; i++) {
+            screens.add(new Screen(i));
+            stack.push(screens.get(i));
+        }
+        assertEquals(ScreenStack.MAX_HISTORY, stack.getHistorySize());
+        stack.clearHistory();
+        assertNull(stack.current());
+    }
+
+    private static class Screen implements IRootLayout {
+
+        private final BasicLayout<IGraphicsComponent> layout = Graphics.layout().build();
+        private final Object key;
+
+        private Screen(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public @NotNull IGraphicsLayout<IGraphicsComponent> layout() {
+            return layout;
+        }
+
+        @Override
+        public void initLayout() {}
+
+        @Override
+        public @Nullable Object cacheKey() {
+            return key;
+        }
+    }
+}
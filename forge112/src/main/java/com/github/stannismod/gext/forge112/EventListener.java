@@ -16,8 +16,10 @@
 
 package com.github.stannismod.gext.forge112;
 
+import com.github.stannismod.gext.GExt;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.InputEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -38,6 +40,13 @@ public class EventListener {
             Minecraft.getMinecraft().displayGuiScreen(new GuiTest());
         }
     }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isRemote) {
+            GExt.onWorldUnload();
+        }
+    }
     
     
 }
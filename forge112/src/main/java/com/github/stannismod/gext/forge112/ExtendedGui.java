@@ -23,6 +23,7 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
@@ -36,6 +37,7 @@ import java.io.IOException;
 public abstract class ExtendedGui extends Gui implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
     private Rectangle frame;
     private IScaledResolution res;
     private boolean initialClick;
@@ -62,6 +64,7 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     public void drawScreen(int mouseX, int mouseY, float partialTicks) {
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(frame);
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
@@ -71,16 +74,16 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     protected void keyTyped(char typedChar, int keyCode) throws IOException {
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
     }
 
     protected void mouseClicked(int mouseX, int mouseY, int mouseButton) throws IOException {
-        layout.onMousePressed(mouseX, mouseY, mouseButton);
+        input.mousePressed(mouseX, mouseY, mouseButton);
         initialClick = true;
     }
 
     protected void mouseReleased(int mouseX, int mouseY, int mouseButton) {
-        layout.onMouseReleased(mouseX, mouseY, mouseButton);
+        input.mouseReleased(mouseX, mouseY, mouseButton);
         initialClick = false;
     }
 
@@ -92,13 +95,13 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
 
         int scrolled = Mouse.getEventDWheel();
         if (scrolled != 0) {
-            layout.onMouseScrolled(mouseX, mouseY, scrolled);
+            input.mouseScrolled(mouseX, mouseY, scrolled);
         } else {
             if (!Mouse.getEventButtonState()) {
                 if (initialClick) {
-                    layout.onMouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
+                    input.mouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
                 } else {
-                    layout.onMouseMoved(mouseX, mouseY);
+                    input.mouseMoved(mouseX, mouseY);
                 }
             }
         }
@@ -110,6 +113,7 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     public void onGuiClosed() {
+        input.clear();
         layout.onClosed();
     }
 }
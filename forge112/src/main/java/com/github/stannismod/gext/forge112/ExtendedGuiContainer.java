@@ -23,7 +23,9 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
+import com.github.stannismod.gext.utils.ScreenStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.inventory.GuiContainer;
 import net.minecraft.inventory.Container;
@@ -37,6 +39,8 @@ import java.io.IOException;
 public abstract class ExtendedGuiContainer extends GuiContainer implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
+    private boolean resizing;
     private IScaledResolution res;
     private boolean initialClick;
     private int mouseX;
@@ -56,6 +60,16 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     public void initGui() {
         super.initGui();
         res = GExt.getView();
+        if (resizing) {
+            // the tree is kept, the root is laid out again for the new size
+            layout.onResize(res.getScaledWidth(), res.getScaledHeight());
+            return;
+        }
+        layout = ScreenStack.getInstance().restore(cacheKey(), res.getScaledWidth(), res.getScaledHeight());
+        if (layout != null) {
+            onReopened();
+            return;
+        }
         layout = Graphics.layout()
                 .size(res.getScaledWidth(), res.getScaledHeight())
                 .placeAt(0, 0)
@@ -68,6 +82,7 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     public void drawScreen(int mouseX, int mouseY, float partialTicks) {
         super.drawScreen(mouseX, mouseY, partialTicks);
         GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
@@ -80,20 +95,20 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     @Override
     protected void keyTyped(char typedChar, int keyCode) throws IOException {
         super.keyTyped(typedChar, keyCode);
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
     }
 
     @Override
     protected void mouseClicked(int mouseX, int mouseY, int mouseButton) throws IOException {
         super.mouseClicked(mouseX, mouseY, mouseButton);
-        layout.onMousePressed(mouseX, mouseY, mouseButton);
+        input.mousePressed(mouseX, mouseY, mouseButton);
         initialClick = true;
     }
 
     @Override
     protected void mouseReleased(int mouseX, int mouseY, int mouseButton) {
         super.mouseReleased(mouseX, mouseY, mouseButton);
-        layout.onMouseReleased(mouseX, mouseY, mouseButton);
+        input.mouseReleased(mouseX, mouseY, mouseButton);
         initialClick = false;
     }
 
@@ -107,13 +122,13 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
 
         int scrolled = Mouse.getEventDWheel();
         if (scrolled != 0) {
-            layout.onMouseScrolled(mouseX, mouseY, scrolled);
+            input.mouseScrolled(mouseX, mouseY, scrolled);
         } else {
             if (!Mouse.getEventButtonState()) {
                 if (initialClick) {
-                    layout.onMouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
+                    input.mouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
                 } else {
-                    layout.onMouseMoved(mouseX, mouseY);
+                    input.mouseMoved(mouseX, mouseY);
                 }
             }
         }
@@ -122,13 +137,20 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     @Override
     public void onResize(@Nonnull Minecraft mc, int w, int h) {
         GExt.onResize();
-        super.onResize(mc, w, h);
+        resizing = layout != null;
+        try {
+            super.onResize(mc, w, h);
+        } finally {
+            resizing = false;
+        }
     }
 
     @Override
     public void onGuiClosed() {
         super.onGuiClosed();
+        input.clear();
         layout.onClosed();
+        ScreenStack.getInstance().store(cacheKey(), layout);
     }
 
     @Override
@@ -23,7 +23,9 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
+import com.github.stannismod.gext.utils.ScreenStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiScreen;
 import org.jetbrains.annotations.NotNull;
@@ -36,6 +38,8 @@ import java.io.IOException;
 public abstract class ExtendedGuiScreen extends GuiScreen implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
+    private boolean resizing;
     private IScaledResolution res;
     private boolean initialClick;
     private int mouseX;
@@ -54,18 +58,40 @@ public abstract class ExtendedGuiScreen extends GuiScreen implements IRootLayout
     public void initGui() {
         super.initGui();
         res = GExt.getView();
+        if (resizing) {
+            // the tree is kept, the root is laid out again for the new size
+            layout.onResize(res.getScaledWidth(), res.getScaledHeight());
+            return;
+        }
+        ScreenStack.getInstance().push(this);
+        layout = ScreenStack.getInstance().restore(cacheKey(), res.getScaledWidth(), res.getScaledHeight());
+        if (layout != null) {
+            onReopened();
+            return;
+        }
         layout = Graphics.layout()
                 .size(res.getScaledWidth(), res.getScaledHeight())
                 .placeAt(0, 0)
                 .build();
+        layout.setRenderOnDemand(renderOnDemand());
         layout.init();
         initLayout();
     }
 
+    /**
+     * Override to draw the screen only when its content changes,
+     * see {@link BasicLayout#setRenderOnDemand(boolean)}
+     * @since 1.5.2
+     */
+    protected boolean renderOnDemand() {
+        return false;
+    }
+
     @Override
     public void drawScreen(int mouseX, int mouseY, float partialTicks) {
         super.drawScreen(mouseX, mouseY, partialTicks);
         GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
@@ -78,20 +104,20 @@ public abstract class ExtendedGuiScreen extends GuiScreen implements IRootLayout
     @Override
     protected void keyTyped(char typedChar, int keyCode) throws IOException {
         super.keyTyped(typedChar, keyCode);
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
     }
 
     @Override
     protected void mouseClicked(int mouseX, int mouseY, int mouseButton) throws IOException {
         super.mouseClicked(mouseX, mouseY, mouseButton);
-        layout.onMousePressed(mouseX, mouseY, mouseButton);
+        input.mousePressed(mouseX, mouseY, mouseButton);
         initialClick = true;
     }
 
     @Override
     protected void mouseReleased(int mouseX, int mouseY, int mouseButton) {
         super.mouseReleased(mouseX, mouseY, mouseButton);
-        layout.onMouseReleased(mouseX, mouseY, mouseButton);
+        input.mouseReleased(mouseX, mouseY, mouseButton);
         initialClick = false;
     }
 
@@ -105,13 +131,13 @@ public abstract class ExtendedGuiScreen extends GuiScreen implements IRootLayout
 
         int scrolled = Mouse.getEventDWheel();
         if (scrolled != 0) {
-            layout.onMouseScrolled(mouseX, mouseY, scrolled);
+            input.mouseScrolled(mouseX, mouseY, scrolled);
         } else {
             if (!Mouse.getEventButtonState()) {
                 if (initialClick) {
-                    layout.onMouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
+                    input.mouseDragged(mouseX, mouseY, mouseButton, mouseX - this.mouseX, mouseY - this.mouseY);
                 } else {
-                    layout.onMouseMoved(mouseX, mouseY);
+                    input.mouseMoved(mouseX, mouseY);
                 }
             }
         }
@@ -120,12 +146,19 @@ public abstract class ExtendedGuiScreen extends GuiScreen implements IRootLayout
     @Override
     public void onResize(@Nonnull Minecraft mc, int w, int h) {
         GExt.onResize();
-        super.onResize(mc, w, h);
+        resizing = layout != null;
+        try {
+            super.onResize(mc, w, h);
+        } finally {
+            resizing = false;
+        }
     }
 
     @Override
     public void onGuiClosed() {
         super.onGuiClosed();
+        input.clear();
         layout.onClosed();
+        ScreenStack.getInstance().store(cacheKey(), layout);
     }
 }
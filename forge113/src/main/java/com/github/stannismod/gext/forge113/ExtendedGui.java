@@ -23,6 +23,7 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
@@ -33,6 +34,7 @@ import javax.annotation.Nonnull;
 public abstract class ExtendedGui extends Gui implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
     private IScaledResolution res;
     private int mouseX;
     private int mouseY;
@@ -58,34 +60,35 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
 
     public void render(int mouseX, int mouseY, float partialTicks) {
         if (this.mouseX != mouseX || this.mouseY != mouseY) {
-            layout.onMouseMoved(mouseX, mouseY);
+            input.mouseMoved(mouseX, mouseY);
         }
         this.mouseX = mouseX;
         this.mouseY = mouseY;
 
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
     }
 
     public void charTyped(char typedChar, int keyCode) {
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
     }
 
     public void mouseClicked(double mouseX, double mouseY, int mouseButton) {
-        layout.onMousePressed((int) mouseX, (int) mouseY, mouseButton);
+        input.mousePressed((int) mouseX, (int) mouseY, mouseButton);
     }
 
     public void mouseReleased(double mouseX, double mouseY, int mouseButton) {
-        layout.onMouseReleased((int) mouseX, (int) mouseY, mouseButton);
+        input.mouseReleased((int) mouseX, (int) mouseY, mouseButton);
     }
 
     public void mouseDragged(double mouseX, double mouseY, int mouseDragged, double xAmount, double yAmount) {
-        layout.onMouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
+        input.mouseDragged((int) mouseX, (int) mouseY, mouseDragged, xAmount, yAmount);
     }
 
     public void mouseScrolled(final double mouseX, final double mouseY, final double amountScrolled) {
-        layout.onMouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
+        input.mouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
     }
 
     public void onResize(@Nonnull Minecraft mc, int w, int h) {
@@ -94,6 +97,7 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     public void onGuiClosed() {
+        input.clear();
         layout.onClosed();
     }
 }
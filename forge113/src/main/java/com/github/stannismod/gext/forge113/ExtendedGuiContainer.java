@@ -23,7 +23,9 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
+import com.github.stannismod.gext.utils.ScreenStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.inventory.GuiContainer;
 import net.minecraft.inventory.Container;
@@ -34,6 +36,8 @@ import javax.annotation.Nonnull;
 public abstract class ExtendedGuiContainer extends GuiContainer implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
+    private boolean resizing;
     private IScaledResolution res;
     private int mouseX;
     private int mouseY;
@@ -52,6 +56,16 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     public void initGui() {
         super.initGui();
         res = GExt.scaled();
+        if (resizing) {
+            // the tree is kept, the root is laid out again for the new size
+            layout.onResize(res.getScaledWidth(), res.getScaledHeight());
+            return;
+        }
+        layout = ScreenStack.getInstance().restore(cacheKey(), res.getScaledWidth(), res.getScaledHeight());
+        if (layout != null) {
+            onReopened();
+            return;
+        }
         layout = Graphics.layout()
                 .size(res.getScaledWidth(), res.getScaledHeight())
                 .placeAt(0, 0)
@@ -65,11 +79,12 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
         super.render(mouseX, mouseY, partialTicks);
 
         if (this.mouseX != mouseX || this.mouseY != mouseY) {
-            layout.onMouseMoved(mouseX, mouseY);
+            input.mouseMoved(mouseX, mouseY);
         }
         this.mouseX = mouseX;
         this.mouseY = mouseY;
 
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
@@ -78,48 +93,55 @@ public abstract class ExtendedGuiContainer extends GuiContainer implements IRoot
     @Override
     public boolean charTyped(char typedChar, int keyCode) {
         boolean result = super.charTyped(typedChar, keyCode);
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
         return result;
     }
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int mouseButton) {
         boolean result = super.mouseClicked(mouseX, mouseY, mouseButton);
-        layout.onMousePressed((int) mouseX, (int) mouseY, mouseButton);
+        input.mousePressed((int) mouseX, (int) mouseY, mouseButton);
         return result;
     }
 
     @Override
     public boolean mouseReleased(double mouseX, double mouseY, int mouseButton) {
         boolean result = super.mouseReleased(mouseX, mouseY, mouseButton);
-        layout.onMouseReleased((int) mouseX, (int) mouseY, mouseButton);
+        input.mouseReleased((int) mouseX, (int) mouseY, mouseButton);
         return result;
     }
 
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int mouseDragged, double xAmount, double yAmount) {
         boolean result = super.mouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
-        layout.onMouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
+        input.mouseDragged((int) mouseX, (int) mouseY, mouseDragged, xAmount, yAmount);
         return result;
     }
 
     @Override
     public boolean mouseScrolled(final double amountScrolled) {
         boolean result = super.mouseScrolled(amountScrolled);
-        layout.onMouseScrolled(mouseX, mouseY, amountScrolled);
+        input.mouseScrolled(mouseX, mouseY, amountScrolled);
         return result;
     }
 
     @Override
     public void onResize(@Nonnull Minecraft mc, int w, int h) {
         GExt.onResize();
-        super.onResize(mc, w, h);
+        resizing = layout != null;
+        try {
+            super.onResize(mc, w, h);
+        } finally {
+            resizing = false;
+        }
     }
 
     @Override
     public void onGuiClosed() {
         super.onGuiClosed();
+        input.clear();
         layout.onClosed();
+        ScreenStack.getInstance().store(cacheKey(), layout);
     }
 
     @Override
@@ -22,6 +22,9 @@ import com.github.stannismod.gext.engine.DeprecatedGlStateManager;
 import com.github.stannismod.gext.forge113.adapter.LWJGL3Keyboard;
 import com.github.stannismod.gext.forge113.adapter.MinecraftBufferBuilder;
 import com.github.stannismod.gext.forge113.adapter.MinecraftResourceManager;
+import com.github.stannismod.gext.utils.GLFWClipboard;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
@@ -45,8 +48,11 @@ public final class ForgeGExt {
         core = new GExt(new MinecraftResourceManager(),
                         new BasicGraphicsEngine<>(new MinecraftBufferBuilder(), new DeprecatedGlStateManager()),
                         new LWJGL3Keyboard(),
+                        new GLFWClipboard(Minecraft.getInstance().mainWindow.getHandle()),
                         LogManager.getLogger(MODID));
         GExt.onStart();
+        // the listener is subscribed to the mod bus, the world events are posted to the forge bus
+        MinecraftForge.EVENT_BUS.addListener(EventListener::onWorldUnload);
         //#if DEBUG
         ClientRegistry.registerKeyBinding(EventListener.K);
         //#endif
@@ -16,11 +16,13 @@
 
 package com.github.stannismod.gext.forge114;
 
+import com.github.stannismod.gext.GExt;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.InputEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import org.lwjgl.glfw.GLFW;
@@ -40,5 +42,12 @@ public class EventListener {
             Minecraft.getInstance().displayGuiScreen(new GuiTest());
         }
     }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isRemote()) {
+            GExt.onWorldUnload();
+        }
+    }
     
 }
@@ -23,6 +23,7 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.AbstractGui;
@@ -33,6 +34,7 @@ import javax.annotation.Nonnull;
 public abstract class ExtendedGui extends AbstractGui implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
     private IScaledResolution res;
 
     public ExtendedGui() {
@@ -55,23 +57,24 @@ public abstract class ExtendedGui extends AbstractGui implements IRootLayout {
     }
 
     public void render(int mouseX, int mouseY, float partialTicks) {
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
     }
 
     public boolean charTyped(char typedChar, int keyCode) {
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
         return false;
     }
 
     public boolean mouseClicked(double mouseX, double mouseY, int mouseButton) {
-        layout.onMousePressed((int) mouseX, (int) mouseY, mouseButton);
+        input.mousePressed((int) mouseX, (int) mouseY, mouseButton);
         return false;
     }
 
     public boolean mouseReleased(double mouseX, double mouseY, int mouseButton) {
-        layout.onMouseReleased((int) mouseX, (int) mouseY, mouseButton);
+        input.mouseReleased((int) mouseX, (int) mouseY, mouseButton);
         return false;
     }
 
@@ -81,6 +84,7 @@ public abstract class ExtendedGui extends AbstractGui implements IRootLayout {
     }
 
     public void onClose() {
+        input.clear();
         layout.onClosed();
     }
 }
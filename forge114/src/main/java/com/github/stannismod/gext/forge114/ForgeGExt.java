@@ -22,6 +22,8 @@ import com.github.stannismod.gext.engine.DeprecatedGlStateManager;
 import com.github.stannismod.gext.forge114.adapter.LWJGL3Keyboard;
 import com.github.stannismod.gext.forge114.adapter.MinecraftBufferBuilder;
 import com.github.stannismod.gext.forge114.adapter.MinecraftResourceManager;
+import com.github.stannismod.gext.utils.GLFWClipboard;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
@@ -42,6 +44,7 @@ public class ForgeGExt {
         core = new GExt(new MinecraftResourceManager(),
                 new BasicGraphicsEngine<>(new MinecraftBufferBuilder(), new DeprecatedGlStateManager()),
                 new LWJGL3Keyboard(),
+                new GLFWClipboard(Minecraft.getInstance().mainWindow.getHandle()),
                 LogManager.getLogger(MODID));
         GExt.onStart();
         //#if DEBUG
@@ -23,7 +23,9 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
+import com.github.stannismod.gext.utils.ScreenStack;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screen.Screen;
@@ -35,6 +37,8 @@ import javax.annotation.Nonnull;
 public abstract class ExtendedGuiScreen extends Screen implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
+    private boolean resizing;
     private IScaledResolution res;
 
     public ExtendedGuiScreen(ITextComponent title) {
@@ -51,18 +55,40 @@ public abstract class ExtendedGuiScreen extends Screen implements IRootLayout {
     public void init() {
         super.init();
         res = GExt.scaled();
+        if (resizing) {
+            // the tree is kept, the root is laid out again for the new size
+            layout.onResize(res.getScaledWidth(), res.getScaledHeight());
+            return;
+        }
+        ScreenStack.getInstance().push(this);
+        layout = ScreenStack.getInstance().restore(cacheKey(), res.getScaledWidth(), res.getScaledHeight());
+        if (layout != null) {
+            onReopened();
+            return;
+        }
         layout = Graphics.layout()
                 .size(res.getScaledWidth(), res.getScaledHeight())
                 .placeAt(0, 0)
                 .build();
+        layout.setRenderOnDemand(renderOnDemand());
         layout.init();
         initLayout();
     }
 
+    /**
+     * Override to draw the screen only when its content changes,
+     * see {@link BasicLayout#setRenderOnDemand(boolean)}
+     * @since 1.5.2
+     */
+    protected boolean renderOnDemand() {
+        return false;
+    }
+
     @Override
     public void render(@Nonnull MatrixStack matrixStack, int mouseX, int mouseY, float partialTicks) {
         super.render(matrixStack, mouseX, mouseY, partialTicks);
         ForgeGExt.startRenderTick(matrixStack);
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
@@ -71,53 +97,60 @@ public abstract class ExtendedGuiScreen extends Screen implements IRootLayout {
     @Override
     public boolean charTyped(char typedChar, int keyCode) {
         boolean result = super.charTyped(typedChar, keyCode);
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
         return result;
     }
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int mouseButton) {
         boolean result = super.mouseClicked(mouseX, mouseY, mouseButton);
-        layout.onMousePressed((int) mouseX, (int) mouseY, mouseButton);
+        input.mousePressed((int) mouseX, (int) mouseY, mouseButton);
         return result;
     }
 
     @Override
     public boolean mouseReleased(double mouseX, double mouseY, int mouseButton) {
         boolean result = super.mouseReleased(mouseX, mouseY, mouseButton);
-        layout.onMouseReleased((int) mouseX, (int) mouseY, mouseButton);
+        input.mouseReleased((int) mouseX, (int) mouseY, mouseButton);
         return result;
     }
 
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int mouseDragged, double xAmount, double yAmount) {
         boolean result = super.mouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
-        layout.onMouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
+        input.mouseDragged((int) mouseX, (int) mouseY, mouseDragged, xAmount, yAmount);
         return result;
     }
 
     @Override
     public boolean mouseScrolled(final double mouseX, final double mouseY, final double amountScrolled) {
         boolean result = super.mouseScrolled(mouseX, mouseY, amountScrolled);
-        layout.onMouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
+        input.mouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
         return result;
     }
 
     @Override
     public void mouseMoved(final double mouseX, final double mouseY) {
         super.mouseMoved(mouseX, mouseY);
-        layout.onMouseMoved((int) mouseX, (int) mouseY);
+        input.mouseMoved((int) mouseX, (int) mouseY);
     }
 
     @Override
     public void resize(@Nonnull Minecraft mc, int w, int h) {
         GExt.onResize();
-        super.resize(mc, w, h);
+        resizing = layout != null;
+        try {
+            super.resize(mc, w, h);
+        } finally {
+            resizing = false;
+        }
     }
 
     @Override
     public void onClose() {
         super.onClose();
+        input.clear();
         layout.onClosed();
+        ScreenStack.getInstance().store(cacheKey(), layout);
     }
 }
@@ -22,7 +22,9 @@ import com.github.stannismod.gext.engine.DeprecatedGlStateManager;
 import com.github.stannismod.gext.forge117.adapter.LWJGL3Keyboard;
 import com.github.stannismod.gext.forge117.adapter.MinecraftBufferBuilder;
 import com.github.stannismod.gext.forge117.adapter.MinecraftResourceManager;
+import com.github.stannismod.gext.utils.GLFWClipboard;
 import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
@@ -46,6 +48,7 @@ public class ForgeGExt {
         core = new GExt(new MinecraftResourceManager(),
                 new BasicGraphicsEngine<>(new MinecraftBufferBuilder(), new DeprecatedGlStateManager()),
                 new LWJGL3Keyboard(),
+                new GLFWClipboard(Minecraft.getInstance().getWindow().getWindow()),
                 LogManager.getLogger(MODID));
         GExt.onStart();
         //#if DEBUG
@@ -23,6 +23,7 @@ import com.github.stannismod.gext.api.IRootLayout;
 import com.github.stannismod.gext.api.adapter.IScaledResolution;
 import com.github.stannismod.gext.components.Graphics;
 import com.github.stannismod.gext.components.container.BasicLayout;
+import com.github.stannismod.gext.event.InputQueue;
 import com.github.stannismod.gext.utils.FrameStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
@@ -34,6 +35,7 @@ import javax.annotation.Nonnull;
 public abstract class ExtendedGui extends Gui implements IRootLayout {
 
     private BasicLayout<IGraphicsComponent> layout;
+    private final InputQueue input = new InputQueue();
     private IScaledResolution res;
 
     public ExtendedGui(Minecraft mc, ItemRenderer ir) {
@@ -57,33 +59,34 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     public void render(int mouseX, int mouseY, float partialTicks) {
+        input.flush(layout.getEventRouter());
         FrameStack.getInstance().apply(layout.getAbsoluteFrame());
         layout.render(mouseX, mouseY, partialTicks);
         FrameStack.getInstance().flush();
     }
 
     public void charTyped(char typedChar, int keyCode) {
-        layout.onKeyPressed(typedChar, keyCode);
+        input.keyPressed(typedChar, keyCode);
     }
 
     public void mouseClicked(double mouseX, double mouseY, int mouseButton) {
-        layout.onMousePressed((int) mouseX, (int) mouseY, mouseButton);
+        input.mousePressed((int) mouseX, (int) mouseY, mouseButton);
     }
 
     public void mouseReleased(double mouseX, double mouseY, int mouseButton) {
-        layout.onMouseReleased((int) mouseX, (int) mouseY, mouseButton);
+        input.mouseReleased((int) mouseX, (int) mouseY, mouseButton);
     }
 
     public void mouseDragged(double mouseX, double mouseY, int mouseDragged, double xAmount, double yAmount) {
-        layout.onMouseDragged(mouseX, mouseY, mouseDragged, xAmount, yAmount);
+        input.mouseDragged((int) mouseX, (int) mouseY, mouseDragged, xAmount, yAmount);
     }
 
     public void mouseScrolled(final double mouseX, final double mouseY, final double amountScrolled) {
-        layout.onMouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
+        input.mouseScrolled((int) mouseX, (int) mouseY, amountScrolled);
     }
 
     public void mouseMoved(final double mouseX, final double mouseY) {
-        layout.onMouseMoved((int) mouseX, (int) mouseY);
+        input.mouseMoved((int) mouseX, (int) mouseY);
     }
 
     public void resize(@Nonnull Minecraft mc, int w, int h) {
@@ -92,6 +95,7 @@ public abstract class ExtendedGui extends Gui implements IRootLayout {
     }
 
     public void onClose() {
+        input.clear();
         layout.onClosed();
     }
 }
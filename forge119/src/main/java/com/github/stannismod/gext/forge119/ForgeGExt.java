@@ -22,7 +22,9 @@ import com.github.stannismod.gext.engine.DeprecatedGlStateManager;
 import com.github.stannismod.gext.forge119.adapter.LWJGL3Keyboard;
 import com.github.stannismod.gext.forge119.adapter.MinecraftBufferBuilder;
 import com.github.stannismod.gext.forge119.adapter.MinecraftResourceManager;
+import com.github.stannismod.gext.utils.GLFWClipboard;
 import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -47,6 +49,7 @@ public class ForgeGExt {
         core = new GExt(new MinecraftResourceManager(),
                 new BasicGraphicsEngine<>(new MinecraftBufferBuilder(), new DeprecatedGlStateManager()),
                 new LWJGL3Keyboard(),
+                new GLFWClipboard(Minecraft.getInstance().getWindow().getWindow()),
                 LogManager.getLogger(MODID));
         GExt.onStart();
     }
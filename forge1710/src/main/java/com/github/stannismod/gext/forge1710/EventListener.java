@@ -16,12 +16,14 @@
 
 package com.github.stannismod.gext.forge1710;
 
+import com.github.stannismod.gext.GExt;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.InputEvent;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
+import net.minecraftforge.event.world.WorldEvent;
 import org.lwjgl.input.Keyboard;
 
 
@@ -38,4 +40,11 @@ public class EventListener {
             Minecraft.getMinecraft().displayGuiScreen(new GuiTest());
         }
     }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.world.isRemote) {
+            GExt.onWorldUnload();
+        }
+    }
 }
@@ -44,12 +44,12 @@ public class ForgeGExt {
                         new LWJGL2Keyboard(),
                         event.getModLog());
         GExt.onStart();
+        MinecraftForge.EVENT_BUS.register(new EventListener());
     }
 
     //#if DEBUG
     @Mod.EventHandler
     public void init(FMLInitializationEvent event) {
-        MinecraftForge.EVENT_BUS.register(new EventListener());
         ClientRegistry.registerKeyBinding(EventListener.K);
     }
     //#endif
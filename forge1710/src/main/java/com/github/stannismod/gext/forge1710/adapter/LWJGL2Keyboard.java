@@ -94,6 +94,7 @@ public class LWJGL2Keyboard implements IKeyboard {
             case "CAPS_LOCK"     : return Keyboard.KEY_CAPITAL;
             case "SCROLL_LOCK"   : return Keyboard.KEY_SCROLL;
             case "NUM_LOCK"      : return Keyboard.KEY_NUMLOCK;
+            case "PRINT_SCREEN"  : return Keyboard.KEY_SYSRQ;
             case "PAUSE"         : return Keyboard.KEY_PAUSE;
             case "F1"            : return Keyboard.KEY_F1;
             case "F2"            : return Keyboard.KEY_F2;
@@ -114,6 +115,16 @@ public class LWJGL2Keyboard implements IKeyboard {
             case "F17"           : return Keyboard.KEY_F17;
             case "F18"           : return Keyboard.KEY_F18;
             case "F19"           : return Keyboard.KEY_F19;
+            case "KP_0"          : return Keyboard.KEY_NUMPAD0;
+            case "KP_1"          : return Keyboard.KEY_NUMPAD1;
+            case "KP_2"          : return Keyboard.KEY_NUMPAD2;
+            case "KP_3"          : return Keyboard.KEY_NUMPAD3;
+            case "KP_4"          : return Keyboard.KEY_NUMPAD4;
+            case "KP_5"          : return Keyboard.KEY_NUMPAD5;
+            case "KP_6"          : return Keyboard.KEY_NUMPAD6;
+            case "KP_7"          : return Keyboard.KEY_NUMPAD7;
+            case "KP_8"          : return Keyboard.KEY_NUMPAD8;
+            case "KP_9"          : return Keyboard.KEY_NUMPAD9;
             case "KP_DECIMAL"    : return Keyboard.KEY_DECIMAL;
             case "KP_DIVIDE"     : return Keyboard.KEY_DIVIDE;
             case "KP_MULTIPLY"   : return Keyboard.KEY_MULTIPLY;
@@ -127,6 +138,9 @@ public class LWJGL2Keyboard implements IKeyboard {
             case "RIGHT_SHIFT"   : return Keyboard.KEY_RSHIFT;
             case "RIGHT_CONTROL" : return Keyboard.KEY_RCONTROL;
             case "RIGHT_ALT"     : return Keyboard.KEY_RMENU;
+            case "LEFT_SUPER"    : return Keyboard.KEY_LMETA;
+            case "RIGHT_SUPER"   : return Keyboard.KEY_RMETA;
+            case "MENU"          : return Keyboard.KEY_APPS;
             default              : throw new IllegalArgumentException("Unknown key with name: " + name);
         }
     }